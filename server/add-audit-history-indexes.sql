@@ -0,0 +1,27 @@
+-- ============================================================================
+-- AUDIT LOG BROWSING INDEXES
+-- ============================================================================
+-- GET /api/admin/audit/logs pages candidate_history newest first by
+-- (timestamp, id) with optional actor, candidate and action filters. Each
+-- filter gets a composite index that leads with it and continues with
+-- timestamp; InnoDB appends the primary key to every secondary index, so the
+-- id tie-breaker is covered as well. The single-column candidate_id index is
+-- a prefix of the new candidate index and is dropped.
+-- ============================================================================
+
+USE privateappdb;
+
+CREATE INDEX idx_history_candidate_time ON candidate_history(candidate_id, timestamp);
+CREATE INDEX idx_history_actor_time ON candidate_history(actor_id, timestamp);
+CREATE INDEX idx_history_action_time ON candidate_history(action, timestamp);
+
+DROP INDEX idx_candidate_id ON candidate_history;
+
+-- ============================================================================
+-- ROLLBACK (if needed)
+-- ============================================================================
+-- CREATE INDEX idx_candidate_id ON candidate_history(candidate_id);
+-- DROP INDEX idx_history_candidate_time ON candidate_history;
+-- DROP INDEX idx_history_actor_time ON candidate_history;
+-- DROP INDEX idx_history_action_time ON candidate_history;
+--
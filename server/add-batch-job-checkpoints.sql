@@ -0,0 +1,25 @@
+-- ============================================================================
+-- BATCH JOB CHECKPOINTS
+-- ============================================================================
+-- Progress markers for background batch jobs (see /api/admin/batch-jobs).
+-- JPA creates this table automatically with ddl-auto=update; run this script
+-- on databases managed by hand.
+-- ============================================================================
+
+USE privateappdb;
+
+CREATE TABLE IF NOT EXISTS batch_job_checkpoints (
+    job_name VARCHAR(100) NOT NULL PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    last_processed_id BIGINT,
+    processed_count BIGINT,
+    error_message VARCHAR(1000),
+    started_at DATETIME(6),
+    finished_at DATETIME(6),
+    updated_at DATETIME(6)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- ============================================================================
+-- ROLLBACK (if needed)
+-- ============================================================================
+-- DROP TABLE batch_job_checkpoints;
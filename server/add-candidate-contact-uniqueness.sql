@@ -0,0 +1,35 @@
+-- ============================================================================
+-- CANDIDATE EMAIL / PHONE UNIQUENESS
+-- ============================================================================
+-- Adds normalized contact columns (lower-cased email, digits-only phone) with
+-- unique indexes. Duplicate candidates are now rejected by the database on
+-- insert/update instead of by existsByEmail/existsByPhone pre-checks.
+-- Requires MySQL 8.0+ (REGEXP_REPLACE).
+-- ============================================================================
+
+USE privateappdb;
+
+ALTER TABLE candidates
+ADD COLUMN email_normalized VARCHAR(120) NULL AFTER phone,
+ADD COLUMN phone_normalized VARCHAR(20) NULL AFTER email_normalized;
+
+-- Backfill existing rows (blank values stay NULL so they never collide)
+UPDATE candidates
+SET email_normalized = NULLIF(LOWER(TRIM(email)), ''),
+    phone_normalized = NULLIF(REGEXP_REPLACE(phone, '[^0-9]', ''), '');
+
+-- Existing duplicates must be resolved before the unique indexes can be created
+-- SELECT email_normalized, COUNT(*) FROM candidates
+--   WHERE email_normalized IS NOT NULL GROUP BY email_normalized HAVING COUNT(*) > 1;
+-- SELECT phone_normalized, COUNT(*) FROM candidates
+--   WHERE phone_normalized IS NOT NULL GROUP BY phone_normalized HAVING COUNT(*) > 1;
+
+CREATE UNIQUE INDEX uk_candidates_email_normalized ON candidates(email_normalized);
+CREATE UNIQUE INDEX uk_candidates_phone_normalized ON candidates(phone_normalized);
+
+-- ============================================================================
+-- ROLLBACK (if needed)
+-- ============================================================================
+-- DROP INDEX uk_candidates_email_normalized ON candidates;
+-- DROP INDEX uk_candidates_phone_normalized ON candidates;
+-- ALTER TABLE candidates DROP COLUMN email_normalized, DROP COLUMN phone_normalized;
@@ -0,0 +1,32 @@
+-- ============================================================================
+-- CANDIDATE DAILY STATISTICS ROLLUP
+-- ============================================================================
+-- One row per (creation day, source HR, current status) with the number of
+-- live candidates. Kept up to date by the application in the same
+-- transaction as each candidate change; the dashboard charts read only this.
+-- The application also fills an empty table on startup, and
+-- POST /api/admin/stats/candidate-daily/rebuild recomputes it at any time.
+-- ============================================================================
+
+USE privateappdb;
+
+CREATE TABLE IF NOT EXISTS candidate_daily_stats (
+    day DATE NOT NULL,
+    hr_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    candidate_count BIGINT NOT NULL,
+    PRIMARY KEY (day, hr_id, status),
+    INDEX idx_daily_stats_hr_day (hr_id, day)
+);
+
+-- Initial fill; skip if the application has already populated the table
+INSERT INTO candidate_daily_stats (day, hr_id, status, candidate_count)
+SELECT DATE(created_at), COALESCE(source_hr_id, 0), status, COUNT(*)
+FROM candidates
+WHERE deleted_at IS NULL AND created_at IS NOT NULL
+GROUP BY DATE(created_at), COALESCE(source_hr_id, 0), status;
+
+-- ============================================================================
+-- ROLLBACK (if needed)
+-- ============================================================================
+-- DROP TABLE candidate_daily_stats;
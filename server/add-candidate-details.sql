@@ -0,0 +1,40 @@
+-- ============================================================================
+-- CANDIDATE DETAILS SIDE TABLE
+-- ============================================================================
+-- Moves notes, employment_history and education out of candidates so list
+-- queries read narrow rows. Run BEFORE deploying the version that reads
+-- candidate_details; the old columns are only dropped once verified.
+-- ============================================================================
+
+USE privateappdb;
+
+CREATE TABLE IF NOT EXISTS candidate_details (
+    candidate_id BIGINT NOT NULL PRIMARY KEY,
+    notes TEXT,
+    employment_history TEXT,
+    education TEXT,
+    CONSTRAINT fk_candidate_details_candidate FOREIGN KEY (candidate_id) REFERENCES candidates (id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+INSERT INTO candidate_details (candidate_id, notes, employment_history, education)
+SELECT id, notes, employment_history, education
+FROM candidates
+ON DUPLICATE KEY UPDATE
+    notes = VALUES(notes),
+    employment_history = VALUES(employment_history),
+    education = VALUES(education);
+
+-- Verify the copy
+SELECT
+    (SELECT COUNT(*) FROM candidates) AS candidates,
+    (SELECT COUNT(*) FROM candidate_details) AS candidate_details;
+
+-- Once verified, drop the old columns to shrink the candidates rows:
+-- ALTER TABLE candidates DROP COLUMN notes, DROP COLUMN employment_history, DROP COLUMN education;
+
+-- ============================================================================
+-- ROLLBACK (if needed, before the old columns are dropped)
+-- ============================================================================
+-- UPDATE candidates c JOIN candidate_details d ON d.candidate_id = c.id
+--     SET c.notes = d.notes, c.employment_history = d.employment_history, c.education = d.education;
+-- DROP TABLE candidate_details;
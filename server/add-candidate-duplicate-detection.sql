@@ -0,0 +1,56 @@
+-- ============================================================================
+-- CANDIDATE DUPLICATE DETECTION
+-- ============================================================================
+-- Blocking keys and scored duplicate pairs (see /api/admin/duplicates).
+-- JPA creates these tables automatically with ddl-auto=update; run this script
+-- on databases managed by hand, then start the sweep:
+--   POST /api/admin/duplicates/sweep
+-- ============================================================================
+
+USE privateappdb;
+
+CREATE TABLE IF NOT EXISTS candidate_block_keys (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    candidate_id BIGINT NOT NULL,
+    key_type VARCHAR(20) NOT NULL,
+    key_value VARCHAR(120) NOT NULL,
+    INDEX idx_block_key_value (key_type, key_value),
+    INDEX idx_block_key_candidate (candidate_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS candidate_duplicate_pairs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    candidate_id BIGINT NOT NULL,
+    duplicate_candidate_id BIGINT NOT NULL,
+    score DOUBLE NOT NULL,
+    reasons VARCHAR(100),
+    dismissed BIT(1) NOT NULL DEFAULT 0,
+    detected_at DATETIME(6),
+    UNIQUE KEY uk_duplicate_pair (candidate_id, duplicate_candidate_id),
+    INDEX idx_duplicate_pair_other (duplicate_candidate_id),
+    INDEX idx_duplicate_pair_score (score)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Connected groups of active pairs, paged by the review screen. Filled in as
+-- candidates are indexed; run the sweep once after adding them.
+CREATE TABLE IF NOT EXISTS candidate_duplicate_clusters (
+    id BIGINT PRIMARY KEY,
+    member_count INT NOT NULL,
+    max_score DOUBLE NOT NULL,
+    updated_at DATETIME(6),
+    INDEX idx_duplicate_cluster_rank (member_count, max_score)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS candidate_duplicate_cluster_members (
+    candidate_id BIGINT PRIMARY KEY,
+    cluster_id BIGINT NOT NULL,
+    INDEX idx_duplicate_cluster_member_cluster (cluster_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- ============================================================================
+-- ROLLBACK (if needed)
+-- ============================================================================
+-- DROP TABLE candidate_duplicate_cluster_members;
+-- DROP TABLE candidate_duplicate_clusters;
+-- DROP TABLE candidate_duplicate_pairs;
+-- DROP TABLE candidate_block_keys;
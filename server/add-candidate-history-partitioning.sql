@@ -0,0 +1,55 @@
+-- ============================================================================
+-- CANDIDATE HISTORY MONTHLY PARTITIONS
+-- ============================================================================
+-- Partitions candidate_history by month of timestamp so old audit entries can
+-- be moved to compressed archive files (audit.archive.*) by dropping whole
+-- partitions instead of deleting rows. MySQL requires the partitioning column
+-- in every unique key, so the primary key becomes (id, timestamp); id stays
+-- AUTO_INCREMENT and unique in practice. p202412 catches everything older.
+-- The archive job adds future partitions by splitting pmax, so this list only
+-- has to cover the months up to the first run.
+--
+-- Rebuilds the table; run in a maintenance window, then set
+-- audit.archive.enabled=true.
+-- ============================================================================
+
+USE privateappdb;
+
+ALTER TABLE candidate_history DROP PRIMARY KEY, ADD PRIMARY KEY (id, timestamp);
+
+ALTER TABLE candidate_history PARTITION BY RANGE COLUMNS(timestamp) (
+    PARTITION p202412 VALUES LESS THAN ('2025-01-01'),
+    PARTITION p202501 VALUES LESS THAN ('2025-02-01'),
+    PARTITION p202502 VALUES LESS THAN ('2025-03-01'),
+    PARTITION p202503 VALUES LESS THAN ('2025-04-01'),
+    PARTITION p202504 VALUES LESS THAN ('2025-05-01'),
+    PARTITION p202505 VALUES LESS THAN ('2025-06-01'),
+    PARTITION p202506 VALUES LESS THAN ('2025-07-01'),
+    PARTITION p202507 VALUES LESS THAN ('2025-08-01'),
+    PARTITION p202508 VALUES LESS THAN ('2025-09-01'),
+    PARTITION p202509 VALUES LESS THAN ('2025-10-01'),
+    PARTITION p202510 VALUES LESS THAN ('2025-11-01'),
+    PARTITION p202511 VALUES LESS THAN ('2025-12-01'),
+    PARTITION p202512 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
+
+-- ============================================================================
+-- ROLLBACK (if needed)
+-- ============================================================================
+-- Archived months are not restored; their rows stay in the archive files.
+-- ALTER TABLE candidate_history REMOVE PARTITIONING;
+-- ALTER TABLE candidate_history DROP PRIMARY KEY, ADD PRIMARY KEY (id);
+--
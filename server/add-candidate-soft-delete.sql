@@ -0,0 +1,21 @@
+-- ============================================================================
+-- CANDIDATE SOFT DELETE
+-- ============================================================================
+-- Candidates deleted with async=true are only stamped with deleted_at; the
+-- background purger removes them (and their applications) in small chunks.
+-- ============================================================================
+
+USE privateappdb;
+
+ALTER TABLE candidates ADD COLUMN deleted_at DATETIME(6) NULL;
+
+CREATE INDEX idx_deleted_at ON candidates (deleted_at);
+
+-- ============================================================================
+-- ROLLBACK (if needed)
+-- ============================================================================
+-- Purge pending rows first, otherwise they become visible again:
+-- DELETE co FROM candidate_openings co JOIN candidates c ON c.id = co.candidate_id WHERE c.deleted_at IS NOT NULL;
+-- DELETE FROM candidates WHERE deleted_at IS NOT NULL;
+-- DROP INDEX idx_deleted_at ON candidates;
+-- ALTER TABLE candidates DROP COLUMN deleted_at;
@@ -0,0 +1,16 @@
+-- ============================================================================
+-- CANDIDATE UPDATED_AT INDEX
+-- ============================================================================
+-- Every node's dashboard snapshot polls for candidates changed since its last
+-- check (analytics.snapshot.delta-interval-seconds); this keeps that a range
+-- scan. JPA adds it with ddl-auto=update.
+-- ============================================================================
+
+USE privateappdb;
+
+CREATE INDEX idx_updated_at ON candidates (updated_at);
+
+-- ============================================================================
+-- ROLLBACK (if needed)
+-- ============================================================================
+-- DROP INDEX idx_updated_at ON candidates;
@@ -0,0 +1,50 @@
+-- ============================================================================
+-- RECRUITMENT FUNNEL ANALYTICS
+-- ============================================================================
+-- Aggregates computed incrementally from candidate_history by the application:
+--   funnel_transitions      - status -> status transition counts
+--   funnel_stage_durations  - histogram of time spent in a status, per HR
+--   funnel_candidate_state  - current status per candidate as of the last run
+--   analytics_watermarks    - last candidate_history id processed per job
+-- The tables start empty; the application catches up on startup, every
+-- analytics.funnel.refresh-interval-minutes, or on
+-- POST /api/admin/stats/funnel/refresh (rebuild=true to start over).
+-- ============================================================================
+
+USE privateappdb;
+
+CREATE TABLE IF NOT EXISTS funnel_transitions (
+    from_status VARCHAR(20) NOT NULL,
+    to_status VARCHAR(20) NOT NULL,
+    transition_count BIGINT NOT NULL,
+    PRIMARY KEY (from_status, to_status)
+);
+
+CREATE TABLE IF NOT EXISTS funnel_stage_durations (
+    status VARCHAR(20) NOT NULL,
+    hr_id BIGINT NOT NULL,
+    bucket INT NOT NULL,
+    sample_count BIGINT NOT NULL,
+    PRIMARY KEY (status, hr_id, bucket)
+);
+
+CREATE TABLE IF NOT EXISTS funnel_candidate_state (
+    candidate_id BIGINT NOT NULL PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    entered_at DATETIME(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS analytics_watermarks (
+    name VARCHAR(50) NOT NULL PRIMARY KEY,
+    last_id BIGINT NOT NULL,
+    updated_at DATETIME(6)
+);
+
+-- ============================================================================
+-- ROLLBACK (if needed)
+-- ============================================================================
+-- DROP TABLE funnel_transitions;
+-- DROP TABLE funnel_stage_durations;
+-- DROP TABLE funnel_candidate_state;
+-- DROP TABLE analytics_watermarks;
+--
@@ -0,0 +1,33 @@
+-- ============================================================================
+-- HASHED REFRESH TOKENS
+-- ============================================================================
+-- refresh_tokens keeps only the SHA-256 of each token (token_hash). Existing
+-- tokens are hashed in place, so signed-in users stay signed in.
+-- Run after add-refresh-token-user-unique.sql.
+-- ============================================================================
+
+USE privateappdb;
+
+ALTER TABLE refresh_tokens ADD COLUMN token_hash CHAR(64) NULL;
+
+UPDATE refresh_tokens SET token_hash = SHA2(token, 256) WHERE token_hash IS NULL;
+
+ALTER TABLE refresh_tokens MODIFY token_hash CHAR(64) NOT NULL;
+ALTER TABLE refresh_tokens ADD CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash);
+
+-- Expiry index used by the periodic purge
+CREATE INDEX idx_refresh_tokens_expiry ON refresh_tokens (expiry_date);
+
+-- The clear-text column goes last
+DROP INDEX idx_token ON refresh_tokens;
+ALTER TABLE refresh_tokens DROP COLUMN token;
+
+-- ============================================================================
+-- ROLLBACK (if needed)
+-- ============================================================================
+-- Clear-text tokens cannot be recovered; users have to sign in again.
+-- DELETE FROM refresh_tokens;
+-- ALTER TABLE refresh_tokens ADD COLUMN token VARCHAR(500) NOT NULL;
+-- CREATE UNIQUE INDEX idx_token ON refresh_tokens (token);
+-- DROP INDEX idx_refresh_tokens_expiry ON refresh_tokens;
+-- ALTER TABLE refresh_tokens DROP INDEX uk_refresh_tokens_token_hash, DROP COLUMN token_hash;
@@ -0,0 +1,23 @@
+-- ============================================================================
+-- ONE REFRESH TOKEN PER USER
+-- ============================================================================
+-- Login upserts the refresh token (INSERT ... ON DUPLICATE KEY UPDATE), which
+-- needs a unique key on user_id. Concurrent logins could previously leave
+-- several rows for one user; keep only the newest before adding the key.
+-- ============================================================================
+
+USE privateappdb;
+
+DELETE rt FROM refresh_tokens rt
+JOIN refresh_tokens newer ON newer.user_id = rt.user_id AND newer.id > rt.id;
+
+ALTER TABLE refresh_tokens ADD CONSTRAINT uk_refresh_tokens_user_id UNIQUE (user_id);
+
+-- idx_user_id is redundant with the unique key
+DROP INDEX idx_user_id ON refresh_tokens;
+
+-- ============================================================================
+-- ROLLBACK (if needed)
+-- ============================================================================
+-- CREATE INDEX idx_user_id ON refresh_tokens (user_id);
+-- ALTER TABLE refresh_tokens DROP INDEX uk_refresh_tokens_user_id;
@@ -0,0 +1,40 @@
+package com.startica.privateapp.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extracting the percentage from the education JSON, done on every candidate create/update
+ * and for each row of the percentage backfill.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CandidateEducationBenchmark {
+
+    @Param({"json", "plain"})
+    public String format;
+
+    private String education;
+    private Candidate candidate;
+
+    @Setup
+    public void setUp() {
+        // Older records store free text, which takes the exception path
+        education = "json".equals(format)
+                ? "{\"degree\":\"B.E. Computer Engineering\",\"university\":\"Savitribai Phule Pune University\","
+                  + "\"passingYear\":2021,\"percentage\":78.4}"
+                : "B.E. Computer Engineering, SPPU, 2021, 78.4%";
+        candidate = new Candidate();
+    }
+
+    @Benchmark
+    public Float updatePercentageFromEducation() {
+        candidate.updatePercentageFromEducation(education);
+        return candidate.getPercentage();
+    }
+}
@@ -0,0 +1,91 @@
+package com.startica.privateapp.reports.service;
+
+import com.startica.privateapp.opening.model.OpeningStatus;
+import com.startica.privateapp.reports.dto.CandidateReportResponse;
+import com.startica.privateapp.reports.dto.JobOpeningReportResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV export of the candidate and opening reports at typical export sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportsExportServiceBenchmark {
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Priya", "Rohan", "Sneha", "Vikram", "Ananya", "Karan", "Neha"};
+    private static final String[] LAST_NAMES = {"Sharma", "Deshmukh", "Kulkarni", "Patil", "O'Brien", "Iyer", "Mehta", "Gupta"};
+    private static final String[] STATUSES = {"PENDING", "INTERESTED", "CONTACTED", "OFFERED", "HIRED"};
+    private static final String[] DEPARTMENTS = {"Engineering", "Sales, APAC", "Human Resources", "Finance"};
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    private ReportsExportService service;
+    private CandidateReportResponse candidateReport;
+    private JobOpeningReportResponse openingReport;
+
+    @Setup
+    public void setUp() {
+        service = new ReportsExportService();
+        // Fixed seed so every run exports the same bytes
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+        List<CandidateReportResponse.CandidateReportItem> candidates = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            candidates.add(CandidateReportResponse.CandidateReportItem.builder()
+                    .id((long) i + 1)
+                    .firstName(first)
+                    .lastName(last)
+                    .email(first.toLowerCase() + "." + i + "@example.com")
+                    .phone("+91 98" + String.format("%08d", random.nextInt(100_000_000)))
+                    .status(STATUSES[random.nextInt(STATUSES.length)])
+                    .active(random.nextInt(10) > 0)
+                    .hrName("HR " + random.nextInt(20))
+                    .hrId((long) random.nextInt(20))
+                    .applicationCount(random.nextInt(6))
+                    .createdAt(start.plusMinutes(random.nextInt(1_000_000)))
+                    .build());
+        }
+        candidateReport = CandidateReportResponse.builder().data(candidates).build();
+
+        List<JobOpeningReportResponse.OpeningReportItem> openings = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            openings.add(JobOpeningReportResponse.OpeningReportItem.builder()
+                    .id((long) i + 1)
+                    .title("Software Engineer \"L" + (1 + random.nextInt(4)) + "\"")
+                    .department(DEPARTMENTS[random.nextInt(DEPARTMENTS.length)])
+                    .location("Pune")
+                    .positions(1 + random.nextInt(5))
+                    .status(OpeningStatus.values()[random.nextInt(OpeningStatus.values().length)])
+                    .hrName("HR " + random.nextInt(20))
+                    .hrId((long) random.nextInt(20))
+                    .applicationCount(random.nextInt(200))
+                    .createdAt(start.plusMinutes(random.nextInt(1_000_000)))
+                    .build());
+        }
+        openingReport = JobOpeningReportResponse.builder().data(openings).build();
+    }
+
+    @Benchmark
+    public byte[] exportCandidateReportToCsv() {
+        return service.exportCandidateReportToCsv(candidateReport);
+    }
+
+    @Benchmark
+    public byte[] exportJobOpeningReportToCsv() {
+        return service.exportJobOpeningReportToCsv(openingReport);
+    }
+}
@@ -0,0 +1,51 @@
+package com.startica.privateapp.search.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Experience parsing and match highlighting, both run once per candidate in a search result.
+ * The inputs mirror what HRs type into the experience field.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GlobalSearchServiceBenchmark {
+
+    private static final String[] EXPERIENCE = {
+            "2 years", "2.5 years", "3 years 6 months", "18 months", "Fresher", "5+ yrs",
+            "1 year 2 months", "7", "4.5", "10 Years", "6 months", ""
+    };
+
+    private static final String[] NAMES = {
+            "Aarav Sharma", "Priya Deshmukh", "Rohan Kulkarni", "Sneha Patil", "Vikram Joshi",
+            "Ananya Iyer", "Karan Mehta", "Neha Gupta", "Siddharth Rao", "Pooja Nair"
+    };
+
+    private GlobalSearchService service;
+
+    @Setup
+    public void setUp() {
+        // Neither method touches the repositories
+        service = new GlobalSearchService(null, null, null);
+    }
+
+    @Benchmark
+    public void parseExperienceString(Blackhole blackhole) {
+        for (String experience : EXPERIENCE) {
+            blackhole.consume(service.parseExperienceString(experience));
+        }
+    }
+
+    @Benchmark
+    public void highlightMatch(Blackhole blackhole) {
+        for (String name : NAMES) {
+            blackhole.consume(service.highlightMatch(name, "sh"));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.startica.privateapp.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token handling on every authenticated request: a full signature check for a token seen for
+ * the first time, the verified-token cache for repeat requests, and issuing tokens at login.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-at-least-256-bits-long";
+
+    private JwtUtil cold;
+    private JwtUtil cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        // A cache of size 0 evicts every entry on insert, so each call parses and verifies
+        cold = jwtUtil(0);
+        cached = jwtUtil(10_000);
+        token = cached.generateToken(42L, "priya.hr", "HR");
+        cached.verify(token);
+    }
+
+    @Benchmark
+    public Object verifyUncached() {
+        return cold.verify(token);
+    }
+
+    @Benchmark
+    public Object verifyCached() {
+        return cached.verify(token);
+    }
+
+    @Benchmark
+    public Long extractUserId() {
+        return cached.extractUserId(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cold.generateToken(42L, "priya.hr", "HR");
+    }
+
+    private static JwtUtil jwtUtil(int cacheSize) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 1_800_000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", cacheSize);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
@@ -0,0 +1,69 @@
+package com.startica.privateapp.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latencies of one call during the measured window. Latency runs from the moment a request was
+ * due, not when it was sent, so a stalled server shows up in the percentiles instead of quietly
+ * lowering the request rate.
+ */
+final class LatencyStats {
+
+    private long[] latencies = new long[4096];
+    private int size;
+    private long errors;
+    private long dropped;
+
+    synchronized void record(long nanos, boolean ok) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = nanos;
+        if (!ok) {
+            errors++;
+        }
+    }
+
+    /**
+     * A request that was due but not sent because too many were already in flight.
+     */
+    synchronized void drop() {
+        dropped++;
+    }
+
+    synchronized Map<String, Object> summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        long attempted = size + dropped;
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", size);
+        summary.put("throughput", round(size / seconds));
+        summary.put("p50", millis(percentile(sorted, 50)));
+        summary.put("p95", millis(percentile(sorted, 95)));
+        summary.put("p99", millis(percentile(sorted, 99)));
+        summary.put("max", millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+        summary.put("errors", errors);
+        summary.put("dropped", dropped);
+        summary.put("error-rate", attempted == 0 ? 0.0 : round((double) (errors + dropped) / attempted));
+        return summary;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
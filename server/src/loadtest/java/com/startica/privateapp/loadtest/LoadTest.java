@@ -0,0 +1,247 @@
+package com.startica.privateapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.startica.privateapp.PrivateAppApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end load test: starts the application in this JVM against the configured database,
+ * tops the data up to loadtest.scale.* with the datagen profile, replays the {@link Workload}
+ * at fixed arrival rates from many logged-in HR users plus an admin, and checks the results
+ * against the SLOs in loadtest.properties.
+ *
+ * Arrivals do not wait for responses (open model), so a slow endpoint builds up in-flight
+ * requests instead of slowing the load down. Status updates go to a few reserved candidates per
+ * HR user, and {@link WorkloadReset} puts them back afterwards, so each run replays the same
+ * workload against the same data. Exits with 1 when an SLO is missed, which fails
+ * the Maven build; the full results go to target/loadtest-report.json.
+ */
+public final class LoadTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.load();
+        boolean passed;
+        try (ConfigurableApplicationContext app = startApplication(settings)) {
+            passed = run(settings, app);
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestSettings settings) {
+        SpringApplication application = new SpringApplication(PrivateAppApplication.class);
+        application.setAdditionalProfiles("datagen");
+        return application.run(
+                "--server.port=0",
+                // The workload would otherwise measure the rate limiter
+                "--rate-limit.enabled=false",
+                "--datagen.top-up=true",
+                "--datagen.exit-when-done=false",
+                "--datagen.seed=" + settings.get("loadtest.seed"),
+                "--datagen.until=" + settings.get("loadtest.scale.until"),
+                "--datagen.candidates=" + settings.get("loadtest.scale.candidates"),
+                "--datagen.hr-users=" + settings.get("loadtest.scale.hr-users"),
+                "--datagen.openings=" + settings.get("loadtest.scale.openings"),
+                "--datagen.hr-password=" + settings.get("loadtest.hr-password"));
+    }
+
+    private static boolean run(LoadTestSettings settings, ConfigurableApplicationContext app) throws Exception {
+        int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+        Duration timeout = Duration.ofSeconds(settings.getInt("loadtest.request-timeout-seconds"));
+        Workload workload = new Workload("http://localhost:" + port, timeout);
+        ExecutorService httpThreads = Executors.newFixedThreadPool(settings.getInt("loadtest.client-threads"));
+        HttpClient client = HttpClient.newBuilder().executor(httpThreads).connectTimeout(timeout).build();
+
+        try {
+            List<Workload.Session> hrSessions = hrSessions(settings, app.getBean(JdbcTemplate.class), client, workload);
+            Workload.Session admin = login(client, workload, 0,
+                    settings.get("loadtest.admin.username"), settings.get("loadtest.admin.password"),
+                    new long[0], new long[0]);
+
+            Map<String, LatencyStats> stats = new LinkedHashMap<>();
+            double measuredSeconds;
+            WorkloadReset reset = WorkloadReset.capture(app, hrSessions);
+            try {
+                measuredSeconds = replay(settings, client, workload, hrSessions, admin, stats);
+            } finally {
+                reset.restore();
+            }
+            return report(settings, stats, measuredSeconds);
+        } finally {
+            httpThreads.shutdownNow();
+        }
+    }
+
+    private static List<Workload.Session> hrSessions(LoadTestSettings settings, JdbcTemplate jdbcTemplate,
+                                                     HttpClient client, Workload workload) throws Exception {
+        // Generated HR users are named hr<id> and share one password
+        List<Map<String, Object>> users = jdbcTemplate.queryForList(
+                "SELECT id, username FROM accounts WHERE role = 'HR' AND active = true AND username REGEXP '^hr[0-9]+$' " +
+                "ORDER BY id LIMIT ?", settings.getInt("loadtest.virtual-users"));
+        if (users.isEmpty()) {
+            throw new IllegalStateException("No generated HR users to log in as");
+        }
+        int reserved = settings.getInt("loadtest.status-update-candidates");
+        List<Workload.Session> sessions = new ArrayList<>();
+        for (Map<String, Object> user : users) {
+            long id = ((Number) user.get("id")).longValue();
+            long[] candidateIds = jdbcTemplate.queryForList(
+                    "SELECT id FROM candidates WHERE source_hr_id = ? AND deleted_at IS NULL ORDER BY id LIMIT 500",
+                    Long.class, id).stream().mapToLong(Long::longValue).toArray();
+            // The first few are written to; reads use the rest so they never see the run's changes
+            int split = Math.min(reserved, candidateIds.length / 2);
+            sessions.add(login(client, workload, id, (String) user.get("username"), settings.get("loadtest.hr-password"),
+                    Arrays.copyOfRange(candidateIds, split, candidateIds.length), Arrays.copyOf(candidateIds, split)));
+        }
+        System.out.printf("Logged in %d HR users%n", sessions.size());
+        return sessions;
+    }
+
+    private static Workload.Session login(HttpClient client, Workload workload, long userId, String username,
+                                          String password, long[] candidateIds, long[] statusCandidateIds)
+            throws Exception {
+        Workload.Session anonymous = new Workload.Session(userId, username, password, null, candidateIds, statusCandidateIds);
+        HttpRequest request = workload.calls().get(0).request().apply(anonymous, new Random());
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login as " + username + " failed with HTTP " + response.statusCode());
+        }
+        String token = JSON.readTree(response.body()).path("data").path("accessToken").asText();
+        return new Workload.Session(userId, username, password, token, candidateIds, statusCandidateIds);
+    }
+
+    /**
+     * Fires every call at its own fixed rate for warm-up plus duration; returns the measured seconds.
+     */
+    private static double replay(LoadTestSettings settings, HttpClient client, Workload workload,
+                                 List<Workload.Session> hrSessions, Workload.Session admin,
+                                 Map<String, LatencyStats> stats) throws InterruptedException {
+        long warmup = TimeUnit.SECONDS.toNanos(settings.getInt("loadtest.warmup-seconds"));
+        long duration = TimeUnit.SECONDS.toNanos(settings.getInt("loadtest.duration-seconds"));
+        int maxInFlight = settings.getInt("loadtest.max-in-flight");
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        Random sessionPicker = new Random(settings.getInt("loadtest.seed"));
+
+        ScheduledExecutorService ticker = Executors.newScheduledThreadPool(2);
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureFrom = start + warmup;
+        long end = measureFrom + duration;
+
+        for (Workload.Call call : workload.calls()) {
+            double rate = settings.rate(call.name());
+            if (rate <= 0) {
+                continue;
+            }
+            LatencyStats callStats = new LatencyStats();
+            stats.put(call.name(), callStats);
+            long period = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+            AtomicLong ticks = new AtomicLong();
+
+            ticker.scheduleAtFixedRate(() -> {
+                long due = start + ticks.getAndIncrement() * period;
+                if (due >= end) {
+                    return;
+                }
+                boolean measured = due >= measureFrom;
+                if (!inFlight.tryAcquire()) {
+                    if (measured) {
+                        callStats.drop();
+                    }
+                    return;
+                }
+                HttpRequest request;
+                synchronized (sessionPicker) {
+                    Workload.Session session = call.admin() ? admin : hrSessions.get(sessionPicker.nextInt(hrSessions.size()));
+                    request = call.request().apply(session, sessionPicker);
+                }
+                client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                    inFlight.release();
+                    if (measured) {
+                        callStats.record(System.nanoTime() - due, error == null && response.statusCode() < 400);
+                    }
+                });
+            }, start - System.nanoTime(), period, TimeUnit.NANOSECONDS);
+        }
+
+        System.out.printf("Replaying %d calls for %d s after %d s warm-up%n", stats.size(),
+                TimeUnit.NANOSECONDS.toSeconds(duration), TimeUnit.NANOSECONDS.toSeconds(warmup));
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, end - System.nanoTime()));
+        ticker.shutdownNow();
+        // Requests still in flight belong to the measurement; give them until the request timeout
+        long drainSeconds = settings.getInt("loadtest.request-timeout-seconds");
+        if (inFlight.tryAcquire(maxInFlight, drainSeconds, TimeUnit.SECONDS)) {
+            inFlight.release(maxInFlight);
+        }
+        return duration / 1e9;
+    }
+
+    private static boolean report(LoadTestSettings settings, Map<String, LatencyStats> stats, double seconds)
+            throws Exception {
+        Map<String, Object> results = new LinkedHashMap<>();
+        List<String> violations = new ArrayList<>();
+
+        System.out.printf("%n%-18s %9s %9s %9s %9s %9s %9s %8s%n",
+                "call", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors");
+        for (Map.Entry<String, LatencyStats> entry : stats.entrySet()) {
+            String call = entry.getKey();
+            Map<String, Object> summary = entry.getValue().summarize(seconds);
+            results.put(call, summary);
+            System.out.printf("%-18s %9d %9.2f %9.2f %9.2f %9.2f %9.2f %8s%n", call,
+                    summary.get("requests"), summary.get("throughput"), summary.get("p50"), summary.get("p95"),
+                    summary.get("p99"), summary.get("max"), summary.get("errors") + "+" + summary.get("dropped"));
+
+            for (String percentile : List.of("p50", "p95", "p99")) {
+                Double limit = settings.slo(call, percentile);
+                if (limit != null && (double) summary.get(percentile) > limit) {
+                    violations.add(call + " " + percentile + " " + summary.get(percentile) + " ms > " + limit + " ms");
+                }
+            }
+            Double maxErrorRate = settings.slo(call, "error-rate");
+            if (maxErrorRate != null && (double) summary.get("error-rate") > maxErrorRate) {
+                violations.add(call + " error rate " + summary.get("error-rate") + " > " + maxErrorRate);
+            }
+            // The server has to keep up with the offered rate, not just answer quickly what it accepts
+            Double minRateRatio = settings.slo(call, "min-rate-ratio");
+            double target = settings.rate(call);
+            if (minRateRatio != null && (double) summary.get("throughput") < target * minRateRatio) {
+                violations.add(call + " throughput " + summary.get("throughput") + " req/s < " + minRateRatio + " x " + target);
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("seconds", seconds);
+        report.put("candidates", settings.get("loadtest.scale.candidates"));
+        report.put("results", results);
+        report.put("violations", violations);
+        File file = new File(settings.get("loadtest.report"));
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        JSON.writeValue(file, report);
+
+        if (violations.isEmpty()) {
+            System.out.printf("%nAll SLOs met; report written to %s%n", file);
+            return true;
+        }
+        System.out.printf("%n%d SLO violations (report in %s):%n", violations.size(), file);
+        violations.forEach(violation -> System.out.println("  " + violation));
+        return false;
+    }
+}
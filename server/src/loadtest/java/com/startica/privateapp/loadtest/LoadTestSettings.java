@@ -0,0 +1,68 @@
+package com.startica.privateapp.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * loadtest.properties from the classpath, with any -Dloadtest.* system property taking precedence.
+ */
+final class LoadTestSettings {
+
+    private final Properties properties;
+
+    private LoadTestSettings(Properties properties) {
+        this.properties = properties;
+    }
+
+    static LoadTestSettings load() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = LoadTestSettings.class.getResourceAsStream("/loadtest.properties")) {
+            if (in == null) {
+                throw new IllegalStateException("loadtest.properties not found on the classpath");
+            }
+            properties.load(in);
+        }
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith("loadtest.")) {
+                properties.setProperty(key, System.getProperty(key));
+            }
+        }
+        return new LoadTestSettings(properties);
+    }
+
+    String get(String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalStateException("Missing load test setting " + key);
+        }
+        return value.trim();
+    }
+
+    int getInt(String key) {
+        return Integer.parseInt(get(key));
+    }
+
+    double getDouble(String key) {
+        return Double.parseDouble(get(key));
+    }
+
+    /**
+     * Requests per second for a call; calls without a rate are not part of the mix.
+     */
+    double rate(String call) {
+        String value = properties.getProperty("loadtest.rate." + call);
+        return value == null || value.isBlank() ? 0 : Double.parseDouble(value.trim());
+    }
+
+    /**
+     * An SLO threshold for a call, falling back to loadtest.slo.default.*; null when unset.
+     */
+    Double slo(String call, String metric) {
+        String value = properties.getProperty("loadtest.slo." + call + "." + metric);
+        if (value == null || value.isBlank()) {
+            value = properties.getProperty("loadtest.slo.default." + metric);
+        }
+        return value == null || value.isBlank() ? null : Double.valueOf(value.trim());
+    }
+}
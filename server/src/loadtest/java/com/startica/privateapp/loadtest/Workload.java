@@ -0,0 +1,96 @@
+package com.startica.privateapp.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+/**
+ * The calls replayed by the load test. Each one builds its request from a logged-in session;
+ * the mix and arrival rates come from loadtest.rate.* so every run replays the same workload.
+ */
+final class Workload {
+
+    private static final String[] SEARCH_TERMS = {"Sharma", "Priya", "Patil", "Rohan", "Iyer", "Neha", "Kulkarni"};
+    private static final String[] SKILLS = {"Java", "React", "Python", "SQL", "AWS", "Selenium"};
+    private static final String[] LOCATIONS = {"Pune", "Mumbai", "Bengaluru", "Hyderabad"};
+    private static final String[] STATUSES = {"CONTACTED", "INTERESTED", "TELL_LATER", "OFFERED"};
+
+    /**
+     * A logged-in user. HR sessions carry the ids of some of their own candidates: status updates
+     * only go to statusCandidateIds, which {@link WorkloadReset} restores after the run, and reads
+     * to candidateIds.
+     */
+    record Session(long userId, String username, String password, String token, long[] candidateIds,
+                   long[] statusCandidateIds) {
+    }
+
+    record Call(String name, boolean admin, BiFunction<Session, Random, HttpRequest> request) {
+    }
+
+    private final String baseUrl;
+    private final Duration timeout;
+
+    Workload(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+    }
+
+    List<Call> calls() {
+        return List.of(
+                new Call("login", false, (session, random) -> post("/api/auth/login", null,
+                        "{\"username\":\"" + session.username() + "\",\"password\":\"" + session.password() + "\"}")),
+                new Call("candidate-list", false, (session, random) -> get(
+                        "/api/hr/candidates?page=" + random.nextInt(10) + "&size=20", session)),
+                new Call("candidate-search", false, (session, random) -> get(
+                        "/api/hr/candidates?size=20&search=" + pick(random, SEARCH_TERMS), session)),
+                new Call("candidate-detail", false, (session, random) -> get(
+                        "/api/hr/candidates/" + candidate(session, random), session)),
+                new Call("advanced-search", false, (session, random) -> post("/api/candidates/advanced-search", session,
+                        "{\"primarySkills\":[\"" + pick(random, SKILLS) + "\"],\"locations\":[\"" + pick(random, LOCATIONS)
+                                + "\"],\"minExperience\":\"" + random.nextInt(5) + "\",\"page\":0,\"size\":20}")),
+                new Call("status-update", false, (session, random) -> request(
+                        "/api/hr/candidates/" + pick(random, session.statusCandidateIds()) + "/status", session)
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                                "{\"status\":\"" + pick(random, STATUSES) + "\",\"comment\":\"load test\"}"))
+                        .header("Content-Type", "application/json")
+                        .build()),
+                new Call("hr-metrics", false, (session, random) -> get("/api/hr/metrics", session)),
+                new Call("admin-metrics", true, (session, random) -> get("/api/admin/metrics/overview", session)),
+                new Call("hr-performance", true, (session, random) -> get("/api/admin/metrics/hr-performance", session)),
+                new Call("candidate-report", true, (session, random) -> get("/api/admin/reports/candidates", session)));
+    }
+
+    private HttpRequest get(String path, Session session) {
+        return request(path, session).GET().build();
+    }
+
+    private HttpRequest post(String path, Session session, String json) {
+        return request(path, session)
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .header("Content-Type", "application/json")
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, Session session) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+        if (session != null) {
+            builder.header("Authorization", "Bearer " + session.token());
+        }
+        return builder;
+    }
+
+    private static long candidate(Session session, Random random) {
+        return pick(random, session.candidateIds());
+    }
+
+    private static long pick(Random random, long[] ids) {
+        return ids.length == 0 ? 1 : ids[random.nextInt(ids.length)];
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,67 @@
+package com.startica.privateapp.loadtest;
+
+import com.startica.privateapp.analytics.service.CandidateDailyStatsService;
+import com.startica.privateapp.analytics.service.FunnelAnalyticsService;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Undoes what a run writes, so every run starts from the same data. Status updates only touch the
+ * candidates reserved for them ({@link Workload.Session#statusCandidateIds()}): their status and
+ * updated_at are put back, and the history and refresh tokens written during the run are deleted.
+ * The tables derived from status changes (daily stats and the funnel) are then rebuilt.
+ */
+final class WorkloadReset {
+
+    private final ApplicationContext app;
+    private final JdbcTemplate jdbcTemplate;
+    private final List<Object[]> candidates;
+    private final long lastHistoryId;
+    private final long lastRefreshTokenId;
+
+    private WorkloadReset(ApplicationContext app, JdbcTemplate jdbcTemplate, List<Object[]> candidates,
+                          long lastHistoryId, long lastRefreshTokenId) {
+        this.app = app;
+        this.jdbcTemplate = jdbcTemplate;
+        this.candidates = candidates;
+        this.lastHistoryId = lastHistoryId;
+        this.lastRefreshTokenId = lastRefreshTokenId;
+    }
+
+    /**
+     * Remember the reserved candidates' state and the last history and refresh token ids.
+     */
+    static WorkloadReset capture(ApplicationContext app, List<Workload.Session> sessions) {
+        JdbcTemplate jdbcTemplate = app.getBean(JdbcTemplate.class);
+        String ids = sessions.stream()
+                .flatMapToLong(session -> Arrays.stream(session.statusCandidateIds()))
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(","));
+        List<Object[]> candidates = ids.isEmpty() ? new ArrayList<>() : jdbcTemplate.query(
+                "SELECT id, status, updated_at FROM candidates WHERE id IN (" + ids + ")",
+                (rs, rowNum) -> new Object[]{rs.getString("status"), rs.getTimestamp("updated_at"), rs.getLong("id")});
+        return new WorkloadReset(app, jdbcTemplate, candidates,
+                maxId(jdbcTemplate, "candidate_history"), maxId(jdbcTemplate, "refresh_tokens"));
+    }
+
+    void restore() {
+        jdbcTemplate.batchUpdate("UPDATE candidates SET status = ?, updated_at = ? WHERE id = ?", candidates);
+        // The application was started for this run, so everything past these ids is the workload's
+        int history = jdbcTemplate.update("DELETE FROM candidate_history WHERE id > ?", lastHistoryId);
+        jdbcTemplate.update("DELETE FROM refresh_tokens WHERE id > ?", lastRefreshTokenId);
+        app.getBean(CandidateDailyStatsService.class).rebuild();
+        app.getBean(FunnelAnalyticsService.class).rebuild();
+        System.out.printf("Restored %d candidates and removed %d history rows written by the run%n",
+                candidates.size(), history);
+    }
+
+    private static long maxId(JdbcTemplate jdbcTemplate, String table) {
+        Long id = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return id != null ? id : 0;
+    }
+}
@@ -7,7 +7,10 @@ import com.startica.privateapp.account.service.AccountService;
 import com.startica.privateapp.analytics.dto.DashboardMetricsResponse;
 import com.startica.privateapp.analytics.dto.HRPerformanceResponse;
 import com.startica.privateapp.analytics.service.AnalyticsService;
+import com.startica.privateapp.audit.dto.AuditLogPage;
+import com.startica.privateapp.audit.dto.AuditLogQuery;
 import com.startica.privateapp.audit.dto.CandidateHistoryResponse;
+import com.startica.privateapp.audit.service.AuditArchiveService;
 import com.startica.privateapp.audit.service.AuditService;
 import com.startica.privateapp.common.response.ApiResponse;
 import com.startica.privateapp.common.response.PageResponse;
@@ -19,10 +22,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import com.startica.privateapp.candidate.service.CandidateService;
@@ -40,6 +45,8 @@ public class AdminController {
     private AnalyticsService analyticsService;
     @Autowired
 	private  AuditService auditService;
+    @Autowired
+    private AuditArchiveService auditArchiveService;
 
     // HR Management Endpoints
 
@@ -133,11 +140,37 @@ public class AdminController {
         if (actorId != null) {
             auditLogs = auditService.getAuditLogsByActor(actorId, pageable);
         } else {
-            // Return all audit logs - you'll need to add this method to AuditService
-            auditLogs = Page.empty();
+            auditLogs = auditService.getAllAuditLogs(pageable);
         }
 
         return ResponseEntity.ok(ApiResponse.success(PageResponse.of(auditLogs)));
     }
-}
 
+    // Keyset-paginated audit browsing; prefer this over /audit for deep history
+    @GetMapping("/audit/logs")
+    public ResponseEntity<ApiResponse<AuditLogPage>> queryAuditLogs(
+            @RequestParam(required = false) Long actorId,
+            @RequestParam(required = false) Long candidateId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        AuditLogPage auditLogs = auditService.queryAuditLogs(AuditLogQuery.builder()
+                .actorId(actorId)
+                .candidateId(candidateId)
+                .action(action)
+                .from(from)
+                .to(to)
+                .cursor(cursor)
+                .size(Math.max(1, Math.min(size, 200)))
+                .build());
+        return ResponseEntity.ok(ApiResponse.success(auditLogs));
+    }
+
+    // Runs the partition maintenance / archiving job now instead of waiting for the schedule
+    @PostMapping("/audit/archive")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> archiveAuditLogs() {
+        return ResponseEntity.ok(ApiResponse.success(auditArchiveService.run()));
+    }
+}
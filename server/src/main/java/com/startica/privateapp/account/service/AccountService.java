@@ -3,6 +3,8 @@ package com.startica.privateapp.account.service;
 import com.startica.privateapp.account.dto.CreateHRRequest;
 import com.startica.privateapp.account.dto.HRResponse;
 import com.startica.privateapp.account.dto.UpdateHRRequest;
+import com.startica.privateapp.auth.service.TokenRevocationList;
+import com.startica.privateapp.auth.service.UserSnapshotCache;
 import com.startica.privateapp.common.exception.BusinessException;
 import com.startica.privateapp.common.exception.DuplicateResourceException;
 import com.startica.privateapp.common.exception.ResourceNotFoundException;
@@ -31,6 +33,12 @@ public class AccountService {
 	@Autowired
 	private PasswordEncoder passwordEncoder;
 
+	@Autowired
+	private UserSnapshotCache userSnapshotCache;
+
+	@Autowired
+	private TokenRevocationList tokenRevocationList;
+
     @Transactional
     public HRResponse createHR(CreateHRRequest request) {
         // Check for duplicates
@@ -79,9 +87,11 @@ public class AccountService {
         }
         if (request.getPassword() != null && !request.getPassword().isEmpty()) {
             hrUser.setPassword(passwordEncoder.encode(request.getPassword()));
+            tokenRevocationList.revokeAllFor(id);
         }
 
         User updatedUser = userRepository.save(hrUser);
+        userSnapshotCache.invalidate(id);
         return mapToResponse(updatedUser);
     }
 
@@ -96,6 +106,10 @@ public class AccountService {
 
         hrUser.setActive(active);
         userRepository.save(hrUser);
+        userSnapshotCache.invalidate(id);
+        if (!active) {
+            tokenRevocationList.revokeAllFor(id);
+        }
     }
 
     public List<HRResponse> getAllHR() {
@@ -152,6 +166,8 @@ public class AccountService {
         }
 
         userRepository.deleteById(id);
+        userSnapshotCache.invalidate(id);
+        tokenRevocationList.revokeAllFor(id);
     }
 
 }
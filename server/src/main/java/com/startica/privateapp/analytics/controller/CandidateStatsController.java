@@ -0,0 +1,93 @@
+package com.startica.privateapp.analytics.controller;
+
+import com.startica.privateapp.analytics.dto.FunnelResponse;
+import com.startica.privateapp.analytics.dto.PivotRequest;
+import com.startica.privateapp.analytics.dto.PivotResponse;
+import com.startica.privateapp.analytics.dto.TimeSeriesPoint;
+import com.startica.privateapp.analytics.dto.TimeSeriesQuery;
+import com.startica.privateapp.analytics.model.TimeGranularity;
+import com.startica.privateapp.analytics.service.CandidateDailyStatsService;
+import com.startica.privateapp.analytics.service.FunnelAnalyticsService;
+import com.startica.privateapp.analytics.service.PivotService;
+import com.startica.privateapp.analytics.service.TimeSeriesService;
+import com.startica.privateapp.common.response.ApiResponse;
+import com.startica.privateapp.model.Candidate.CandidateStatus;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Candidate statistics
+ *
+ * Endpoints:
+ * - GET  /api/admin/stats/candidates/series - Candidates created per DAY/WEEK/MONTH/QUARTER, zero-filled
+ *        (from, to, optional zone, hrId, status, openingId)
+ * - POST /api/admin/stats/pivot - Candidate counts grouped by up to three whitelisted dimensions, with filters
+ * - GET  /api/admin/stats/funnel - Conversion rates, time in stage and HR velocity from candidate history
+ * - POST /api/admin/stats/funnel/refresh - Process new history now (rebuild=true replays all of it)
+ * - POST /api/admin/stats/candidate-daily/rebuild - Recompute candidate_daily_stats from the candidates table
+ */
+@RestController
+@RequestMapping("/api/admin/stats")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class CandidateStatsController {
+
+    private final CandidateDailyStatsService candidateDailyStatsService;
+    private final TimeSeriesService timeSeriesService;
+    private final PivotService pivotService;
+    private final FunnelAnalyticsService funnelAnalyticsService;
+
+    @GetMapping("/candidates/series")
+    public ResponseEntity<ApiResponse<List<TimeSeriesPoint>>> getCandidateSeries(
+            @RequestParam TimeGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) ZoneId zone,
+            @RequestParam(required = false) Long hrId,
+            @RequestParam(required = false) CandidateStatus status,
+            @RequestParam(required = false) Long openingId
+    ) {
+        List<TimeSeriesPoint> series = timeSeriesService.candidatesCreated(TimeSeriesQuery.builder()
+                .granularity(granularity)
+                .from(from)
+                .to(to)
+                .zone(zone)
+                .hrId(hrId)
+                .status(status)
+                .openingId(openingId)
+                .build());
+        return ResponseEntity.ok(ApiResponse.success(series));
+    }
+
+    @PostMapping("/pivot")
+    public ResponseEntity<ApiResponse<PivotResponse>> pivot(@Valid @RequestBody PivotRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(pivotService.pivot(request)));
+    }
+
+    @GetMapping("/funnel")
+    public ResponseEntity<ApiResponse<FunnelResponse>> getFunnel() {
+        return ResponseEntity.ok(ApiResponse.success(funnelAnalyticsService.getFunnel()));
+    }
+
+    @PostMapping("/funnel/refresh")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> refreshFunnel(
+            @RequestParam(defaultValue = "false") boolean rebuild) {
+        int rows = rebuild ? funnelAnalyticsService.rebuild() : funnelAnalyticsService.refresh();
+        return ResponseEntity.ok(ApiResponse.success("Funnel analytics updated", Map.of("historyRows", rows)));
+    }
+
+    @PostMapping("/candidate-daily/rebuild")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> rebuild() {
+        int rows = candidateDailyStatsService.rebuild();
+        return ResponseEntity.ok(ApiResponse.success("Candidate statistics rebuilt", Map.of("rows", rows)));
+    }
+}
@@ -0,0 +1,22 @@
+package com.startica.privateapp.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FunnelResponse {
+    private long candidatesCreated;
+    private List<FunnelStageResponse> stages;
+    private List<HRVelocityResponse> hrVelocity;
+    // History processed up to this id, at this time
+    private Long lastHistoryId;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,27 @@
+package com.startica.privateapp.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * One status of the funnel. transitions counts moves to each next status and conversionRates
+ * gives them as a percentage of the candidates that entered this status. Durations are
+ * estimated from a histogram and null when no stage exit has been seen.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FunnelStageResponse {
+    private String status;
+    private long entered;
+    private long exited;
+    private Map<String, Long> transitions;
+    private Map<String, Double> conversionRates;
+    private Double medianHours;
+    private Double p90Hours;
+}
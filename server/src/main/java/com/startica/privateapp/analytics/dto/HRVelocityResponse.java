@@ -0,0 +1,22 @@
+package com.startica.privateapp.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * How quickly an HR moves candidates on: the number of status changes they made and how long
+ * the candidates had been in their previous status.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HRVelocityResponse {
+    private Long hrId;
+    private String hrName;
+    private long moves;
+    private Double medianHours;
+    private Double p90Hours;
+}
@@ -0,0 +1,39 @@
+package com.startica.privateapp.analytics.dto;
+
+import com.startica.privateapp.analytics.model.PivotDimension;
+import com.startica.privateapp.model.Candidate.CandidateStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Candidate counts grouped by up to three dimensions. Empty or null filters are not applied;
+ * createdFrom and createdTo are inclusive days. Also used as the result cache key.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PivotRequest {
+
+    @NotEmpty(message = "At least one dimension is required")
+    @Size(max = 3, message = "At most three dimensions are allowed")
+    private List<PivotDimension> dimensions;
+
+    private List<CandidateStatus> statuses;
+    private List<Long> hrIds;
+    private List<String> locations;
+    private List<Long> openingIds;
+    private List<String> applicationStatuses;
+    private LocalDate createdFrom;
+    private LocalDate createdTo;
+
+    // Rows are returned largest count first; anything beyond the limit is cut off
+    private Integer limit;
+}
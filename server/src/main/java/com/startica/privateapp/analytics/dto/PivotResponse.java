@@ -0,0 +1,21 @@
+package com.startica.privateapp.analytics.dto;
+
+import com.startica.privateapp.analytics.model.PivotDimension;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PivotResponse {
+    private List<PivotDimension> dimensions;
+    private List<PivotRow> rows;
+    private boolean truncated;
+    private LocalDateTime generatedAt;
+}
@@ -0,0 +1,22 @@
+package com.startica.privateapp.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One group of a pivot. keys are the raw values in dimension order (null for missing data);
+ * labels are the same values made readable, e.g. HR names instead of ids.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PivotRow {
+    private List<Object> keys;
+    private List<String> labels;
+    private long count;
+}
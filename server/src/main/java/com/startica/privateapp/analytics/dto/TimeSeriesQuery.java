@@ -0,0 +1,29 @@
+package com.startica.privateapp.analytics.dto;
+
+import com.startica.privateapp.analytics.model.TimeGranularity;
+import com.startica.privateapp.model.Candidate.CandidateStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Candidates created per time bucket. from and to are inclusive days in the query's time zone;
+ * a null zone means analytics.timezone. Null filters are not applied.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeSeriesQuery {
+    private TimeGranularity granularity;
+    private LocalDate from;
+    private LocalDate to;
+    private ZoneId zone;
+    private Long hrId;
+    private CandidateStatus status;
+    private Long openingId;
+}
@@ -0,0 +1,29 @@
+package com.startica.privateapp.analytics.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Highest source row id an incremental analytics job has processed, one row per job.
+ */
+@Entity
+@Table(name = "analytics_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsWatermark {
+
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,50 @@
+package com.startica.privateapp.analytics.model;
+
+import com.startica.privateapp.model.Candidate.CandidateStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Number of live candidates created on a day, per source HR and current status.
+ *
+ * Kept in step with candidates inside the same transaction by CandidateDailyStatsService,
+ * so chart queries read a few hundred rollup rows instead of grouping the candidates table.
+ * Candidates without a source HR are counted under hr_id 0.
+ */
+@Entity
+@Table(name = "candidate_daily_stats", indexes = {
+    @Index(name = "idx_daily_stats_hr_day", columnList = "hr_id, day")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateDailyStat {
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(name = "candidate_count", nullable = false)
+    private Long candidateCount;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "day", nullable = false)
+        private LocalDate day;
+
+        @Column(name = "hr_id", nullable = false)
+        private Long hrId;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "status", nullable = false, length = 20)
+        private CandidateStatus status;
+    }
+}
@@ -0,0 +1,30 @@
+package com.startica.privateapp.analytics.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The status a candidate is in according to the history processed so far, and since when.
+ * Lets an incremental funnel run measure a stage that was entered in an earlier run.
+ */
+@Entity
+@Table(name = "funnel_candidate_state")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FunnelCandidateState {
+
+    @Id
+    @Column(name = "candidate_id")
+    private Long candidateId;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "entered_at", nullable = false)
+    private LocalDateTime enteredAt;
+}
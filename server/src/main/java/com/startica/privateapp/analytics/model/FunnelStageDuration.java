@@ -0,0 +1,43 @@
+package com.startica.privateapp.analytics.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Histogram of how long candidates stayed in a status before leaving it, per HR who moved them
+ * on (hr_id 0 when unknown). Buckets grow geometrically, see FunnelAnalyticsService, so
+ * percentiles can be read from a few hundred rows and new samples are simple increments.
+ */
+@Entity
+@Table(name = "funnel_stage_durations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FunnelStageDuration {
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(name = "sample_count", nullable = false)
+    private Long sampleCount;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "status", nullable = false, length = 20)
+        private String status;
+
+        @Column(name = "hr_id", nullable = false)
+        private Long hrId;
+
+        @Column(name = "bucket", nullable = false)
+        private Integer bucket;
+    }
+}
@@ -0,0 +1,42 @@
+package com.startica.privateapp.analytics.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Number of status transitions from one status to another, counted from candidate_history.
+ * Creation is recorded as a transition from {@link #CREATED}, so the number of candidates that
+ * ever entered a status is the sum of the transitions into it.
+ */
+@Entity
+@Table(name = "funnel_transitions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FunnelTransition {
+
+    public static final String CREATED = "CREATED";
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(name = "transition_count", nullable = false)
+    private Long transitionCount;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "from_status", nullable = false, length = 20)
+        private String fromStatus;
+
+        @Column(name = "to_status", nullable = false, length = 20)
+        private String toStatus;
+    }
+}
@@ -0,0 +1,34 @@
+package com.startica.privateapp.analytics.model;
+
+/**
+ * Fields a pivot may group by. Only these can reach the GROUP BY clause, so a request
+ * can never name an arbitrary column.
+ *
+ * Dimensions marked as application dimensions join candidate_openings; a pivot using one
+ * counts each candidate once per application group.
+ */
+public enum PivotDimension {
+    STATUS(false),
+    LOCATION(false),
+    COMPANY(false),
+    DEGREE(false),
+    PASSING_YEAR(false),
+    EXPERIENCE_LEVEL(false),
+    NOTICE_PERIOD(false),
+    SOURCE_HR(false),
+    CREATED_YEAR(false),
+    CREATED_MONTH(false),
+    OPENING(true),
+    OPENING_DEPARTMENT(true),
+    APPLICATION_STATUS(true);
+
+    private final boolean application;
+
+    PivotDimension(boolean application) {
+        this.application = application;
+    }
+
+    public boolean isApplication() {
+        return application;
+    }
+}
@@ -0,0 +1,56 @@
+package com.startica.privateapp.analytics.model;
+
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.time.temporal.WeekFields;
+
+/**
+ * Bucket sizes for time-series statistics. Every bucket is identified by its first day.
+ */
+public enum TimeGranularity {
+    DAY,
+    WEEK,
+    MONTH,
+    QUARTER;
+
+    public LocalDate bucketStart(LocalDate day, WeekFields weekFields) {
+        return switch (this) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(weekFields.getFirstDayOfWeek()));
+            case MONTH -> day.withDayOfMonth(1);
+            case QUARTER -> day.with(IsoFields.DAY_OF_QUARTER, 1);
+        };
+    }
+
+    public LocalDate nextBucket(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+            case QUARTER -> bucketStart.plusMonths(3);
+        };
+    }
+
+    public LocalDate previousBucket(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.minusDays(1);
+            case WEEK -> bucketStart.minusWeeks(1);
+            case MONTH -> bucketStart.minusMonths(1);
+            case QUARTER -> bucketStart.minusMonths(3);
+        };
+    }
+
+    /**
+     * Labels: 2026-10-19, 2026-W43, 2026-10, 2026-Q4.
+     */
+    public String label(LocalDate bucketStart, WeekFields weekFields) {
+        return switch (this) {
+            case DAY -> bucketStart.toString();
+            case WEEK -> String.format("%d-W%02d",
+                    bucketStart.get(weekFields.weekBasedYear()), bucketStart.get(weekFields.weekOfWeekBasedYear()));
+            case MONTH -> String.format("%d-%02d", bucketStart.getYear(), bucketStart.getMonthValue());
+            case QUARTER -> bucketStart.getYear() + "-Q" + bucketStart.get(IsoFields.QUARTER_OF_YEAR);
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.startica.privateapp.analytics.repository;
+
+import com.startica.privateapp.analytics.model.AnalyticsWatermark;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AnalyticsWatermarkRepository extends JpaRepository<AnalyticsWatermark, String> {
+
+    // Held until commit, so two nodes never process the same rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM AnalyticsWatermark w WHERE w.name = :name")
+    Optional<AnalyticsWatermark> findForUpdate(@Param("name") String name);
+}
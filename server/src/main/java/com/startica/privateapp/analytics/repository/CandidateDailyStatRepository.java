@@ -0,0 +1,45 @@
+package com.startica.privateapp.analytics.repository;
+
+import com.startica.privateapp.analytics.model.CandidateDailyStat;
+import com.startica.privateapp.model.Candidate.CandidateStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CandidateDailyStatRepository extends JpaRepository<CandidateDailyStat, CandidateDailyStat.Key> {
+
+    @Modifying
+    @Query(value = "INSERT INTO candidate_daily_stats (day, hr_id, status, candidate_count) " +
+                   "VALUES (:day, :hrId, :status, :delta) " +
+                   "ON DUPLICATE KEY UPDATE candidate_count = candidate_count + VALUES(candidate_count)",
+           nativeQuery = true)
+    void addToCount(@Param("day") LocalDate day, @Param("hrId") Long hrId,
+                    @Param("status") String status, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "DELETE FROM candidate_daily_stats", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO candidate_daily_stats (day, hr_id, status, candidate_count) " +
+                   "SELECT DATE(created_at), COALESCE(source_hr_id, 0), status, COUNT(*) " +
+                   "FROM candidates WHERE deleted_at IS NULL AND created_at IS NOT NULL " +
+                   "GROUP BY DATE(created_at), COALESCE(source_hr_id, 0), status",
+           nativeQuery = true)
+    int insertFromCandidates();
+
+    // Rows: day, count. Null hrId / status mean no filter.
+    @Query("SELECT s.key.day, SUM(s.candidateCount) FROM CandidateDailyStat s " +
+           "WHERE s.key.day BETWEEN :from AND :to " +
+           "AND (:hrId IS NULL OR s.key.hrId = :hrId) " +
+           "AND (:status IS NULL OR s.key.status = :status) " +
+           "GROUP BY s.key.day")
+    List<Object[]> sumByDay(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                            @Param("hrId") Long hrId, @Param("status") CandidateStatus status);
+}
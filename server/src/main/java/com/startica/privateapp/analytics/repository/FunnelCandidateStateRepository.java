@@ -0,0 +1,15 @@
+package com.startica.privateapp.analytics.repository;
+
+import com.startica.privateapp.analytics.model.FunnelCandidateState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FunnelCandidateStateRepository extends JpaRepository<FunnelCandidateState, Long> {
+
+    @Modifying
+    @Query(value = "DELETE FROM funnel_candidate_state", nativeQuery = true)
+    void deleteAllRows();
+}
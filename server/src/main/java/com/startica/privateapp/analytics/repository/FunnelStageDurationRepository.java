@@ -0,0 +1,24 @@
+package com.startica.privateapp.analytics.repository;
+
+import com.startica.privateapp.analytics.model.FunnelStageDuration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FunnelStageDurationRepository extends JpaRepository<FunnelStageDuration, FunnelStageDuration.Key> {
+
+    @Modifying
+    @Query(value = "INSERT INTO funnel_stage_durations (status, hr_id, bucket, sample_count) " +
+                   "VALUES (:status, :hrId, :bucket, :delta) " +
+                   "ON DUPLICATE KEY UPDATE sample_count = sample_count + VALUES(sample_count)",
+           nativeQuery = true)
+    void addToCount(@Param("status") String status, @Param("hrId") Long hrId,
+                    @Param("bucket") int bucket, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "DELETE FROM funnel_stage_durations", nativeQuery = true)
+    void deleteAllRows();
+}
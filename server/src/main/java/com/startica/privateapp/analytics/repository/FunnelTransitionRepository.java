@@ -0,0 +1,24 @@
+package com.startica.privateapp.analytics.repository;
+
+import com.startica.privateapp.analytics.model.FunnelTransition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FunnelTransitionRepository extends JpaRepository<FunnelTransition, FunnelTransition.Key> {
+
+    @Modifying
+    @Query(value = "INSERT INTO funnel_transitions (from_status, to_status, transition_count) " +
+                   "VALUES (:fromStatus, :toStatus, :delta) " +
+                   "ON DUPLICATE KEY UPDATE transition_count = transition_count + VALUES(transition_count)",
+           nativeQuery = true)
+    void addToCount(@Param("fromStatus") String fromStatus, @Param("toStatus") String toStatus,
+                    @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "DELETE FROM funnel_transitions", nativeQuery = true)
+    void deleteAllRows();
+}
@@ -0,0 +1,89 @@
+package com.startica.privateapp.analytics.service;
+
+import com.startica.privateapp.analytics.repository.CandidateDailyStatRepository;
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.model.Candidate.CandidateStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains candidate_daily_stats. The record* methods must run in the transaction that changes
+ * the candidate, so a rolled-back edit never leaves the rollup off by one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CandidateDailyStatsService {
+
+    private static final long NO_HR = 0L;
+
+    private final CandidateDailyStatRepository dailyStatRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Candidate candidate) {
+        add(candidate, candidate.getStatus(), 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(Candidate candidate, CandidateStatus oldStatus) {
+        if (oldStatus == candidate.getStatus()) {
+            return;
+        }
+        add(candidate, oldStatus, -1);
+        add(candidate, candidate.getStatus(), 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRemoved(Collection<Candidate> candidates) {
+        // One upsert per (day, hr, status) rather than per candidate
+        candidates.stream()
+                .filter(candidate -> candidate.getCreatedAt() != null)
+                .collect(Collectors.groupingBy(
+                        candidate -> new Bucket(candidate.getCreatedAt().toLocalDate(), hrOf(candidate), candidate.getStatus()),
+                        Collectors.counting()))
+                .forEach((bucket, count) -> dailyStatRepository.addToCount(
+                        bucket.day(), bucket.hrId(), bucket.status().name(), -count));
+    }
+
+    /**
+     * Recompute every rollup row from the candidates table in one transaction.
+     */
+    @Transactional
+    public int rebuild() {
+        dailyStatRepository.deleteAllRows();
+        int rows = dailyStatRepository.insertFromCandidates();
+        log.info("Rebuilt candidate_daily_stats: {} rows", rows);
+        return rows;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void populateIfEmpty() {
+        if (dailyStatRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    private void add(Candidate candidate, CandidateStatus status, long delta) {
+        if (candidate.getCreatedAt() == null || status == null) {
+            return;
+        }
+        dailyStatRepository.addToCount(candidate.getCreatedAt().toLocalDate(), hrOf(candidate), status.name(), delta);
+    }
+
+    private static long hrOf(Candidate candidate) {
+        return candidate.getSourceHrId() != null ? candidate.getSourceHrId() : NO_HR;
+    }
+
+    private record Bucket(LocalDate day, long hrId, CandidateStatus status) {
+    }
+}
@@ -0,0 +1,511 @@
+package com.startica.privateapp.analytics.service;
+
+import com.startica.privateapp.candidate.event.CandidateChangedEvent;
+import com.startica.privateapp.model.Candidate.CandidateStatus;
+import com.startica.privateapp.repository.CandidateRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Column-wise copy of the candidate fields the dashboards aggregate on, held in primitive arrays
+ * (about 20 bytes per candidate): id, status ordinal, source HR as a dictionary code, creation day
+ * as epoch day and experience in months. Aggregations are tight loops over those arrays, split
+ * across the fork/join pool once the table is large, instead of loading Candidate entities.
+ *
+ * Loaded on startup (or on first use) and kept current from this node's CandidateChangedEvents
+ * after commit. Every analytics.snapshot.delta-interval-seconds it also re-reads the candidates
+ * whose updated_at or deleted_at moved, which picks up writes made on other nodes. A full rebuild
+ * every analytics.snapshot.rebuild-interval-minutes covers what neither sees, such as purges.
+ */
+@Service
+@Slf4j
+public class CandidateSnapshot {
+
+    public static final int STATUS_COUNT = CandidateStatus.values().length;
+
+    private static final byte REMOVED = -1;
+    private static final int LOAD_PAGE_SIZE = 10_000;
+    private static final int PARALLEL_THRESHOLD = 100_000;
+    private static final int SPLIT_SIZE = 50_000;
+    private static final Pattern NUMBER = Pattern.compile("\\d+(\\.\\d+)?");
+    // Rows are stamped by each node's clock and become visible only on commit
+    private static final long DELTA_OVERLAP_SECONDS = 60;
+
+    private final CandidateRepository candidateRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Held from reading a row until it is applied, so an older read never overwrites a newer one
+    private final Object patchLock = new Object();
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "candidate-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by lock. Ids stay ascending: new candidates get higher ids and are appended.
+    private Columns columns = Columns.empty();
+    private volatile boolean loaded;
+
+    // Ids changed while a rebuild was reading the table; re-applied once it is swapped in
+    private Set<Long> changedDuringRebuild;
+
+    // Guarded by patchLock. Changes stamped before this are already in the columns.
+    private LocalDateTime deltaWatermark;
+
+    @Value("${analytics.snapshot.rebuild-interval-minutes:60}")
+    private long rebuildIntervalMinutes;
+
+    @Value("${analytics.snapshot.delta-interval-seconds:30}")
+    private long deltaIntervalSeconds;
+
+    public CandidateSnapshot(CandidateRepository candidateRepository) {
+        this.candidateRepository = candidateRepository;
+    }
+
+    @PostConstruct
+    void scheduleRebuilds() {
+        refresher.scheduleWithFixedDelay(this::rebuildQuietly, rebuildIntervalMinutes, rebuildIntervalMinutes, TimeUnit.MINUTES);
+        if (deltaIntervalSeconds > 0) {
+            refresher.scheduleWithFixedDelay(this::refreshChangedQuietly, deltaIntervalSeconds, deltaIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresher.execute(this::ensureLoaded);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCandidateChanged(CandidateChangedEvent event) {
+        applyCurrent(List.of(event.getCandidateId()));
+    }
+
+    /**
+     * Re-read the candidates changed since the last check, whichever node wrote them.
+     */
+    public void refreshChanged() {
+        if (!loaded) {
+            return;
+        }
+        synchronized (patchLock) {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> changed = candidateRepository.findIdsChangedSince(
+                    deltaWatermark.minusSeconds(DELTA_OVERLAP_SECONDS));
+            applyCurrent(changed);
+            deltaWatermark = now;
+        }
+    }
+
+    /**
+     * Reload every column from the candidates table; reads are served from the old copy meanwhile.
+     */
+    public synchronized void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Columns fresh = Columns.empty();
+        try {
+            long afterId = 0;
+            List<Object[]> page;
+            do {
+                page = candidateRepository.findSnapshotRowsAfter(afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+                for (Object[] row : page) {
+                    fresh.append(row);
+                }
+                if (!page.isEmpty()) {
+                    afterId = (Long) page.get(page.size() - 1)[0];
+                }
+            } while (page.size() == LOAD_PAGE_SIZE);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        synchronized (patchLock) {
+            Set<Long> changed;
+            lock.writeLock().lock();
+            try {
+                changed = changedDuringRebuild;
+                changedDuringRebuild = null;
+                columns = fresh;
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            applyCurrent(changed);
+            if (deltaWatermark == null || deltaWatermark.isBefore(startedAt)) {
+                deltaWatermark = startedAt;
+            }
+        }
+        log.info("Candidate snapshot rebuilt: {} candidates", fresh.live());
+    }
+
+    /**
+     * Count rows into {@code buckets} slots. The bucketer returns a slot index, or -1 to skip the row;
+     * removed rows are never passed to it.
+     */
+    public long[] histogram(int buckets, RowBucketer bucketer) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return histogram(columns, buckets, bucketer);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Candidates per status ordinal, optionally for one source HR only.
+     */
+    public long[] countByStatus(Long hrId) {
+        if (hrId == null) {
+            return histogram(STATUS_COUNT, (c, row) -> c.status[row]);
+        }
+        ensureLoaded();
+        // HR codes are only meaningful for the Columns that assigned them, and a rebuild may swap
+        // in a copy that numbers HRs differently, so the lookup and the scan share one read lock
+        lock.readLock().lock();
+        try {
+            Columns view = columns;
+            int code = hrCodeOf(view, hrId);
+            return histogram(view, STATUS_COUNT, (c, row) -> c.hrCode[row] == code ? c.status[row] : -1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Candidates per source HR id, each an array indexed by status ordinal.
+     */
+    public Map<Long, long[]> countByHrAndStatus() {
+        ensureLoaded();
+        long[] hrIds;
+        long[] counts;
+        lock.readLock().lock();
+        try {
+            Columns view = columns;
+            hrIds = Arrays.copyOf(view.hrDictionary, view.hrDictionarySize);
+            counts = histogram(view, hrIds.length * STATUS_COUNT,
+                    (c, row) -> c.hrCode[row] * STATUS_COUNT + c.status[row]);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<Long, long[]> result = new LinkedHashMap<>();
+        for (int code = 0; code < hrIds.length; code++) {
+            long[] byStatus = Arrays.copyOfRange(counts, code * STATUS_COUNT, (code + 1) * STATUS_COUNT);
+            if (Arrays.stream(byStatus).sum() > 0) {
+                result.put(hrIds[code] == 0 ? null : hrIds[code], byStatus);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Candidates created on or after {@code day}, optionally for one source HR only.
+     */
+    public long countCreatedSince(LocalDate day, Long hrId) {
+        int epochDay = (int) day.toEpochDay();
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Columns view = columns;
+            int code = hrId != null ? hrCodeOf(view, hrId) : -1;
+            return histogram(view, 1, (c, row) ->
+                    c.createdDay[row] >= epochDay && (code == -1 || c.hrCode[row] == code) ? 0 : -1)[0];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Experience in months parsed the way it is entered: the first number is taken as years, so
+     * "2.5" gives 30 while "2 years" and "2-3" give 24. Blank, "fresher" and text without a number count as 0.
+     */
+    public static int experienceMonths(String experience) {
+        if (experience == null || experience.isBlank() || experience.toLowerCase().contains("fresher")) {
+            return 0;
+        }
+        Matcher matcher = NUMBER.matcher(experience);
+        if (!matcher.find()) {
+            return 0;
+        }
+        double years = Double.parseDouble(matcher.group());
+        return (int) Math.min(Short.MAX_VALUE, Math.round(years * 12));
+    }
+
+    /**
+     * Read the candidates' current rows and apply them, under patchLock so that two readers of
+     * the same candidate apply in the order they read. Missing rows (deleted) are removed.
+     */
+    private void applyCurrent(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        synchronized (patchLock) {
+            lock.writeLock().lock();
+            try {
+                if (changedDuringRebuild != null) {
+                    changedDuringRebuild.addAll(ids);
+                }
+                if (!loaded) {
+                    // Nothing to patch yet; the load in progress re-reads these ids when it finishes
+                    return;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            List<Long> pending = new ArrayList<>(ids);
+            for (int from = 0; from < pending.size(); from += LOAD_PAGE_SIZE) {
+                List<Long> chunk = pending.subList(from, Math.min(from + LOAD_PAGE_SIZE, pending.size()));
+                Map<Long, Object[]> current = new HashMap<>();
+                candidateRepository.findSnapshotRows(chunk).forEach(row -> current.put((Long) row[0], row));
+                lock.writeLock().lock();
+                try {
+                    for (Long id : chunk) {
+                        Object[] row = current.get(id);
+                        if (row == null) {
+                            columns.remove(id);
+                        } else {
+                            columns.upsert(row);
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    // -2 never matches a row
+    private static int hrCodeOf(Columns view, Long hrId) {
+        return view.hrCodes.getOrDefault(hrId, -2);
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    private void refreshChangedQuietly() {
+        try {
+            refreshChanged();
+        } catch (RuntimeException e) {
+            log.warn("Candidate snapshot delta refresh failed, retrying on the next run", e);
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Candidate snapshot rebuild failed, keeping the previous copy", e);
+        }
+    }
+
+    // Callers hold the read lock
+    private static long[] histogram(Columns view, int buckets, RowBucketer bucketer) {
+        if (view.size < PARALLEL_THRESHOLD) {
+            return count(view, bucketer, buckets, 0, view.size);
+        }
+        return ForkJoinPool.commonPool().invoke(new HistogramTask(view, bucketer, buckets, 0, view.size));
+    }
+
+    private static long[] count(Columns c, RowBucketer bucketer, int buckets, int from, int to) {
+        long[] counts = new long[buckets];
+        byte[] status = c.status;
+        for (int row = from; row < to; row++) {
+            if (status[row] != REMOVED) {
+                int bucket = bucketer.bucketOf(c, row);
+                if (bucket >= 0) {
+                    counts[bucket]++;
+                }
+            }
+        }
+        return counts;
+    }
+
+    @FunctionalInterface
+    public interface RowBucketer {
+        int bucketOf(Columns columns, int row);
+    }
+
+    private static final class HistogramTask extends RecursiveTask<long[]> {
+        private final Columns columns;
+        private final RowBucketer bucketer;
+        private final int buckets;
+        private final int from;
+        private final int to;
+
+        private HistogramTask(Columns columns, RowBucketer bucketer, int buckets, int from, int to) {
+            this.columns = columns;
+            this.bucketer = bucketer;
+            this.buckets = buckets;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= SPLIT_SIZE) {
+                return count(columns, bucketer, buckets, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            HistogramTask left = new HistogramTask(columns, bucketer, buckets, from, middle);
+            left.fork();
+            long[] right = new HistogramTask(columns, bucketer, buckets, middle, to).compute();
+            long[] merged = left.join();
+            for (int i = 0; i < buckets; i++) {
+                merged[i] += right[i];
+            }
+            return merged;
+        }
+    }
+
+    /**
+     * The column arrays. Row i describes candidate ids[i]; rows with status REMOVED are dead and
+     * dropped on the next rebuild. hrCode indexes hrDictionary, where id 0 stands for "no HR".
+     * Bucketers may read the arrays but never write them.
+     */
+    public static final class Columns {
+        public long[] ids;
+        public byte[] status;
+        public int[] hrCode;
+        public int[] createdDay;
+        public short[] experienceMonths;
+        public int size;
+
+        long[] hrDictionary = new long[16];
+        int hrDictionarySize;
+        final Map<Long, Integer> hrCodes = new HashMap<>();
+        private int removed;
+
+        private static Columns empty() {
+            Columns columns = new Columns();
+            columns.ids = new long[1024];
+            columns.status = new byte[1024];
+            columns.hrCode = new int[1024];
+            columns.createdDay = new int[1024];
+            columns.experienceMonths = new short[1024];
+            return columns;
+        }
+
+        int live() {
+            return size - removed;
+        }
+
+        void append(Object[] row) {
+            if (size == ids.length) {
+                grow();
+            }
+            ids[size] = (Long) row[0];
+            set(size, row);
+            size++;
+        }
+
+        void upsert(Object[] row) {
+            long id = (Long) row[0];
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                if (status[index] == REMOVED) {
+                    removed--;
+                }
+                set(index, row);
+                return;
+            }
+            int insertAt = -index - 1;
+            if (insertAt == size) {
+                append(row);
+                return;
+            }
+            // Out-of-order id (rare): shift the tail to keep ids sorted
+            if (size == ids.length) {
+                grow();
+            }
+            int tail = size - insertAt;
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, tail);
+            System.arraycopy(status, insertAt, status, insertAt + 1, tail);
+            System.arraycopy(hrCode, insertAt, hrCode, insertAt + 1, tail);
+            System.arraycopy(createdDay, insertAt, createdDay, insertAt + 1, tail);
+            System.arraycopy(experienceMonths, insertAt, experienceMonths, insertAt + 1, tail);
+            ids[insertAt] = id;
+            set(insertAt, row);
+            size++;
+        }
+
+        void remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0 && status[index] != REMOVED) {
+                status[index] = REMOVED;
+                removed++;
+            }
+        }
+
+        private void set(int index, Object[] row) {
+            CandidateStatus candidateStatus = (CandidateStatus) row[1];
+            LocalDateTime createdAt = (LocalDateTime) row[3];
+            status[index] = (byte) (candidateStatus != null ? candidateStatus : CandidateStatus.PENDING).ordinal();
+            hrCode[index] = codeFor(row[2] != null ? (Long) row[2] : 0L);
+            createdDay[index] = createdAt != null ? (int) createdAt.toLocalDate().toEpochDay() : Integer.MIN_VALUE;
+            experienceMonths[index] = (short) experienceMonths((String) row[4]);
+        }
+
+        private int codeFor(long hrId) {
+            Integer code = hrCodes.get(hrId);
+            if (code != null) {
+                return code;
+            }
+            if (hrDictionarySize == hrDictionary.length) {
+                hrDictionary = Arrays.copyOf(hrDictionary, hrDictionarySize * 2);
+            }
+            hrDictionary[hrDictionarySize] = hrId;
+            hrCodes.put(hrId, hrDictionarySize);
+            return hrDictionarySize++;
+        }
+
+        private void grow() {
+            int capacity = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            status = Arrays.copyOf(status, capacity);
+            hrCode = Arrays.copyOf(hrCode, capacity);
+            createdDay = Arrays.copyOf(createdDay, capacity);
+            experienceMonths = Arrays.copyOf(experienceMonths, capacity);
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package com.startica.privateapp.analytics.service;
+
+import com.startica.privateapp.analytics.dto.FunnelResponse;
+import com.startica.privateapp.analytics.dto.FunnelStageResponse;
+import com.startica.privateapp.analytics.dto.HRVelocityResponse;
+import com.startica.privateapp.analytics.model.AnalyticsWatermark;
+import com.startica.privateapp.analytics.model.FunnelCandidateState;
+import com.startica.privateapp.analytics.model.FunnelStageDuration;
+import com.startica.privateapp.analytics.model.FunnelTransition;
+import com.startica.privateapp.analytics.repository.AnalyticsWatermarkRepository;
+import com.startica.privateapp.analytics.repository.FunnelCandidateStateRepository;
+import com.startica.privateapp.analytics.repository.FunnelStageDurationRepository;
+import com.startica.privateapp.analytics.repository.FunnelTransitionRepository;
+import com.startica.privateapp.bulkhead.annotation.Bulkhead;
+import com.startica.privateapp.bulkhead.model.BulkheadType;
+import com.startica.privateapp.model.Candidate.CandidateStatus;
+import com.startica.privateapp.model.CandidateHistory;
+import com.startica.privateapp.model.User;
+import com.startica.privateapp.repository.CandidateHistoryRepository;
+import com.startica.privateapp.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Recruitment funnel built from candidate_history.
+ *
+ * Each run reads the history rows after the stored high-water mark in id order, sorts every
+ * batch by (candidate_id, timestamp) and replays it against the per-candidate state left by
+ * earlier runs. Transitions between statuses are counted in funnel_transitions; the time
+ * spent in a status is added to a geometric histogram in funnel_stage_durations, keyed by the
+ * HR who moved the candidate on. Reads only touch those small tables.
+ *
+ * Rows newer than analytics.funnel.settle-seconds are left for the next run, so a transaction
+ * that commits a lower id late is not skipped by the high-water mark.
+ */
+@Service
+@Slf4j
+public class FunnelAnalyticsService {
+
+    static final String WATERMARK = "recruitment-funnel";
+    private static final List<String> ACTIONS = List.of("CANDIDATE_CREATED", "STATUS_CHANGED", "CANDIDATE_DELETED");
+    private static final Pattern CREATED_STATUS = Pattern.compile("Status: (\\w+)$");
+    private static final Pattern CHANGED_STATUS = Pattern.compile("^(\\w+)");
+    private static final Long NO_HR = 0L;
+
+    // Bucket b >= 1 holds durations in [GROWTH^(b-1), GROWTH^b) minutes; bucket 0 is under a minute
+    private static final double GROWTH = 1.2;
+
+    private final CandidateHistoryRepository historyRepository;
+    private final FunnelTransitionRepository transitionRepository;
+    private final FunnelStageDurationRepository durationRepository;
+    private final FunnelCandidateStateRepository stateRepository;
+    private final AnalyticsWatermarkRepository watermarkRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    // Scheduled refreshes go through the proxy so they run inside the ANALYTICAL bulkhead
+    private final FunnelAnalyticsService self;
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "funnel-analytics");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${analytics.funnel.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${analytics.funnel.settle-seconds:60}")
+    private long settleSeconds;
+
+    @Value("${analytics.funnel.refresh-interval-minutes:15}")
+    private long refreshIntervalMinutes;
+
+    public FunnelAnalyticsService(CandidateHistoryRepository historyRepository,
+                                  FunnelTransitionRepository transitionRepository,
+                                  FunnelStageDurationRepository durationRepository,
+                                  FunnelCandidateStateRepository stateRepository,
+                                  AnalyticsWatermarkRepository watermarkRepository,
+                                  UserRepository userRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Lazy FunnelAnalyticsService self) {
+        this.historyRepository = historyRepository;
+        this.transitionRepository = transitionRepository;
+        this.durationRepository = durationRepository;
+        this.stateRepository = stateRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.self = self;
+    }
+
+    @PostConstruct
+    void scheduleRefreshes() {
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, refreshIntervalMinutes, refreshIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        refresher.execute(this::refreshQuietly);
+    }
+
+    /**
+     * Process the history written since the last run. Returns the number of rows processed.
+     */
+    @Bulkhead(BulkheadType.ANALYTICAL)
+    public synchronized int refresh() {
+        int processed = 0;
+        Integer batch;
+        while ((batch = transactionTemplate.execute(status -> processBatch())) != null && batch > 0) {
+            processed += batch;
+        }
+        if (processed > 0) {
+            log.info("Funnel analytics processed {} history rows", processed);
+        }
+        return processed;
+    }
+
+    /**
+     * Drop the stored funnel and replay the whole history.
+     */
+    @Bulkhead(BulkheadType.ANALYTICAL)
+    public synchronized int rebuild() {
+        transactionTemplate.executeWithoutResult(status -> {
+            AnalyticsWatermark watermark = lockWatermark();
+            transitionRepository.deleteAllRows();
+            durationRepository.deleteAllRows();
+            stateRepository.deleteAllRows();
+            watermark.setLastId(0L);
+            watermark.setUpdatedAt(LocalDateTime.now());
+        });
+        return refresh();
+    }
+
+    @Transactional(readOnly = true)
+    public FunnelResponse getFunnel() {
+        List<FunnelTransition> transitions = transitionRepository.findAll();
+        List<FunnelStageDuration> durations = durationRepository.findAll();
+
+        Map<String, Long> entered = new HashMap<>();
+        Map<String, Map<String, Long>> exits = new HashMap<>();
+        for (FunnelTransition transition : transitions) {
+            String from = transition.getKey().getFromStatus();
+            String to = transition.getKey().getToStatus();
+            entered.merge(to, transition.getTransitionCount(), Long::sum);
+            exits.computeIfAbsent(from, s -> new TreeMap<>()).merge(to, transition.getTransitionCount(), Long::sum);
+        }
+
+        Map<String, TreeMap<Integer, Long>> histogramByStatus = new HashMap<>();
+        Map<Long, TreeMap<Integer, Long>> histogramByHr = new HashMap<>();
+        for (FunnelStageDuration duration : durations) {
+            FunnelStageDuration.Key key = duration.getKey();
+            histogramByStatus.computeIfAbsent(key.getStatus(), s -> new TreeMap<>())
+                    .merge(key.getBucket(), duration.getSampleCount(), Long::sum);
+            if (!NO_HR.equals(key.getHrId())) {
+                histogramByHr.computeIfAbsent(key.getHrId(), id -> new TreeMap<>())
+                        .merge(key.getBucket(), duration.getSampleCount(), Long::sum);
+            }
+        }
+
+        List<FunnelStageResponse> stages = new ArrayList<>();
+        for (CandidateStatus status : CandidateStatus.values()) {
+            long enteredCount = entered.getOrDefault(status.name(), 0L);
+            Map<String, Long> stageExits = exits.getOrDefault(status.name(), Map.of());
+            Map<String, Double> conversionRates = new TreeMap<>();
+            stageExits.forEach((to, count) ->
+                    conversionRates.put(to, enteredCount > 0 ? round(count * 100.0 / enteredCount) : null));
+            TreeMap<Integer, Long> histogram = histogramByStatus.getOrDefault(status.name(), new TreeMap<>());
+
+            stages.add(FunnelStageResponse.builder()
+                    .status(status.name())
+                    .entered(enteredCount)
+                    .exited(stageExits.values().stream().mapToLong(Long::longValue).sum())
+                    .transitions(stageExits)
+                    .conversionRates(conversionRates)
+                    .medianHours(percentileHours(histogram, 0.5))
+                    .p90Hours(percentileHours(histogram, 0.9))
+                    .build());
+        }
+
+        Map<Long, String> hrNames = userRepository.findAllById(histogramByHr.keySet()).stream()
+                .collect(Collectors.toMap(User::getId, user -> String.valueOf(user.getFullName())));
+        List<HRVelocityResponse> hrVelocity = histogramByHr.entrySet().stream()
+                .map(entry -> HRVelocityResponse.builder()
+                        .hrId(entry.getKey())
+                        .hrName(hrNames.getOrDefault(entry.getKey(), "Unknown"))
+                        .moves(entry.getValue().values().stream().mapToLong(Long::longValue).sum())
+                        .medianHours(percentileHours(entry.getValue(), 0.5))
+                        .p90Hours(percentileHours(entry.getValue(), 0.9))
+                        .build())
+                .sorted(Comparator.comparingLong(HRVelocityResponse::getMoves).reversed())
+                .collect(Collectors.toList());
+
+        Optional<AnalyticsWatermark> watermark = watermarkRepository.findById(WATERMARK);
+        return FunnelResponse.builder()
+                .candidatesCreated(exits.getOrDefault(FunnelTransition.CREATED, Map.of()).values().stream()
+                        .mapToLong(Long::longValue).sum())
+                .stages(stages)
+                .hrVelocity(hrVelocity)
+                .lastHistoryId(watermark.map(AnalyticsWatermark::getLastId).orElse(0L))
+                .updatedAt(watermark.map(AnalyticsWatermark::getUpdatedAt).orElse(null))
+                .build();
+    }
+
+    private void refreshQuietly() {
+        try {
+            self.refresh();
+        } catch (RuntimeException e) {
+            log.warn("Funnel analytics refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private int processBatch() {
+        AnalyticsWatermark watermark = lockWatermark();
+        List<CandidateHistory> rows = historyRepository.findAfter(
+                watermark.getLastId(), ACTIONS, PageRequest.of(0, batchSize));
+
+        // Stop at the first row that may still have uncommitted neighbours with lower ids
+        LocalDateTime settledBefore = LocalDateTime.now().minusSeconds(settleSeconds);
+        int end = 0;
+        while (end < rows.size() && rows.get(end).getTimestamp().isBefore(settledBefore)) {
+            end++;
+        }
+        if (end == 0) {
+            return 0;
+        }
+        List<CandidateHistory> batch = new ArrayList<>(rows.subList(0, end));
+        long lastId = batch.get(end - 1).getId();
+        batch.sort(Comparator.comparing(CandidateHistory::getCandidateId)
+                .thenComparing(CandidateHistory::getTimestamp)
+                .thenComparing(CandidateHistory::getId));
+
+        Set<Long> candidateIds = batch.stream().map(CandidateHistory::getCandidateId).collect(Collectors.toSet());
+        Map<Long, FunnelCandidateState> states = stateRepository.findAllById(candidateIds).stream()
+                .collect(Collectors.toMap(FunnelCandidateState::getCandidateId, state -> state));
+        Set<Long> existing = new HashSet<>(states.keySet());
+
+        Map<FunnelTransition.Key, Long> transitions = new HashMap<>();
+        Map<FunnelStageDuration.Key, Long> durations = new HashMap<>();
+
+        for (CandidateHistory row : batch) {
+            Long candidateId = row.getCandidateId();
+            FunnelCandidateState state = states.get(candidateId);
+
+            if ("CANDIDATE_DELETED".equals(row.getAction())) {
+                states.remove(candidateId);
+                continue;
+            }
+
+            String from;
+            String to;
+            if ("CANDIDATE_CREATED".equals(row.getAction())) {
+                from = FunnelTransition.CREATED;
+                to = statusOf(CREATED_STATUS, row.getNewValue(), CandidateStatus.PENDING.name());
+            } else {
+                from = statusOf(CHANGED_STATUS, row.getOldValue(), null);
+                to = statusOf(CHANGED_STATUS, row.getNewValue(), null);
+                if (from == null || to == null) {
+                    continue;
+                }
+                // Time in stage is only known when the stage's entry was seen too
+                if (state != null && state.getStatus().equals(from) && !row.getTimestamp().isBefore(state.getEnteredAt())) {
+                    long minutes = Duration.between(state.getEnteredAt(), row.getTimestamp()).toMinutes();
+                    Long hrId = row.getActorId() != null ? row.getActorId() : NO_HR;
+                    durations.merge(new FunnelStageDuration.Key(from, hrId, bucketOf(minutes)), 1L, Long::sum);
+                }
+            }
+
+            transitions.merge(new FunnelTransition.Key(from, to), 1L, Long::sum);
+            if (state == null) {
+                state = new FunnelCandidateState(candidateId, to, row.getTimestamp());
+                states.put(candidateId, state);
+            } else {
+                state.setStatus(to);
+                state.setEnteredAt(row.getTimestamp());
+            }
+        }
+
+        transitions.forEach((key, count) ->
+                transitionRepository.addToCount(key.getFromStatus(), key.getToStatus(), count));
+        durations.forEach((key, count) ->
+                durationRepository.addToCount(key.getStatus(), key.getHrId(), key.getBucket(), count));
+
+        // Loaded states are managed and flush on commit; only new and deleted ones need a call
+        stateRepository.saveAll(states.values().stream()
+                .filter(state -> !existing.contains(state.getCandidateId()))
+                .collect(Collectors.toList()));
+        stateRepository.deleteAllById(existing.stream()
+                .filter(id -> !states.containsKey(id))
+                .collect(Collectors.toList()));
+
+        watermark.setLastId(lastId);
+        watermark.setUpdatedAt(LocalDateTime.now());
+        return end;
+    }
+
+    private AnalyticsWatermark lockWatermark() {
+        return watermarkRepository.findForUpdate(WATERMARK).orElseGet(() -> {
+            watermarkRepository.saveAndFlush(new AnalyticsWatermark(WATERMARK, 0L, null));
+            return watermarkRepository.findForUpdate(WATERMARK).orElseThrow();
+        });
+    }
+
+    private static String statusOf(Pattern pattern, String value, String fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        Matcher matcher = pattern.matcher(value.trim());
+        if (!matcher.find()) {
+            return fallback;
+        }
+        try {
+            return CandidateStatus.valueOf(matcher.group(1)).name();
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+
+    static int bucketOf(long minutes) {
+        if (minutes < 1) {
+            return 0;
+        }
+        return 1 + (int) Math.floor(Math.log(minutes) / Math.log(GROWTH));
+    }
+
+    // Geometric middle of the bucket, so the estimate is within about 10% of the real value
+    private static double bucketMinutes(int bucket) {
+        return bucket == 0 ? 0.5 : Math.pow(GROWTH, bucket - 0.5);
+    }
+
+    private static Double percentileHours(TreeMap<Integer, Long> histogram, double percentile) {
+        long total = histogram.values().stream().mapToLong(Long::longValue).sum();
+        if (total == 0) {
+            return null;
+        }
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (Map.Entry<Integer, Long> entry : histogram.entrySet()) {
+            seen += entry.getValue();
+            if (seen >= rank) {
+                return round(bucketMinutes(entry.getKey()) / 60.0);
+            }
+        }
+        return round(bucketMinutes(histogram.lastKey()) / 60.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
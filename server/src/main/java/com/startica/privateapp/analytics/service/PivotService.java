@@ -0,0 +1,311 @@
+package com.startica.privateapp.analytics.service;
+
+import com.startica.privateapp.analytics.dto.PivotRequest;
+import com.startica.privateapp.analytics.dto.PivotResponse;
+import com.startica.privateapp.analytics.dto.PivotRow;
+import com.startica.privateapp.analytics.model.PivotDimension;
+import com.startica.privateapp.bulkhead.annotation.Bulkhead;
+import com.startica.privateapp.bulkhead.model.BulkheadType;
+import com.startica.privateapp.candidate.event.CandidateChangedEvent;
+import com.startica.privateapp.common.exception.BusinessException;
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.model.User;
+import com.startica.privateapp.opening.model.CandidateOpening;
+import com.startica.privateapp.opening.model.Opening;
+import com.startica.privateapp.opening.repository.OpeningRepository;
+import com.startica.privateapp.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Ad-hoc candidate breakdowns for admins.
+ *
+ * A pivot request is compiled into a single GROUP BY over candidates (joined to their
+ * applications when a dimension or filter needs them). Dimensions come from the
+ * {@link PivotDimension} whitelist and every filter value is a bind parameter, so requests
+ * never contribute SQL text. Results are cached by request shape for
+ * analytics.pivot.cache-ttl-seconds and dropped whenever a candidate changes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PivotService {
+
+    private static final int MAX_DIMENSIONS = 3;
+
+    private final EntityManager entityManager;
+    private final UserRepository userRepository;
+    private final OpeningRepository openingRepository;
+    private final Map<PivotRequest, CachedPivot> cache = new HashMap<>();
+    // Bumped on every invalidation, so a query that raced with a change is not cached
+    private long generation;
+
+    @Value("${analytics.pivot.cache-ttl-seconds:60}")
+    private long cacheTtlSeconds;
+
+    @Value("${analytics.pivot.cache-max-size:200}")
+    private int cacheMaxSize;
+
+    @Value("${analytics.pivot.default-limit:1000}")
+    private int defaultLimit;
+
+    @Value("${analytics.pivot.max-limit:10000}")
+    private int maxLimit;
+
+    @Bulkhead(BulkheadType.ANALYTICAL)
+    @Transactional(readOnly = true)
+    public PivotResponse pivot(PivotRequest request) {
+        PivotRequest key = normalize(request);
+        long now = System.currentTimeMillis();
+        long loadedGeneration;
+
+        synchronized (cache) {
+            CachedPivot cached = cache.get(key);
+            if (cached != null && now - cached.loadedAt <= cacheTtlSeconds * 1000) {
+                return cached.response;
+            }
+            loadedGeneration = generation;
+        }
+
+        PivotResponse response = execute(key);
+
+        synchronized (cache) {
+            if (loadedGeneration != generation) {
+                return response;
+            }
+            if (cache.size() >= cacheMaxSize) {
+                cache.values().removeIf(c -> now - c.loadedAt > cacheTtlSeconds * 1000);
+                if (cache.size() >= cacheMaxSize) {
+                    cache.clear();
+                }
+            }
+            cache.put(key, new CachedPivot(response, now));
+        }
+        return response;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCandidateChanged(CandidateChangedEvent event) {
+        synchronized (cache) {
+            cache.clear();
+            generation++;
+        }
+    }
+
+    private PivotResponse execute(PivotRequest request) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Candidate> candidate = query.from(Candidate.class);
+
+        boolean needsApplications = request.getDimensions().stream().anyMatch(PivotDimension::isApplication)
+                || !request.getOpeningIds().isEmpty()
+                || !request.getApplicationStatuses().isEmpty();
+        Join<Candidate, CandidateOpening> application = needsApplications ? candidate.join("candidateOpenings") : null;
+
+        // CREATED_MONTH contributes two columns (year, month); toRows folds them back into one key
+        List<Expression<?>> groups = new ArrayList<>();
+        for (PivotDimension dimension : request.getDimensions()) {
+            groups.addAll(expressionsFor(dimension, cb, candidate, application));
+        }
+
+        // Joined rows repeat a candidate once per application, so count candidates, not rows
+        Expression<Long> count = application != null ? cb.countDistinct(candidate) : cb.count(candidate);
+
+        List<Selection<?>> selections = new ArrayList<>(groups);
+        selections.add(count);
+        query.multiselect(selections)
+                .where(filters(request, cb, candidate, application).toArray(new Predicate[0]))
+                .groupBy(groups)
+                .orderBy(cb.desc(count));
+
+        int limit = request.getLimit();
+        List<Object[]> results = entityManager.createQuery(query)
+                .setMaxResults(limit + 1)
+                .getResultList();
+
+        boolean truncated = results.size() > limit;
+        List<PivotRow> rows = toRows(request.getDimensions(), truncated ? results.subList(0, limit) : results);
+        log.debug("Pivot {} returned {} rows", request.getDimensions(), rows.size());
+
+        return PivotResponse.builder()
+                .dimensions(request.getDimensions())
+                .rows(rows)
+                .truncated(truncated)
+                .generatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static List<Expression<?>> expressionsFor(PivotDimension dimension, CriteriaBuilder cb,
+                                                      Root<Candidate> candidate,
+                                                      Join<Candidate, CandidateOpening> application) {
+        switch (dimension) {
+            case STATUS: return List.of(candidate.get("status"));
+            case LOCATION: return List.of(candidate.get("location"));
+            case COMPANY: return List.of(candidate.get("company"));
+            case DEGREE: return List.of(candidate.get("degree"));
+            case PASSING_YEAR: return List.of(candidate.get("passingYear"));
+            case EXPERIENCE_LEVEL: return List.of(candidate.get("experienceLevel"));
+            case NOTICE_PERIOD: return List.of(candidate.get("noticePeriod"));
+            case SOURCE_HR: return List.of(candidate.get("sourceHrId"));
+            case CREATED_YEAR:
+                return List.of(cb.function("year", Integer.class, candidate.get("createdAt")));
+            case CREATED_MONTH:
+                return List.of(cb.function("year", Integer.class, candidate.get("createdAt")),
+                        cb.function("month", Integer.class, candidate.get("createdAt")));
+            case OPENING: return List.of(application.get("opening").get("id"));
+            case OPENING_DEPARTMENT: return List.of(application.get("opening").get("department"));
+            case APPLICATION_STATUS: return List.of(application.get("applicationStatus"));
+            default: throw new IllegalArgumentException("Unsupported pivot dimension " + dimension);
+        }
+    }
+
+    private static List<Predicate> filters(PivotRequest request, CriteriaBuilder cb, Root<Candidate> candidate,
+                                           Join<Candidate, CandidateOpening> application) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (!request.getStatuses().isEmpty()) {
+            predicates.add(candidate.get("status").in(request.getStatuses()));
+        }
+        if (!request.getHrIds().isEmpty()) {
+            predicates.add(candidate.get("sourceHrId").in(request.getHrIds()));
+        }
+        if (!request.getLocations().isEmpty()) {
+            predicates.add(candidate.get("location").in(request.getLocations()));
+        }
+        if (!request.getOpeningIds().isEmpty()) {
+            predicates.add(application.get("opening").get("id").in(request.getOpeningIds()));
+        }
+        if (!request.getApplicationStatuses().isEmpty()) {
+            predicates.add(application.get("applicationStatus").in(request.getApplicationStatuses()));
+        }
+        if (request.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(candidate.get("createdAt"), request.getCreatedFrom().atStartOfDay()));
+        }
+        if (request.getCreatedTo() != null) {
+            predicates.add(cb.lessThan(candidate.get("createdAt"), request.getCreatedTo().plusDays(1).atStartOfDay()));
+        }
+        return predicates;
+    }
+
+    private List<PivotRow> toRows(List<PivotDimension> dimensions, List<Object[]> results) {
+        List<PivotRow> rows = new ArrayList<>(results.size());
+        for (Object[] result : results) {
+            List<Object> keys = new ArrayList<>(dimensions.size());
+            int column = 0;
+            for (PivotDimension dimension : dimensions) {
+                if (dimension == PivotDimension.CREATED_MONTH) {
+                    Object year = result[column++];
+                    Object month = result[column++];
+                    keys.add(year == null ? null : String.format("%s-%02d", year, ((Number) month).intValue()));
+                } else {
+                    Object value = result[column++];
+                    keys.add(value instanceof Enum<?> ? ((Enum<?>) value).name() : value);
+                }
+            }
+            rows.add(PivotRow.builder()
+                    .keys(keys)
+                    .count(((Number) result[column]).longValue())
+                    .build());
+        }
+
+        // One lookup per id dimension for readable labels
+        Map<Long, String> hrNames = Map.of();
+        Map<Long, String> openingTitles = Map.of();
+        if (dimensions.contains(PivotDimension.SOURCE_HR)) {
+            hrNames = userRepository.findAllById(idsAt(rows, dimensions.indexOf(PivotDimension.SOURCE_HR))).stream()
+                    .collect(Collectors.toMap(User::getId, user -> String.valueOf(user.getFullName())));
+        }
+        if (dimensions.contains(PivotDimension.OPENING)) {
+            openingTitles = openingRepository.findAllById(idsAt(rows, dimensions.indexOf(PivotDimension.OPENING))).stream()
+                    .collect(Collectors.toMap(Opening::getId, opening -> String.valueOf(opening.getTitle())));
+        }
+
+        for (PivotRow row : rows) {
+            List<String> labels = new ArrayList<>(dimensions.size());
+            for (int i = 0; i < dimensions.size(); i++) {
+                Object key = row.getKeys().get(i);
+                String label = key == null ? "Unknown" : String.valueOf(key);
+                if (key != null && dimensions.get(i) == PivotDimension.SOURCE_HR) {
+                    label = hrNames.getOrDefault(key, label);
+                } else if (key != null && dimensions.get(i) == PivotDimension.OPENING) {
+                    label = openingTitles.getOrDefault(key, label);
+                }
+                labels.add(label);
+            }
+            row.setLabels(labels);
+        }
+        return rows;
+    }
+
+    private static Set<Long> idsAt(List<PivotRow> rows, int index) {
+        return rows.stream()
+                .map(row -> (Long) row.getKeys().get(index))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Validate the request and bring it to a canonical form, so requests that differ only in
+     * filter order or duplicates share a cache entry.
+     */
+    private PivotRequest normalize(PivotRequest request) {
+        List<PivotDimension> dimensions = request.getDimensions() != null ? request.getDimensions() : List.of();
+        if (dimensions.isEmpty() || dimensions.size() > MAX_DIMENSIONS) {
+            throw new BusinessException("A pivot needs between 1 and " + MAX_DIMENSIONS + " dimensions");
+        }
+        if (dimensions.contains(null) || new HashSet<>(dimensions).size() != dimensions.size()) {
+            throw new BusinessException("Pivot dimensions must be distinct");
+        }
+        if (request.getCreatedFrom() != null && request.getCreatedTo() != null
+                && request.getCreatedFrom().isAfter(request.getCreatedTo())) {
+            throw new BusinessException("createdFrom must not be after createdTo");
+        }
+        int limit = request.getLimit() != null ? request.getLimit() : defaultLimit;
+        if (limit < 1 || limit > maxLimit) {
+            throw new BusinessException("limit must be between 1 and " + maxLimit);
+        }
+
+        return PivotRequest.builder()
+                .dimensions(List.copyOf(dimensions))
+                .statuses(canonical(request.getStatuses()))
+                .hrIds(canonical(request.getHrIds()))
+                .locations(canonical(request.getLocations()))
+                .openingIds(canonical(request.getOpeningIds()))
+                .applicationStatuses(canonical(request.getApplicationStatuses()))
+                .createdFrom(request.getCreatedFrom())
+                .createdTo(request.getCreatedTo())
+                .limit(limit)
+                .build();
+    }
+
+    private static <T extends Comparable<? super T>> List<T> canonical(List<T> values) {
+        if (values == null) {
+            return List.of();
+        }
+        return values.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    private static final class CachedPivot {
+        private final PivotResponse response;
+        private final long loadedAt;
+
+        private CachedPivot(PivotResponse response, long loadedAt) {
+            this.response = response;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
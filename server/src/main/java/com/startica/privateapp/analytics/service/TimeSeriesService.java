@@ -0,0 +1,151 @@
+package com.startica.privateapp.analytics.service;
+
+import com.startica.privateapp.analytics.dto.TimeSeriesPoint;
+import com.startica.privateapp.analytics.dto.TimeSeriesQuery;
+import com.startica.privateapp.analytics.model.TimeGranularity;
+import com.startica.privateapp.analytics.repository.CandidateDailyStatRepository;
+import com.startica.privateapp.bulkhead.annotation.Bulkhead;
+import com.startica.privateapp.bulkhead.model.BulkheadType;
+import com.startica.privateapp.common.exception.BusinessException;
+import com.startica.privateapp.repository.CandidateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.*;
+import java.time.temporal.WeekFields;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Candidates created per day, week, month or quarter, as a dense series (empty buckets are 0).
+ *
+ * Days are counted in memory from one grouped query, then folded into buckets. The daily rollup
+ * answers most queries; an opening filter, or a time zone other than the one created_at is
+ * stored in (the JVM's), falls back to a single grouped query over candidates. For another zone
+ * it groups by quarter hour, which is fine enough to shift into any UTC offset in use.
+ *
+ * The first bucket starts on its natural boundary and may begin before {@code from}; only days
+ * inside the requested range are counted.
+ */
+@Service
+@RequiredArgsConstructor
+@Bulkhead(BulkheadType.ANALYTICAL)
+public class TimeSeriesService {
+
+    private static final int MAX_BUCKETS = 1000;
+
+    private final CandidateDailyStatRepository dailyStatRepository;
+    private final CandidateRepository candidateRepository;
+
+    @Value("${analytics.timezone:}")
+    private String timezone;
+
+    @Value("${analytics.week-start:MONDAY}")
+    private DayOfWeek weekStart;
+
+    public ZoneId defaultZone() {
+        return timezone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(timezone);
+    }
+
+    /**
+     * The last {@code count} buckets up to and including today's.
+     */
+    public List<TimeSeriesPoint> lastBuckets(TimeGranularity granularity, int count, Long hrId) {
+        ZoneId zone = defaultZone();
+        LocalDate today = LocalDate.now(zone);
+        LocalDate from = granularity.bucketStart(today, weekFields());
+        for (int i = 1; i < count; i++) {
+            from = granularity.previousBucket(from);
+        }
+        return candidatesCreated(TimeSeriesQuery.builder()
+                .granularity(granularity)
+                .from(from)
+                .to(today)
+                .zone(zone)
+                .hrId(hrId)
+                .build());
+    }
+
+    public List<TimeSeriesPoint> candidatesCreated(TimeSeriesQuery query) {
+        if (query.getGranularity() == null || query.getFrom() == null || query.getTo() == null) {
+            throw new BusinessException("granularity, from and to are required");
+        }
+        if (query.getFrom().isAfter(query.getTo())) {
+            throw new BusinessException("from must not be after to");
+        }
+
+        TimeGranularity granularity = query.getGranularity();
+        WeekFields weekFields = weekFields();
+        ZoneId zone = query.getZone() != null ? query.getZone() : defaultZone();
+
+        Map<LocalDate, Long> buckets = new LinkedHashMap<>();
+        for (LocalDate start = granularity.bucketStart(query.getFrom(), weekFields);
+             !start.isAfter(query.getTo());
+             start = granularity.nextBucket(start)) {
+            buckets.put(start, 0L);
+            if (buckets.size() > MAX_BUCKETS) {
+                throw new BusinessException("Range too large for " + granularity + " buckets, use a coarser granularity");
+            }
+        }
+
+        dailyCounts(query, zone).forEach((day, count) ->
+                buckets.computeIfPresent(granularity.bucketStart(day, weekFields), (start, total) -> total + count));
+
+        return buckets.entrySet().stream()
+                .map(bucket -> TimeSeriesPoint.builder()
+                        .label(granularity.label(bucket.getKey(), weekFields))
+                        .start(bucket.getKey())
+                        .count(bucket.getValue())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * label -> count, in bucket order.
+     */
+    public static Map<String, Long> toMap(List<TimeSeriesPoint> series) {
+        Map<String, Long> map = new LinkedHashMap<>();
+        series.forEach(point -> map.put(point.getLabel(), point.getCount()));
+        return map;
+    }
+
+    private Map<LocalDate, Long> dailyCounts(TimeSeriesQuery query, ZoneId zone) {
+        ZoneId storageZone = ZoneId.systemDefault();
+        boolean storageDays = zone.normalized().equals(storageZone.normalized())
+                || zone.getRules().equals(storageZone.getRules());
+        String status = query.getStatus() != null ? query.getStatus().name() : null;
+        Map<LocalDate, Long> days = new HashMap<>();
+
+        if (storageDays && query.getOpeningId() == null) {
+            for (Object[] row : dailyStatRepository.sumByDay(query.getFrom(), query.getTo(),
+                    query.getHrId(), query.getStatus())) {
+                days.merge((LocalDate) row[0], ((Number) row[1]).longValue(), Long::sum);
+            }
+        } else if (storageDays) {
+            for (Object[] row : candidateRepository.countCreatedByDay(query.getFrom().atStartOfDay(),
+                    query.getTo().plusDays(1).atStartOfDay(), query.getHrId(), status, query.getOpeningId())) {
+                days.merge(toLocalDate(row[0]), ((Number) row[1]).longValue(), Long::sum);
+            }
+        } else {
+            LocalDateTime from = query.getFrom().atStartOfDay(zone).withZoneSameInstant(storageZone).toLocalDateTime();
+            LocalDateTime to = query.getTo().plusDays(1).atStartOfDay(zone).withZoneSameInstant(storageZone).toLocalDateTime();
+            for (Object[] row : candidateRepository.countCreatedByQuarterHour(from, to,
+                    query.getHrId(), status, query.getOpeningId())) {
+                LocalDateTime slot = toLocalDate(row[0])
+                        .atTime(((Number) row[1]).intValue(), ((Number) row[2]).intValue() * 15);
+                LocalDate day = slot.atZone(storageZone).withZoneSameInstant(zone).toLocalDate();
+                days.merge(day, ((Number) row[3]).longValue(), Long::sum);
+            }
+        }
+        return days;
+    }
+
+    private WeekFields weekFields() {
+        return WeekFields.of(weekStart, 4);
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+}
@@ -0,0 +1,23 @@
+package com.startica.privateapp.audit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of audit entries. Pass nextCursor back to get the following page; it is null on
+ * the last page. There is no total count, so pages cost the same at any depth.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogPage {
+    private List<CandidateHistoryResponse> content;
+    private int size;
+    private String nextCursor;
+    private boolean last;
+}
@@ -0,0 +1,26 @@
+package com.startica.privateapp.audit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters for browsing the audit log, newest first. Null filters are not applied; from is
+ * inclusive and to exclusive. cursor is the nextCursor of the previous page, null for the first.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogQuery {
+    private Long actorId;
+    private Long candidateId;
+    private String action;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String cursor;
+    private int size;
+}
@@ -0,0 +1,239 @@
+package com.startica.privateapp.audit.service;
+
+import com.startica.privateapp.model.CandidateHistory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps candidate_history small: maintains its monthly RANGE partitions and moves partitions
+ * older than audit.archive.retain-months to {@link AuditArchiveStore} files.
+ *
+ * A partition is only dropped after its file has been forced to disk, renamed into place and read
+ * back with the same row count as the partition, so an interrupted run at worst exports the same
+ * month again. Runs take a MySQL named lock, so only
+ * one node archives at a time. Requires add-candidate-history-partitioning.sql; on an
+ * unpartitioned table the job only logs a warning. Refuses to run, and fails startup when
+ * enabled, unless audit.archive.dir is set explicitly.
+ */
+@Service
+@Slf4j
+public class AuditArchiveService {
+
+    private static final String TABLE = "candidate_history";
+    private static final String LOCK_NAME = "candidate_history_archive";
+    private static final String MAX_PARTITION = "pmax";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditArchiveStore archiveStore;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "audit-archiver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${audit.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${audit.archive.retain-months:12}")
+    private int retainMonths;
+
+    @Value("${audit.archive.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${audit.archive.interval-hours:24}")
+    private long intervalHours;
+
+    @Value("${audit.archive.page-size:5000}")
+    private int pageSize;
+
+    public AuditArchiveService(JdbcTemplate jdbcTemplate, AuditArchiveStore archiveStore) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archiveStore = archiveStore;
+    }
+
+    @PostConstruct
+    void checkArchiveDirectory() {
+        if (enabled && !archiveStore.isConfigured()) {
+            throw new IllegalStateException("audit.archive.enabled is set but audit.archive.dir is not; " +
+                    "point it at durable, backed-up storage before partitions are dropped");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void schedule() {
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::runQuietly, 1, intervalHours * 60, TimeUnit.MINUTES);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Add the coming months' partitions and archive the expired ones. Returns what was done,
+     * or an empty map if another node holds the lock or the table is not partitioned.
+     */
+    public synchronized Map<String, Object> run() {
+        if (!archiveStore.isConfigured()) {
+            // Dropping partitions without a durable copy would lose the audit history
+            throw new IllegalStateException("audit.archive.dir is not set; refusing to drop partitions");
+        }
+        // Named locks belong to a session, so the whole run uses one connection
+        return jdbcTemplate.execute((ConnectionCallback<Map<String, Object>>) connection -> {
+            JdbcTemplate session = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            Integer locked = session.queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, LOCK_NAME);
+            if (locked == null || locked != 1) {
+                log.info("Audit archiving is running on another node");
+                return Map.of();
+            }
+            try {
+                return archive(session);
+            } finally {
+                session.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+            }
+        });
+    }
+
+    private Map<String, Object> archive(JdbcTemplate session) {
+        List<String> partitions = session.queryForList(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+                "ORDER BY PARTITION_ORDINAL_POSITION", String.class, TABLE);
+        if (partitions.isEmpty()) {
+            log.warn("{} is not partitioned; run add-candidate-history-partitioning.sql to enable archiving", TABLE);
+            return Map.of();
+        }
+
+        TreeMap<YearMonth, String> monthly = new TreeMap<>();
+        for (String partition : partitions) {
+            YearMonth month = monthOf(partition);
+            if (month != null) {
+                monthly.put(month, partition);
+            }
+        }
+
+        List<String> created = addFuturePartitions(session, monthly, partitions.contains(MAX_PARTITION));
+
+        YearMonth oldestKept = YearMonth.now().minusMonths(retainMonths);
+        List<String> archived = new ArrayList<>();
+        long archivedRows = 0;
+        // Oldest first: readers assume a month's file holds everything after the previous file
+        for (Map.Entry<YearMonth, String> entry : monthly.headMap(oldestKept, false).entrySet()) {
+            archivedRows += archivePartition(session, entry.getKey(), entry.getValue());
+            archived.add(entry.getValue());
+        }
+
+        if (!created.isEmpty() || !archived.isEmpty()) {
+            log.info("Audit archive: added partitions {}, archived {} ({} rows)", created, archived, archivedRows);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("createdPartitions", created);
+        result.put("archivedPartitions", archived);
+        result.put("archivedRows", archivedRows);
+        return result;
+    }
+
+    private List<String> addFuturePartitions(JdbcTemplate session, TreeMap<YearMonth, String> monthly, boolean hasMax) {
+        List<String> created = new ArrayList<>();
+        YearMonth target = YearMonth.now().plusMonths(monthsAhead);
+        YearMonth next = monthly.isEmpty() ? YearMonth.now() : monthly.lastKey().plusMonths(1);
+
+        for (; !next.isAfter(target); next = next.plusMonths(1)) {
+            String name = next.format(PARTITION_NAME);
+            String definition = "PARTITION " + name + " VALUES LESS THAN ('" + AuditArchiveStore.upperBound(next).toLocalDate() + "')";
+            if (hasMax) {
+                session.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + MAX_PARTITION + " INTO (" +
+                        definition + ", PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+            } else {
+                session.execute("ALTER TABLE " + TABLE + " ADD PARTITION (" + definition + ")");
+            }
+            monthly.put(next, name);
+            created.add(name);
+        }
+        return created;
+    }
+
+    private long archivePartition(JdbcTemplate session, YearMonth month, String partition) {
+        long rows;
+        try (AuditArchiveStore.ArchiveWriter writer = archiveStore.open(month)) {
+            long afterId = 0;
+            while (true) {
+                List<CandidateHistory> page = session.query(
+                        "SELECT id, candidate_id, action, old_value, new_value, actor_id, actor_role, timestamp " +
+                        "FROM " + TABLE + " PARTITION (" + partition + ") WHERE id > ? ORDER BY id LIMIT ?",
+                        (rs, rowNum) -> new CandidateHistory(
+                                rs.getLong("id"),
+                                rs.getLong("candidate_id"),
+                                rs.getString("action"),
+                                rs.getString("old_value"),
+                                rs.getString("new_value"),
+                                rs.getObject("actor_id", Long.class),
+                                rs.getString("actor_role"),
+                                rs.getObject("timestamp", LocalDateTime.class)),
+                        afterId, pageSize);
+                for (CandidateHistory row : page) {
+                    writer.append(row);
+                }
+                if (page.size() < pageSize) {
+                    break;
+                }
+                afterId = page.get(page.size() - 1).getId();
+            }
+            rows = writer.commit();
+
+            // Read the file back; the partition is the only other copy
+            long archived = archiveStore.countRows(month);
+            Long live = session.queryForObject("SELECT COUNT(*) FROM " + TABLE + " PARTITION (" + partition + ")", Long.class);
+            if (archived != rows || live == null || archived != live) {
+                throw new IllegalStateException("Archive of partition " + partition + " holds " + archived + " rows, " +
+                        "the partition " + live + "; keeping the partition");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not archive partition " + partition, e);
+        }
+
+        session.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + partition);
+        return rows;
+    }
+
+    private void runQuietly() {
+        try {
+            run();
+        } catch (RuntimeException e) {
+            log.error("Audit archiving failed", e);
+        }
+    }
+
+    // Only names this job understands (pYYYYMM) are ever interpolated into DDL
+    private static YearMonth monthOf(String partition) {
+        if (partition == null || !partition.matches("p\\d{6}")) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition, PARTITION_NAME);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
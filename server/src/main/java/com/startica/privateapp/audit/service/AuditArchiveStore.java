@@ -0,0 +1,251 @@
+package com.startica.privateapp.audit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.startica.privateapp.model.CandidateHistory;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Archived candidate_history partitions on local disk, one gzip-compressed NDJSON file per month.
+ *
+ * A month's file holds the rows of partition pYYYYMM, i.e. everything before the first day of
+ * the next month that is not in an earlier file. Next to it, a sorted list of the candidate ids
+ * it contains lets per-candidate reads skip files without decompressing them. Files are written
+ * under a temporary name, forced to disk, renamed once complete and the directory is synced, so a
+ * committed file survives a crash; they never change afterwards.
+ *
+ * Once a partition is dropped these files are the only copy of that month, so audit.archive.dir
+ * has no default: it must be set to durable, backed-up storage before anything is archived.
+ * Without it the archive is simply empty.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditArchiveStore {
+
+    private static final Pattern ARCHIVE_FILE = Pattern.compile("candidate_history-(\\d{4}-\\d{2})\\.ndjson\\.gz");
+
+    private final ObjectMapper objectMapper;
+    private final Map<YearMonth, long[]> candidateIds = new ConcurrentHashMap<>();
+    private Path archiveDir;
+
+    @Value("${audit.archive.dir:}")
+    private String archiveDirectory;
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!isConfigured()) {
+            return;
+        }
+        archiveDir = Paths.get(archiveDirectory);
+        Files.createDirectories(archiveDir);
+        // Half-written files of an interrupted export; the partition is still in MySQL
+        try (Stream<Path> leftovers = Files.list(archiveDir)) {
+            leftovers.filter(path -> path.getFileName().toString().endsWith(".tmp")).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    log.warn("Could not delete {}: {}", path, e.getMessage());
+                }
+            });
+        }
+    }
+
+    public boolean isConfigured() {
+        return archiveDirectory != null && !archiveDirectory.isBlank();
+    }
+
+    /**
+     * Archived months, oldest first.
+     */
+    public NavigableSet<YearMonth> months() {
+        TreeSet<YearMonth> months = new TreeSet<>();
+        if (archiveDir == null) {
+            return months;
+        }
+        try (Stream<Path> files = Files.list(archiveDir)) {
+            files.forEach(path -> {
+                Matcher matcher = ARCHIVE_FILE.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    months.add(YearMonth.parse(matcher.group(1)));
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list the audit archive", e);
+        }
+        return months;
+    }
+
+    /**
+     * Exclusive upper bound of the timestamps in a month's file.
+     */
+    public static LocalDateTime upperBound(YearMonth month) {
+        return month.plusMonths(1).atDay(1).atStartOfDay();
+    }
+
+    public boolean mayContainCandidate(YearMonth month, long candidateId) {
+        long[] ids = candidateIds.computeIfAbsent(month, this::loadCandidateIds);
+        return Arrays.binarySearch(ids, candidateId) >= 0;
+    }
+
+    /**
+     * Rows of one archived month matching the filter, in file (id) order.
+     */
+    public List<CandidateHistory> read(YearMonth month, Predicate<CandidateHistory> filter) {
+        List<CandidateHistory> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(dataFile(month))), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                CandidateHistory row = objectMapper.readValue(line, CandidateHistory.class);
+                if (filter.test(row)) {
+                    rows.add(row);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read audit archive " + month, e);
+        }
+        return rows;
+    }
+
+    /**
+     * Number of rows in a month's file. Reads the whole file, so a truncated or corrupt file fails
+     * here (the gzip trailer carries a CRC and the length) instead of reading short.
+     */
+    public long countRows(YearMonth month) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(dataFile(month))), StandardCharsets.UTF_8))) {
+            return reader.lines().filter(line -> !line.isEmpty()).count();
+        }
+    }
+
+    public ArchiveWriter open(YearMonth month) throws IOException {
+        if (archiveDir == null) {
+            throw new IllegalStateException("audit.archive.dir is not set");
+        }
+        return new ArchiveWriter(month);
+    }
+
+    private long[] loadCandidateIds(YearMonth month) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(idsFile(month))), StandardCharsets.UTF_8))) {
+            return reader.lines().filter(line -> !line.isEmpty()).mapToLong(Long::parseLong).toArray();
+        } catch (IOException e) {
+            // Without the id list every read has to look inside the file
+            log.warn("Candidate id list for audit archive {} unavailable: {}", month, e.getMessage());
+            return read(month, row -> true).stream().mapToLong(CandidateHistory::getCandidateId).distinct().sorted().toArray();
+        }
+    }
+
+    private void syncDirectory() throws IOException {
+        try (FileChannel directory = FileChannel.open(archiveDir, StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened for sync on Windows; everywhere else this is a real failure
+            if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+                throw e;
+            }
+        }
+    }
+
+    private Path dataFile(YearMonth month) {
+        return archiveDir.resolve("candidate_history-" + month + ".ndjson.gz");
+    }
+
+    private Path idsFile(YearMonth month) {
+        return archiveDir.resolve("candidate_history-" + month + ".candidates.gz");
+    }
+
+    /**
+     * Appends rows to a new archive file. Nothing is visible to readers until {@link #commit};
+     * closing without committing discards the file.
+     */
+    public final class ArchiveWriter implements Closeable {
+        private final YearMonth month;
+        private final Path dataTmp;
+        private final FileOutputStream file;
+        private final GZIPOutputStream gzip;
+        private final OutputStream out;
+        private final Set<Long> ids = new HashSet<>();
+        private long rows;
+        private boolean committed;
+
+        private ArchiveWriter(YearMonth month) throws IOException {
+            this.month = month;
+            this.dataTmp = archiveDir.resolve(dataFile(month).getFileName() + ".tmp");
+            this.file = new FileOutputStream(dataTmp.toFile());
+            this.gzip = new GZIPOutputStream(file);
+            this.out = new BufferedOutputStream(gzip);
+        }
+
+        public void append(CandidateHistory row) throws IOException {
+            out.write(objectMapper.writeValueAsBytes(row));
+            out.write('\n');
+            ids.add(row.getCandidateId());
+            rows++;
+        }
+
+        /**
+         * Makes the file durable and visible. Once this returns, the data file, its id list and the
+         * renames are on disk.
+         */
+        public long commit() throws IOException {
+            out.flush();
+            gzip.finish();
+            file.getChannel().force(true);
+            out.close();
+
+            Path idsTmp = archiveDir.resolve(idsFile(month).getFileName() + ".tmp");
+            try (FileOutputStream idsFile = new FileOutputStream(idsTmp.toFile())) {
+                GZIPOutputStream idsGzip = new GZIPOutputStream(idsFile);
+                Writer idsOut = new BufferedWriter(new OutputStreamWriter(idsGzip, StandardCharsets.UTF_8));
+                for (long id : ids.stream().mapToLong(Long::longValue).sorted().toArray()) {
+                    idsOut.write(Long.toString(id));
+                    idsOut.write('\n');
+                }
+                idsOut.flush();
+                idsGzip.finish();
+                idsFile.getChannel().force(true);
+            }
+
+            // Id list first, so a visible data file is never paired with a missing or stale list
+            Files.move(idsTmp, idsFile(month), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(dataTmp, dataFile(month), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory();
+            candidateIds.remove(month);
+            committed = true;
+            return rows;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                out.close();
+                Files.deleteIfExists(dataTmp);
+            }
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.startica.privateapp.audit.service;
 
+import com.startica.privateapp.audit.dto.AuditLogPage;
+import com.startica.privateapp.audit.dto.AuditLogQuery;
 import com.startica.privateapp.audit.dto.CandidateHistoryResponse;
+import com.startica.privateapp.common.exception.BusinessException;
 import com.startica.privateapp.model.Candidate;
 import com.startica.privateapp.model.CandidateHistory;
 import com.startica.privateapp.model.User;
@@ -8,18 +11,29 @@ import com.startica.privateapp.repository.CandidateHistoryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.criteria.Predicate;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.time.YearMonth;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AuditService {
 
+    private static final Comparator<CandidateHistory> NEWEST_FIRST = Comparator
+            .comparing(CandidateHistory::getTimestamp)
+            .thenComparing(CandidateHistory::getId)
+            .reversed();
+
     private final CandidateHistoryRepository historyRepository;
+    private final AuditArchiveStore archiveStore;
 
     @Transactional
     public void logCandidateCreation(Candidate candidate, User actor) {
@@ -72,8 +86,20 @@ public class AuditService {
         historyRepository.save(history);
     }
 
+    /**
+     * The candidate's full history, including entries already moved to the archive.
+     */
     public List<CandidateHistoryResponse> getCandidateHistory(Long candidateId) {
-        List<CandidateHistory> history = historyRepository.findByCandidateIdOrderByTimestampDesc(candidateId);
+        List<CandidateHistory> history = new ArrayList<>(historyRepository.findByCandidateIdOrderByTimestampDesc(candidateId));
+        Set<Long> seen = history.stream().map(CandidateHistory::getId).collect(Collectors.toSet());
+        for (YearMonth month : archiveStore.months().descendingSet()) {
+            if (archiveStore.mayContainCandidate(month, candidateId)) {
+                List<CandidateHistory> archived = archiveStore.read(month,
+                        row -> candidateId.equals(row.getCandidateId()) && !seen.contains(row.getId()));
+                archived.sort(NEWEST_FIRST);
+                history.addAll(archived);
+            }
+        }
         return history.stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
@@ -89,6 +115,153 @@ public class AuditService {
         return history.map(this::mapToResponse);
     }
 
+    public Page<CandidateHistoryResponse> getAllAuditLogs(Pageable pageable) {
+        return historyRepository.findAll(pageable).map(this::mapToResponse);
+    }
+
+    /**
+     * Browse the audit log newest first with keyset pagination on (timestamp, id): each page
+     * continues below the last entry of the previous one, so deep pages read no more rows than
+     * the first. An action ending in '*' matches by prefix, e.g. "FIELD_UPDATED*". Once the
+     * table runs out, paging continues into the archived months.
+     */
+    @Transactional(readOnly = true)
+    public AuditLogPage queryAuditLogs(AuditLogQuery query) {
+        int size = query.getSize();
+        Object[] after = query.getCursor() != null ? decodeCursor(query.getCursor()) : null;
+
+        Specification<CandidateHistory> spec = (root, criteriaQuery, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (query.getActorId() != null) {
+                predicates.add(cb.equal(root.get("actorId"), query.getActorId()));
+            }
+            if (query.getCandidateId() != null) {
+                predicates.add(cb.equal(root.get("candidateId"), query.getCandidateId()));
+            }
+            if (query.getAction() != null && !query.getAction().isBlank()) {
+                String action = query.getAction().trim();
+                predicates.add(action.endsWith("*")
+                        ? cb.like(root.get("action"), escapeLike(action.substring(0, action.length() - 1)) + "%", '\\')
+                        : cb.equal(root.get("action"), action));
+            }
+            if (query.getFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("timestamp"), query.getFrom()));
+            }
+            if (query.getTo() != null) {
+                predicates.add(cb.lessThan(root.get("timestamp"), query.getTo()));
+            }
+            if (after != null) {
+                LocalDateTime timestamp = (LocalDateTime) after[0];
+                Long id = (Long) after[1];
+                predicates.add(cb.or(
+                        cb.lessThan(root.get("timestamp"), timestamp),
+                        cb.and(cb.equal(root.get("timestamp"), timestamp), cb.lessThan(root.get("id"), id))));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+
+        // One extra row tells whether another page exists without counting
+        List<CandidateHistory> rows = new ArrayList<>(historyRepository.findBy(spec, q -> q
+                .sortBy(Sort.by(Sort.Order.desc("timestamp"), Sort.Order.desc("id")))
+                .limit(size + 1)
+                .all()));
+        if (rows.size() <= size) {
+            rows.addAll(readArchive(query, after, rows, size + 1 - rows.size()));
+        }
+
+        boolean last = rows.size() <= size;
+        List<CandidateHistory> page = last ? rows : rows.subList(0, size);
+        CandidateHistory tail = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return AuditLogPage.builder()
+                .content(page.stream().map(this::mapToResponse).collect(Collectors.toList()))
+                .size(size)
+                .last(last)
+                .nextCursor(last || tail == null ? null : encodeCursor(tail.getTimestamp(), tail.getId()))
+                .build();
+    }
+
+    /**
+     * Archived entries matching the query, newest first. Archived months are all older than the
+     * table, so they simply continue its ordering.
+     */
+    private List<CandidateHistory> readArchive(AuditLogQuery query, Object[] after, List<CandidateHistory> hot, int wanted) {
+        // An entry is in both places between writing its month's file and dropping the partition
+        Set<Long> seen = hot.stream().map(CandidateHistory::getId).collect(Collectors.toSet());
+        List<CandidateHistory> found = new ArrayList<>();
+        for (YearMonth month : archiveStore.months().descendingSet()) {
+            if (found.size() >= wanted) {
+                break;
+            }
+            if (query.getFrom() != null && !AuditArchiveStore.upperBound(month).isAfter(query.getFrom())) {
+                break;
+            }
+            if (query.getCandidateId() != null && !archiveStore.mayContainCandidate(month, query.getCandidateId())) {
+                continue;
+            }
+            List<CandidateHistory> rows = archiveStore.read(month,
+                    row -> !seen.contains(row.getId()) && matches(row, query, after));
+            rows.sort(NEWEST_FIRST);
+            found.addAll(rows);
+        }
+        return found.size() > wanted ? found.subList(0, wanted) : found;
+    }
+
+    /**
+     * The filters of {@link #queryAuditLogs} applied in memory to an archived entry.
+     */
+    private static boolean matches(CandidateHistory row, AuditLogQuery query, Object[] after) {
+        if (query.getActorId() != null && !query.getActorId().equals(row.getActorId())) {
+            return false;
+        }
+        if (query.getCandidateId() != null && !query.getCandidateId().equals(row.getCandidateId())) {
+            return false;
+        }
+        if (query.getAction() != null && !query.getAction().isBlank()) {
+            String action = query.getAction().trim();
+            boolean matched = action.endsWith("*")
+                    ? row.getAction() != null && row.getAction().startsWith(action.substring(0, action.length() - 1))
+                    : action.equals(row.getAction());
+            if (!matched) {
+                return false;
+            }
+        }
+        if (query.getFrom() != null && row.getTimestamp().isBefore(query.getFrom())) {
+            return false;
+        }
+        if (query.getTo() != null && !row.getTimestamp().isBefore(query.getTo())) {
+            return false;
+        }
+        if (after != null) {
+            LocalDateTime timestamp = (LocalDateTime) after[0];
+            Long id = (Long) after[1];
+            return row.getTimestamp().isBefore(timestamp)
+                    || (row.getTimestamp().isEqual(timestamp) && row.getId() < id);
+        }
+        return true;
+    }
+
+    private static String encodeCursor(LocalDateTime timestamp, Long id) {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new Object[]{
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))};
+        } catch (RuntimeException e) {
+            throw new BusinessException("Invalid audit log cursor");
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     private String formatCandidateData(Candidate candidate) {
         return String.format("Name: %s %s, Email: %s, Phone: %s, Status: %s",
                 candidate.getFirstName(),
@@ -0,0 +1,28 @@
+package com.startica.privateapp.auth.model;
+
+import com.startica.privateapp.model.User;
+import lombok.Getter;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+
+/**
+ * UserDetails used for password login. Keeps the loaded account so the login flow
+ * does not have to read it a second time.
+ */
+@Getter
+public class AccountUserDetails extends org.springframework.security.core.userdetails.User {
+
+    private final User account;
+
+    public AccountUserDetails(User account) {
+        super(account.getUsername(),
+                account.getPassword(),
+                account.getActive(),
+                true,
+                true,
+                true,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + account.getRole().name())));
+        this.account = account;
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.stereotype.Service;
 public class AccountServiceImpl implements AccountService {
 
     private final UserRepository userRepository;
+    private final UserSnapshotCache userSnapshotCache;
 
     @Override
     public LoginResponse updateMyProfile(String username, UpdateProfileRequest req) {
@@ -25,6 +26,7 @@ public class AccountServiceImpl implements AccountService {
         user.setPhone(req.getPhone());
 
         userRepository.save(user);
+        userSnapshotCache.invalidate(user.getId());
 
         return LoginResponse.builder()
                 .user(LoginResponse.UserInfo.builder()
@@ -3,11 +3,11 @@ package com.startica.privateapp.auth.service;
 import com.startica.privateapp.auth.dto.LoginRequest;
 import com.startica.privateapp.auth.dto.LoginResponse;
 import com.startica.privateapp.auth.dto.RefreshTokenRequest;
+import com.startica.privateapp.auth.model.AccountUserDetails;
+import com.startica.privateapp.auth.model.AuthenticatedUser;
 import com.startica.privateapp.common.exception.ResourceNotFoundException;
 import com.startica.privateapp.common.exception.UnauthorizedException;
-import com.startica.privateapp.model.RefreshToken;
 import com.startica.privateapp.model.User;
-import com.startica.privateapp.repository.RefreshTokenRepository;
 import com.startica.privateapp.repository.UserRepository;
 import com.startica.privateapp.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
@@ -19,8 +19,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -28,13 +28,16 @@ public class AuthService {
 
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
     private final JwtUtil jwtUtil;
+    private final UserSnapshotCache userSnapshotCache;
+    private final TokenRevocationList tokenRevocationList;
+    private final LastLoginRecorder lastLoginRecorder;
 
     @Value("${jwt.refresh.expiration:604800000}") // 7 days default
     private Long refreshTokenDuration;
 
-    @Transactional
+    // Deliberately not @Transactional: no connection is held while the password hash is checked
     public LoginResponse login(LoginRequest request) {
         // Authenticate user
         Authentication authentication = authenticationManager.authenticate(
@@ -43,9 +46,8 @@ public class AuthService {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        // Get user
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", request.getUsername()));
+        // The account loaded for authentication; it is only read, never modified, here
+        User user = ((AccountUserDetails) authentication.getPrincipal()).getAccount();
 
         // Check if user is active
         if (!user.getActive()) {
@@ -56,9 +58,9 @@ public class AuthService {
         String accessToken = jwtUtil.generateToken(user.getId(), user.getUsername(), user.getRole().name());
         String refreshToken = createRefreshToken(user.getId());
 
-        // Update last login
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+        // Last login is written in the background, batched with other logins
+        LocalDateTime loginTime = LocalDateTime.now();
+        lastLoginRecorder.record(user.getId(), loginTime);
 
         // Build response
         LoginResponse.UserInfo userInfo = LoginResponse.UserInfo.builder()
@@ -70,7 +72,7 @@ public class AuthService {
                 .role(user.getRole())
                 .active(user.getActive())
                 .createdAt(user.getCreatedAt())
-                .lastLogin(user.getLastLogin())
+                .lastLogin(loginTime)
                 .build();
 
         return LoginResponse.builder()
@@ -81,21 +83,15 @@ public class AuthService {
                 .build();
     }
 
-    @Transactional
     public LoginResponse refreshToken(RefreshTokenRequest request) {
         String requestRefreshToken = request.getRefreshToken();
 
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(requestRefreshToken)
-                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
-
-        if (refreshToken.isExpired()) {
-            refreshTokenRepository.delete(refreshToken);
-            throw new UnauthorizedException("Refresh token has expired");
-        }
+        Long userId = refreshTokenStore.resolveUserId(requestRefreshToken)
+                .orElseThrow(() -> new UnauthorizedException("Invalid or expired refresh token"));
 
         // Get user
-        User user = userRepository.findById(refreshToken.getUserId())
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", refreshToken.getUserId()));
+        User user = userSnapshotCache.find(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
         if (!user.getActive()) {
             throw new UnauthorizedException("User account is deactivated");
@@ -124,24 +120,14 @@ public class AuthService {
                 .build();
     }
 
-    @Transactional
     public void logout(Long userId) {
-        refreshTokenRepository.deleteByUserId(userId);
+        refreshTokenStore.revokeAllFor(userId);
+        tokenRevocationList.revokeAllFor(userId);
     }
 
     private String createRefreshToken(Long userId) {
-        // Delete existing refresh token for user
-        refreshTokenRepository.deleteByUserId(userId);
-
-        // Create new refresh token
-        RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setUserId(userId);
-        refreshToken.setToken(UUID.randomUUID().toString());
-        refreshToken.setExpiryDate(LocalDateTime.now().plusSeconds(refreshTokenDuration / 1000));
-
-        refreshTokenRepository.save(refreshToken);
-
-        return refreshToken.getToken();
+        // Replaces the user's previous refresh token
+        return refreshTokenStore.issue(userId, Duration.ofMillis(refreshTokenDuration));
     }
 
     public User getCurrentUser() {
@@ -150,6 +136,12 @@ public class AuthService {
             throw new UnauthorizedException("User not authenticated");
         }
 
+        // Token-authenticated requests are served from the snapshot cache
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return userSnapshotCache.find(principal.getUserId())
+                    .orElseThrow(() -> new ResourceNotFoundException("User", "id", principal.getUserId()));
+        }
+
         String username = authentication.getName();
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
@@ -170,7 +162,9 @@ public class AuthService {
         }
 
         user.setEmail(email);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userSnapshotCache.invalidate(saved.getId());
+        return saved;
     }
 
 }
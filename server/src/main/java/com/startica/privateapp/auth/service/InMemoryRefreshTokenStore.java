@@ -0,0 +1,105 @@
+package com.startica.privateapp.auth.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refresh tokens held in memory with a TTL. Tokens do not survive a restart and are not shared
+ * between nodes, so this suits single-instance and development setups.
+ */
+@Service
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private final Map<String, Entry> tokensByHash = new ConcurrentHashMap<>();
+    private final Map<Long, String> hashByUser = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "refresh-token-purger");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${auth.refresh-token.purge-interval-ms:3600000}")
+    private long purgeIntervalMillis;
+
+    @PostConstruct
+    void start() {
+        purger.scheduleWithFixedDelay(this::purgeExpired, purgeIntervalMillis, purgeIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        purger.shutdownNow();
+    }
+
+    @Override
+    public String issue(Long userId, Duration timeToLive) {
+        String token = UUID.randomUUID().toString();
+        String hash = RefreshTokenStore.hash(token);
+        tokensByHash.put(hash, new Entry(userId, System.currentTimeMillis() + timeToLive.toMillis()));
+        String previous = hashByUser.put(userId, hash);
+        if (previous != null) {
+            tokensByHash.remove(previous);
+        }
+        return token;
+    }
+
+    @Override
+    public Optional<Long> resolveUserId(String token) {
+        String hash = RefreshTokenStore.hash(token);
+        Entry entry = tokensByHash.get(hash);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            tokensByHash.remove(hash);
+            hashByUser.remove(entry.userId, hash);
+            return Optional.empty();
+        }
+        return Optional.of(entry.userId);
+    }
+
+    @Override
+    public void revokeAllFor(Long userId) {
+        String hash = hashByUser.remove(userId);
+        if (hash != null) {
+            tokensByHash.remove(hash);
+        }
+    }
+
+    @Override
+    public int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int before = tokensByHash.size();
+        tokensByHash.entrySet().removeIf(e -> {
+            if (e.getValue().expiresAt < now) {
+                hashByUser.remove(e.getValue().userId, e.getKey());
+                return true;
+            }
+            return false;
+        });
+        return Math.max(0, before - tokensByHash.size());
+    }
+
+    private static final class Entry {
+        private final Long userId;
+        private final long expiresAt;
+
+        private Entry(Long userId, long expiresAt) {
+            this.userId = userId;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
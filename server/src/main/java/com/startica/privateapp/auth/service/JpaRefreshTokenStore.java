@@ -0,0 +1,96 @@
+package com.startica.privateapp.auth.service;
+
+import com.startica.privateapp.repository.RefreshTokenRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refresh tokens in the refresh_tokens table, looked up by the unique token_hash index.
+ * Expired rows are deleted periodically in small batches.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "jpa", matchIfMissing = true)
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final ScheduledExecutorService purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "refresh-token-purger");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${auth.refresh-token.purge-interval-ms:3600000}")
+    private long purgeIntervalMillis;
+
+    @Value("${auth.refresh-token.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    public JpaRefreshTokenStore(RefreshTokenRepository refreshTokenRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    @PostConstruct
+    void start() {
+        purger.scheduleWithFixedDelay(() -> {
+            try {
+                int purged = purgeExpired();
+                if (purged > 0) {
+                    log.info("Purged {} expired refresh tokens", purged);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Refresh token purge failed", e);
+            }
+        }, purgeIntervalMillis, purgeIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        purger.shutdownNow();
+    }
+
+    @Override
+    public String issue(Long userId, Duration timeToLive) {
+        String token = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.upsertForUser(RefreshTokenStore.hash(token), userId, now.plus(timeToLive), now);
+        return token;
+    }
+
+    @Override
+    public Optional<Long> resolveUserId(String token) {
+        return refreshTokenRepository.findByTokenHash(RefreshTokenStore.hash(token))
+                .filter(refreshToken -> !refreshToken.isExpired())
+                .map(refreshToken -> refreshToken.getUserId());
+    }
+
+    @Override
+    public void revokeAllFor(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    @Override
+    public int purgeExpired() {
+        // Short batches keep each DELETE from locking a large range of the table
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredBatch(now, purgeBatchSize);
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+        return total;
+    }
+}
@@ -0,0 +1,86 @@
+package com.startica.privateapp.auth.service;
+
+import com.startica.privateapp.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects last-login timestamps in memory and writes them in one transaction every few
+ * seconds, keeping only the latest login per user. Login requests never wait on this write.
+ */
+@Service
+@Slf4j
+public class LastLoginRecorder {
+
+    private final UserRepository userRepository;
+    private final UserSnapshotCache userSnapshotCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "last-login-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${auth.last-login.flush-interval-ms:5000}")
+    private long flushIntervalMillis;
+
+    public LastLoginRecorder(UserRepository userRepository,
+                             UserSnapshotCache userSnapshotCache,
+                             PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.userSnapshotCache = userSnapshotCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void start() {
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdown();
+        flush();
+    }
+
+    public void record(Long userId, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Long, LocalDateTime> batch = new HashMap<>();
+        for (Long userId : pending.keySet()) {
+            LocalDateTime loginTime = pending.remove(userId);
+            if (loginTime != null) {
+                batch.put(userId, loginTime);
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach((userId, loginTime) -> {
+                userRepository.updateLastLogin(userId, loginTime);
+                userSnapshotCache.invalidate(userId);
+            }));
+        } catch (RuntimeException e) {
+            log.warn("Could not write last-login times for {} users, retrying later", batch.size(), e);
+            batch.forEach(this::record);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.startica.privateapp.auth.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Refresh tokens in Redis, expired by Redis itself through key TTLs. Shared by all nodes.
+ *
+ * Keys: refresh-token:hash:{sha256} -> userId, refresh-token:user:{userId} -> sha256
+ */
+@Service
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "redis")
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    private static final String TOKEN_KEY = "refresh-token:hash:";
+    private static final String USER_KEY = "refresh-token:user:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisRefreshTokenStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public String issue(Long userId, Duration timeToLive) {
+        String token = UUID.randomUUID().toString();
+        String hash = RefreshTokenStore.hash(token);
+        String previous = redisTemplate.opsForValue().getAndSet(USER_KEY + userId, hash);
+        redisTemplate.expire(USER_KEY + userId, timeToLive);
+        redisTemplate.opsForValue().set(TOKEN_KEY + hash, String.valueOf(userId), timeToLive);
+        if (previous != null) {
+            redisTemplate.delete(TOKEN_KEY + previous);
+        }
+        return token;
+    }
+
+    @Override
+    public Optional<Long> resolveUserId(String token) {
+        String userId = redisTemplate.opsForValue().get(TOKEN_KEY + RefreshTokenStore.hash(token));
+        return Optional.ofNullable(userId).map(Long::valueOf);
+    }
+
+    @Override
+    public void revokeAllFor(Long userId) {
+        String hash = redisTemplate.opsForValue().getAndDelete(USER_KEY + userId);
+        if (hash != null) {
+            redisTemplate.delete(TOKEN_KEY + hash);
+        }
+    }
+
+    @Override
+    public int purgeExpired() {
+        // Redis expires the keys on its own
+        return 0;
+    }
+}
@@ -0,0 +1,43 @@
+package com.startica.privateapp.auth.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Storage of refresh tokens; one live token per user. Implementations only ever keep the
+ * SHA-256 of a token, so a leaked store cannot be replayed.
+ *
+ * Selected with auth.refresh-token.store = jpa (default) | memory | redis.
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * Create a token for the user, replacing any previous one, and return it in clear text.
+     */
+    String issue(Long userId, Duration timeToLive);
+
+    /**
+     * User the token belongs to, if it exists and has not expired.
+     */
+    Optional<Long> resolveUserId(String token);
+
+    void revokeAllFor(Long userId);
+
+    /**
+     * Remove expired tokens; returns how many were removed.
+     */
+    int purgeExpired();
+
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
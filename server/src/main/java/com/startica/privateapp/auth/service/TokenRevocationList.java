@@ -0,0 +1,49 @@
+package com.startica.privateapp.auth.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Access tokens issued to a user before a cut-off (password change, deactivation, deletion)
+ * are rejected. Entries are only ever removed by expiry, once every token they could match has
+ * expired anyway; there is no size bound, so a revocation is never dropped while it still matters.
+ */
+@Service
+public class TokenRevocationList {
+
+    // Covers clock skew between nodes and the second precision of iat
+    private static final long EXPIRY_MARGIN_MILLIS = 60_000;
+
+    private final Map<Long, Instant> revokedBefore = new ConcurrentHashMap<>();
+
+    @Value("${jwt.expiration:1800000}")
+    private long tokenLifetimeMillis;
+
+    public void revokeAllFor(Long userId) {
+        // iat has second precision; tokens issued within the same second stay valid
+        // A newer cut-off always covers an older one
+        revokedBefore.merge(userId, Instant.now().truncatedTo(ChronoUnit.SECONDS),
+                (previous, next) -> next.isAfter(previous) ? next : previous);
+        purgeExpired();
+    }
+
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Instant cutOff = revokedBefore.get(userId);
+        if (cutOff == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.toInstant().isBefore(cutOff);
+    }
+
+    private void purgeExpired() {
+        // Every token issued before such a cut-off has expired
+        Instant oldestLiveToken = Instant.now().minusMillis(tokenLifetimeMillis + EXPIRY_MARGIN_MILLIS);
+        revokedBefore.values().removeIf(cutOff -> cutOff.isBefore(oldestLiveToken));
+    }
+}
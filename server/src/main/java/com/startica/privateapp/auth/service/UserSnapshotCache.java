@@ -0,0 +1,87 @@
+package com.startica.privateapp.auth.service;
+
+import com.startica.privateapp.model.User;
+import com.startica.privateapp.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived snapshots of accounts, so authenticated requests do not query the accounts table.
+ *
+ * Callers always get a detached copy and may modify or save it. Anything that changes an account
+ * must call {@link #invalidate}; the TTL only covers changes made outside the application.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserSnapshotCache {
+
+    private final UserRepository userRepository;
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    @Value("${auth.user-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${auth.user-cache.max-size:1000}")
+    private int maxSize;
+
+    public Optional<User> find(Long userId) {
+        long now = System.currentTimeMillis();
+        Snapshot snapshot = snapshots.get(userId);
+        if (snapshot == null || now - snapshot.loadedAt > ttlSeconds * 1000) {
+            Optional<User> loaded = userRepository.findById(userId);
+            if (loaded.isEmpty()) {
+                snapshots.remove(userId);
+                return Optional.empty();
+            }
+            if (snapshots.size() >= maxSize) {
+                snapshots.values().removeIf(s -> now - s.loadedAt > ttlSeconds * 1000);
+            }
+            // Only expired snapshots are evicted; when every slot is live the account is served uncached
+            if (snapshots.size() >= maxSize && !snapshots.containsKey(userId)) {
+                return Optional.of(copyOf(loaded.get()));
+            }
+            snapshot = new Snapshot(copyOf(loaded.get()), now);
+            snapshots.put(userId, snapshot);
+        }
+        return Optional.of(copyOf(snapshot.user));
+    }
+
+    /**
+     * Drop the snapshot now and again once the surrounding transaction commits, so a concurrent
+     * request cannot re-cache the pre-commit state.
+     */
+    public void invalidate(Long userId) {
+        snapshots.remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    snapshots.remove(userId);
+                }
+            });
+        }
+    }
+
+    private static User copyOf(User user) {
+        return new User(user.getId(), user.getUsername(), user.getPassword(), user.getFullName(),
+                user.getEmail(), user.getPhone(), user.getRole(), user.getActive(),
+                user.getLastLogin(), user.getCreatedAt(), user.getUpdatedAt());
+    }
+
+    private static final class Snapshot {
+        private final User user;
+        private final long loadedAt;
+
+        private Snapshot(User user, long loadedAt) {
+            this.user = user;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
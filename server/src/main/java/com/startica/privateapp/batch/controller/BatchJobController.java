@@ -0,0 +1,53 @@
+package com.startica.privateapp.batch.controller;
+
+import com.startica.privateapp.batch.dto.BatchJobProgressResponse;
+import com.startica.privateapp.batch.service.BatchJobService;
+import com.startica.privateapp.common.response.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Admin control of background batch jobs
+ *
+ * Endpoints:
+ * - GET  /api/admin/batch-jobs - Progress of every registered job
+ * - GET  /api/admin/batch-jobs/{jobName} - Progress and throughput of one job
+ * - POST /api/admin/batch-jobs/{jobName}/start - Start or resume a job (restart=true to begin from scratch)
+ * - POST /api/admin/batch-jobs/{jobName}/stop - Stop a job after its in-flight chunks
+ */
+@RestController
+@RequestMapping("/api/admin/batch-jobs")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class BatchJobController {
+
+    private final BatchJobService batchJobService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<BatchJobProgressResponse>>> getJobs() {
+        return ResponseEntity.ok(ApiResponse.success(batchJobService.getAllProgress()));
+    }
+
+    @GetMapping("/{jobName}")
+    public ResponseEntity<ApiResponse<BatchJobProgressResponse>> getJob(@PathVariable String jobName) {
+        return ResponseEntity.ok(ApiResponse.success(batchJobService.getProgress(jobName)));
+    }
+
+    @PostMapping("/{jobName}/start")
+    public ResponseEntity<ApiResponse<BatchJobProgressResponse>> startJob(
+            @PathVariable String jobName,
+            @RequestParam(defaultValue = "false") boolean restart) {
+        BatchJobProgressResponse progress = batchJobService.start(jobName, restart);
+        return ResponseEntity.ok(ApiResponse.success("Batch job started", progress));
+    }
+
+    @PostMapping("/{jobName}/stop")
+    public ResponseEntity<ApiResponse<BatchJobProgressResponse>> stopJob(@PathVariable String jobName) {
+        BatchJobProgressResponse progress = batchJobService.stop(jobName);
+        return ResponseEntity.ok(ApiResponse.success("Batch job stop requested", progress));
+    }
+}
@@ -0,0 +1,29 @@
+package com.startica.privateapp.batch.dto;
+
+import com.startica.privateapp.batch.model.BatchJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchJobProgressResponse {
+    private String jobName;
+    private String description;
+    private BatchJobStatus status;
+    private Long lastProcessedId;
+    private Long processedCount;
+    private Long remainingEstimate;
+    private Double throughputPerSecond;
+    private Long elapsedSeconds;
+    private Integer inFlightChunks;
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime updatedAt;
+}
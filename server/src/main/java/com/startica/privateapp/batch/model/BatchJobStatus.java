@@ -0,0 +1,9 @@
+package com.startica.privateapp.batch.model;
+
+public enum BatchJobStatus {
+    IDLE,
+    RUNNING,
+    STOPPED,
+    COMPLETED,
+    FAILED
+}
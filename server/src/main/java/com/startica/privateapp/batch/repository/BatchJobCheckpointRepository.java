@@ -0,0 +1,14 @@
+package com.startica.privateapp.batch.repository;
+
+import com.startica.privateapp.batch.model.BatchJobCheckpoint;
+import com.startica.privateapp.batch.model.BatchJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BatchJobCheckpointRepository extends JpaRepository<BatchJobCheckpoint, String> {
+
+    List<BatchJobCheckpoint> findByStatus(BatchJobStatus status);
+}
@@ -0,0 +1,32 @@
+package com.startica.privateapp.batch.service;
+
+import java.util.List;
+
+/**
+ * A resumable data-maintenance job driven by {@link BatchJobService}.
+ *
+ * Rows are read as ascending id chunks (keyset pagination, never OFFSET) and every chunk is
+ * processed in its own transaction. A chunk may be replayed after a crash, so processChunk
+ * must be idempotent.
+ */
+public interface BatchJob {
+
+    String getName();
+
+    String getDescription();
+
+    /**
+     * Next ids strictly greater than afterId, ascending, at most limit of them.
+     */
+    List<Long> readChunk(Long afterId, int limit);
+
+    /**
+     * Process one chunk. Called inside a fresh transaction on a worker thread.
+     */
+    void processChunk(List<Long> ids);
+
+    /**
+     * Rough number of rows still to go after the given cursor, used for progress reporting only.
+     */
+    long countRemaining(Long afterId);
+}
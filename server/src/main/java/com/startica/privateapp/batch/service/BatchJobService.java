@@ -0,0 +1,318 @@
+package com.startica.privateapp.batch.service;
+
+import com.startica.privateapp.batch.dto.BatchJobProgressResponse;
+import com.startica.privateapp.batch.model.BatchJobCheckpoint;
+import com.startica.privateapp.batch.model.BatchJobStatus;
+import com.startica.privateapp.batch.repository.BatchJobCheckpointRepository;
+import com.startica.privateapp.common.exception.BusinessException;
+import com.startica.privateapp.common.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Runs {@link BatchJob}s in the background.
+ *
+ * A coordinator thread reads id chunks by keyset and hands them to a bounded worker pool;
+ * every chunk commits in its own transaction. The checkpoint only advances past a chunk once
+ * every earlier chunk has committed too, so a restart (or a crash) resumes without gaps.
+ * Jobs still marked RUNNING when the application stops are resumed on the next startup.
+ */
+@Service
+@Slf4j
+public class BatchJobService {
+
+    private final Map<String, BatchJob> jobs;
+    private final BatchJobCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, JobExecution> executions = new ConcurrentHashMap<>();
+    private final ExecutorService coordinators = Executors.newCachedThreadPool(namedThreads("batch-coordinator"));
+
+    @Value("${batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${batch.workers:4}")
+    private int workers;
+
+    public BatchJobService(List<BatchJob> jobList,
+                           BatchJobCheckpointRepository checkpointRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.jobs = jobList.stream()
+                .collect(Collectors.toMap(BatchJob::getName, job -> job, (a, b) -> a, LinkedHashMap::new));
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        for (BatchJobCheckpoint checkpoint : checkpointRepository.findByStatus(BatchJobStatus.RUNNING)) {
+            BatchJob job = jobs.get(checkpoint.getJobName());
+            if (job == null) {
+                log.warn("Checkpoint found for unknown batch job {}, skipping", checkpoint.getJobName());
+                continue;
+            }
+            log.info("Resuming batch job {} after id {}", job.getName(), checkpoint.getLastProcessedId());
+            launch(job, checkpoint);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Checkpoints stay RUNNING on purpose, so the jobs pick up where they left off next time
+        coordinators.shutdownNow();
+    }
+
+    public List<BatchJobProgressResponse> getAllProgress() {
+        return jobs.keySet().stream()
+                .map(this::getProgress)
+                .collect(Collectors.toList());
+    }
+
+    public BatchJobProgressResponse getProgress(String jobName) {
+        BatchJob job = getJob(jobName);
+        JobExecution execution = executions.get(jobName);
+        if (execution != null) {
+            return execution.toProgress();
+        }
+
+        BatchJobCheckpoint checkpoint = checkpointRepository.findById(jobName)
+                .orElseGet(() -> newCheckpoint(jobName));
+
+        return BatchJobProgressResponse.builder()
+                .jobName(job.getName())
+                .description(job.getDescription())
+                .status(checkpoint.getStatus())
+                .lastProcessedId(checkpoint.getLastProcessedId())
+                .processedCount(checkpoint.getProcessedCount())
+                .remainingEstimate(checkpoint.getStatus() == BatchJobStatus.COMPLETED
+                        ? 0L : job.countRemaining(cursorOf(checkpoint)))
+                .inFlightChunks(0)
+                .errorMessage(checkpoint.getErrorMessage())
+                .startedAt(checkpoint.getStartedAt())
+                .finishedAt(checkpoint.getFinishedAt())
+                .updatedAt(checkpoint.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Start a job, or resume it from its checkpoint if it was stopped or failed.
+     * A completed job, or restart = true, starts again from the first row.
+     */
+    public synchronized BatchJobProgressResponse start(String jobName, boolean restart) {
+        BatchJob job = getJob(jobName);
+        if (executions.containsKey(jobName)) {
+            throw new BusinessException("Batch job '" + jobName + "' is already running");
+        }
+
+        BatchJobCheckpoint checkpoint = checkpointRepository.findById(jobName)
+                .orElseGet(() -> newCheckpoint(jobName));
+
+        if (restart || checkpoint.getStatus() == BatchJobStatus.COMPLETED) {
+            checkpoint.setLastProcessedId(null);
+            checkpoint.setProcessedCount(0L);
+        }
+        checkpoint.setStatus(BatchJobStatus.RUNNING);
+        checkpoint.setErrorMessage(null);
+        checkpoint.setStartedAt(LocalDateTime.now());
+        checkpoint.setFinishedAt(null);
+
+        launch(job, checkpointRepository.save(checkpoint));
+        return getProgress(jobName);
+    }
+
+    /**
+     * Ask a running job to stop after its in-flight chunks; it can be resumed later.
+     */
+    public BatchJobProgressResponse stop(String jobName) {
+        getJob(jobName);
+        JobExecution execution = executions.get(jobName);
+        if (execution == null) {
+            throw new BusinessException("Batch job '" + jobName + "' is not running");
+        }
+        execution.stopRequested = true;
+        return execution.toProgress();
+    }
+
+    private BatchJob getJob(String jobName) {
+        BatchJob job = jobs.get(jobName);
+        if (job == null) {
+            throw new ResourceNotFoundException("Batch job", "name", jobName);
+        }
+        return job;
+    }
+
+    private void launch(BatchJob job, BatchJobCheckpoint checkpoint) {
+        JobExecution execution = new JobExecution(job, checkpoint);
+        executions.put(job.getName(), execution);
+        coordinators.execute(() -> run(execution));
+    }
+
+    private void run(JobExecution execution) {
+        BatchJob job = execution.job;
+        ExecutorService pool = Executors.newFixedThreadPool(workers, namedThreads("batch-" + job.getName()));
+        Semaphore slots = new Semaphore(workers * 2);
+        long cursor = cursorOf(execution.checkpoint);
+        long sequence = 0;
+
+        try {
+            while (!execution.stopRequested && execution.failure == null) {
+                List<Long> ids = job.readChunk(cursor, chunkSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                cursor = ids.get(ids.size() - 1);
+
+                slots.acquire();
+                long chunkSequence = sequence++;
+                execution.submitted(chunkSequence, cursor, ids.size());
+                pool.execute(() -> {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> job.processChunk(ids));
+                        execution.completed(chunkSequence);
+                    } catch (RuntimeException e) {
+                        execution.fail(e);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            // Application shutdown: leave the checkpoint RUNNING so the job is resumed on restart
+            pool.shutdownNow();
+            executions.remove(job.getName());
+            Thread.currentThread().interrupt();
+            return;
+        } catch (RuntimeException e) {
+            execution.fail(e);
+            pool.shutdownNow();
+        }
+
+        execution.finish();
+        executions.remove(job.getName());
+    }
+
+    private BatchJobCheckpoint newCheckpoint(String jobName) {
+        BatchJobCheckpoint checkpoint = new BatchJobCheckpoint();
+        checkpoint.setJobName(jobName);
+        checkpoint.setStatus(BatchJobStatus.IDLE);
+        checkpoint.setProcessedCount(0L);
+        return checkpoint;
+    }
+
+    private static long cursorOf(BatchJobCheckpoint checkpoint) {
+        return checkpoint.getLastProcessedId() != null ? checkpoint.getLastProcessedId() : 0L;
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * In-memory state of one run. Checkpoint fields are guarded by the execution's monitor.
+     */
+    private final class JobExecution {
+        private final BatchJob job;
+        private final long startedNanos = System.nanoTime();
+        private final AtomicLong processedThisRun = new AtomicLong();
+        // chunk sequence -> {last id, size}, in submission order
+        private final TreeMap<Long, long[]> pendingChunks = new TreeMap<>();
+        private final Set<Long> doneChunks = new HashSet<>();
+        private BatchJobCheckpoint checkpoint;
+        private volatile boolean stopRequested;
+        private volatile Throwable failure;
+
+        private JobExecution(BatchJob job, BatchJobCheckpoint checkpoint) {
+            this.job = job;
+            this.checkpoint = checkpoint;
+        }
+
+        synchronized void submitted(long sequence, long lastId, int size) {
+            pendingChunks.put(sequence, new long[]{lastId, size});
+        }
+
+        synchronized void completed(long sequence) {
+            doneChunks.add(sequence);
+            processedThisRun.addAndGet(pendingChunks.get(sequence)[1]);
+
+            boolean advanced = false;
+            while (!pendingChunks.isEmpty() && doneChunks.remove(pendingChunks.firstKey())) {
+                long[] chunk = pendingChunks.pollFirstEntry().getValue();
+                checkpoint.setLastProcessedId(chunk[0]);
+                checkpoint.setProcessedCount(checkpoint.getProcessedCount() + chunk[1]);
+                advanced = true;
+            }
+            if (advanced) {
+                checkpoint = checkpointRepository.save(checkpoint);
+            }
+        }
+
+        void fail(Throwable e) {
+            log.error("Batch job {} failed", job.getName(), e);
+            if (failure == null) {
+                failure = e;
+            }
+        }
+
+        synchronized void finish() {
+            BatchJobStatus status = failure != null ? BatchJobStatus.FAILED
+                    : stopRequested ? BatchJobStatus.STOPPED
+                    : BatchJobStatus.COMPLETED;
+            checkpoint.setStatus(status);
+            checkpoint.setFinishedAt(LocalDateTime.now());
+            if (failure != null) {
+                String message = String.valueOf(failure.getMessage());
+                checkpoint.setErrorMessage(message.length() > 1000 ? message.substring(0, 1000) : message);
+            }
+            checkpoint = checkpointRepository.save(checkpoint);
+            log.info("Batch job {} finished with status {} after {} rows",
+                    job.getName(), status, processedThisRun.get());
+        }
+
+        BatchJobProgressResponse toProgress() {
+            BatchJobProgressResponse progress = snapshot();
+            // counted outside the monitor so workers are never blocked behind a COUNT query
+            progress.setRemainingEstimate(job.countRemaining(
+                    progress.getLastProcessedId() != null ? progress.getLastProcessedId() : 0L));
+            return progress;
+        }
+
+        private synchronized BatchJobProgressResponse snapshot() {
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+            double throughput = elapsedMillis > 0 ? processedThisRun.get() * 1000.0 / elapsedMillis : 0.0;
+
+            return BatchJobProgressResponse.builder()
+                    .jobName(job.getName())
+                    .description(job.getDescription())
+                    .status(checkpoint.getStatus())
+                    .lastProcessedId(checkpoint.getLastProcessedId())
+                    .processedCount(checkpoint.getProcessedCount())
+                    .throughputPerSecond(Math.round(throughput * 10) / 10.0)
+                    .elapsedSeconds(elapsedMillis / 1000)
+                    .inFlightChunks(pendingChunks.size())
+                    .errorMessage(failure != null ? failure.getMessage() : null)
+                    .startedAt(checkpoint.getStartedAt())
+                    .finishedAt(checkpoint.getFinishedAt())
+                    .updatedAt(checkpoint.getUpdatedAt())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.startica.privateapp.bulkhead.annotation;
+
+import com.startica.privateapp.bulkhead.model.BulkheadType;
+
+import java.lang.annotation.*;
+
+/**
+ * Runs the annotated method (or every public method of the annotated bean) inside the given
+ * bulkhead compartment. A call made from inside another compartment stays in the outer one.
+ *
+ * Like @Transactional this only applies to calls through the Spring proxy.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Bulkhead {
+    BulkheadType value();
+}
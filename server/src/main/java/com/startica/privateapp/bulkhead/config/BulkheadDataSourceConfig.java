@@ -0,0 +1,59 @@
+package com.startica.privateapp.bulkhead.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Optional second connection pool for analytical work, enabled with
+ * bulkhead.analytical.datasource.enabled=true. Reports then cannot take a connection that a
+ * candidate save is waiting for. Point bulkhead.analytical.datasource.url at a read replica to
+ * move the load off the primary as well.
+ *
+ * Both pools get every spring.datasource.hikari.* setting; the analytical one only overrides the
+ * url and maximum-pool-size. Routing picks the pool when a transaction takes its connection, so it
+ * relies on spring.jpa.open-in-view=false (see application.properties).
+ */
+@Configuration
+@ConditionalOnProperty(name = "bulkhead.analytical.datasource.enabled", havingValue = "true")
+public class BulkheadDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariConfig bulkheadHikariConfig() {
+        return new HikariConfig();
+    }
+
+    @Bean
+    @Primary
+    public BulkheadRoutingDataSource dataSource(
+            DataSourceProperties properties,
+            HikariConfig bulkheadHikariConfig,
+            @Value("${bulkhead.analytical.datasource.url:}") String analyticalUrl,
+            @Value("${bulkhead.analytical.datasource.maximum-pool-size:3}") int analyticalPoolSize) {
+        HikariDataSource interactive = pool(properties, bulkheadHikariConfig, properties.determineUrl(),
+                "interactive", bulkheadHikariConfig.getMaximumPoolSize());
+        HikariDataSource analytical = pool(properties, bulkheadHikariConfig,
+                analyticalUrl.isBlank() ? properties.determineUrl() : analyticalUrl, "analytical", analyticalPoolSize);
+        return new BulkheadRoutingDataSource(interactive, analytical);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, HikariConfig hikari, String url,
+                                         String name, int size) {
+        HikariConfig config = new HikariConfig();
+        hikari.copyStateTo(config);
+        config.setJdbcUrl(url);
+        config.setUsername(properties.determineUsername());
+        config.setPassword(properties.determinePassword());
+        config.setDriverClassName(properties.determineDriverClassName());
+        config.setPoolName(name + "-pool");
+        config.setMaximumPoolSize(size);
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,37 @@
+package com.startica.privateapp.bulkhead.config;
+
+import com.startica.privateapp.bulkhead.model.BulkheadType;
+import com.startica.privateapp.bulkhead.service.BulkheadRegistry;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.io.Closeable;
+import java.util.Map;
+
+/**
+ * Hands out connections from the analytical pool while the thread is inside an ANALYTICAL
+ * bulkhead, and from the interactive pool otherwise.
+ */
+public class BulkheadRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final HikariDataSource interactive;
+    private final HikariDataSource analytical;
+
+    public BulkheadRoutingDataSource(HikariDataSource interactive, HikariDataSource analytical) {
+        this.interactive = interactive;
+        this.analytical = analytical;
+        setTargetDataSources(Map.of(BulkheadType.INTERACTIVE, interactive, BulkheadType.ANALYTICAL, analytical));
+        setDefaultTargetDataSource(interactive);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return BulkheadRegistry.current();
+    }
+
+    @Override
+    public void close() {
+        analytical.close();
+        interactive.close();
+    }
+}
@@ -0,0 +1,11 @@
+package com.startica.privateapp.bulkhead.model;
+
+/**
+ * Compartments that get their own concurrency limit (and, optionally, their own connection pool).
+ */
+public enum BulkheadType {
+    /** Short requests a user is waiting on: candidate views and edits. */
+    INTERACTIVE,
+    /** Reports and aggregates that scan large parts of the candidate table. */
+    ANALYTICAL
+}
@@ -0,0 +1,51 @@
+package com.startica.privateapp.bulkhead.service;
+
+import com.startica.privateapp.bulkhead.annotation.Bulkhead;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Applies {@link Bulkhead}. Ordered ahead of the transaction interceptor so the slot, and the
+ * compartment's DataSource routing, are in place before a connection is taken from the pool.
+ *
+ * One advice covers both placements; the annotation is looked up rather than bound, a method's
+ * own annotation winning over its class's.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class BulkheadAspect {
+
+    private final BulkheadRegistry bulkheadRegistry;
+
+    @Around("@annotation(com.startica.privateapp.bulkhead.annotation.Bulkhead) || "
+            + "@within(com.startica.privateapp.bulkhead.annotation.Bulkhead)")
+    public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+        Bulkhead bulkhead = bulkheadOf(joinPoint);
+        if (bulkhead == null) {
+            return joinPoint.proceed();
+        }
+        return bulkheadRegistry.execute(bulkhead.value(), joinPoint::proceed);
+    }
+
+    private static Bulkhead bulkheadOf(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Class<?> targetClass = joinPoint.getTarget() != null
+                ? AopUtils.getTargetClass(joinPoint.getTarget())
+                : method.getDeclaringClass();
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        Bulkhead bulkhead = AnnotationUtils.findAnnotation(specificMethod, Bulkhead.class);
+        return bulkhead != null ? bulkhead : AnnotationUtils.findAnnotation(targetClass, Bulkhead.class);
+    }
+}
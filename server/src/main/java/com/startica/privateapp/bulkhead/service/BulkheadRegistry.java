@@ -0,0 +1,121 @@
+package com.startica.privateapp.bulkhead.service;
+
+import com.startica.privateapp.bulkhead.model.BulkheadType;
+import com.startica.privateapp.common.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One semaphore per {@link BulkheadType}. A call waits up to the compartment's max-wait for a
+ * slot and is rejected with a ServiceBusyException (503) after that, so a burst of reports
+ * fails fast instead of taking every pooled connection away from candidate edits.
+ *
+ * Metrics (tag "type"): bulkhead.active, bulkhead.waiting (queue depth) and bulkhead.rejected.
+ */
+@Service
+@Slf4j
+public class BulkheadRegistry {
+
+    private static final ThreadLocal<BulkheadType> CURRENT = new ThreadLocal<>();
+
+    private final Map<BulkheadType, Compartment> compartments = new EnumMap<>(BulkheadType.class);
+
+    public BulkheadRegistry(MeterRegistry meterRegistry,
+                            @Value("${bulkhead.interactive.max-concurrent:40}") int interactiveMaxConcurrent,
+                            @Value("${bulkhead.interactive.max-wait-ms:1000}") long interactiveMaxWaitMillis,
+                            @Value("${bulkhead.analytical.max-concurrent:3}") int analyticalMaxConcurrent,
+                            @Value("${bulkhead.analytical.max-wait-ms:2000}") long analyticalMaxWaitMillis) {
+        compartments.put(BulkheadType.INTERACTIVE,
+                new Compartment(BulkheadType.INTERACTIVE, interactiveMaxConcurrent, interactiveMaxWaitMillis, meterRegistry));
+        compartments.put(BulkheadType.ANALYTICAL,
+                new Compartment(BulkheadType.ANALYTICAL, analyticalMaxConcurrent, analyticalMaxWaitMillis, meterRegistry));
+    }
+
+    /**
+     * The compartment the current thread is running in, or null outside any bulkhead.
+     */
+    public static BulkheadType current() {
+        return CURRENT.get();
+    }
+
+    public <T> T execute(BulkheadType type, BulkheadCall<T> call) throws Throwable {
+        if (CURRENT.get() != null) {
+            return call.proceed();
+        }
+
+        Compartment compartment = compartments.get(type);
+        compartment.acquire();
+        CURRENT.set(type);
+        try {
+            return call.proceed();
+        } finally {
+            CURRENT.remove();
+            compartment.semaphore.release();
+        }
+    }
+
+    @FunctionalInterface
+    public interface BulkheadCall<T> {
+        T proceed() throws Throwable;
+    }
+
+    private static final class Compartment {
+        private final BulkheadType type;
+        private final int maxConcurrent;
+        private final long maxWaitMillis;
+        private final Semaphore semaphore;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final Counter rejected;
+
+        private Compartment(BulkheadType type, int maxConcurrent, long maxWaitMillis, MeterRegistry meterRegistry) {
+            this.type = type;
+            this.maxConcurrent = maxConcurrent;
+            this.maxWaitMillis = maxWaitMillis;
+            this.semaphore = new Semaphore(maxConcurrent, true);
+
+            String tag = type.name().toLowerCase();
+            Gauge.builder("bulkhead.active", this, c -> c.maxConcurrent - c.semaphore.availablePermits())
+                    .tag("type", tag)
+                    .description("Calls currently holding a bulkhead slot")
+                    .register(meterRegistry);
+            Gauge.builder("bulkhead.waiting", waiting, AtomicInteger::get)
+                    .tag("type", tag)
+                    .description("Calls queued for a bulkhead slot")
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("bulkhead.rejected")
+                    .tag("type", tag)
+                    .description("Calls rejected because no slot freed up in time")
+                    .register(meterRegistry);
+        }
+
+        void acquire() {
+            waiting.incrementAndGet();
+            boolean acquired;
+            try {
+                acquired = semaphore.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a bulkhead slot", e);
+            } finally {
+                waiting.decrementAndGet();
+            }
+            if (!acquired) {
+                rejected.increment();
+                log.warn("{} bulkhead full ({} slots), rejecting call", type, maxConcurrent);
+                throw new ServiceBusyException(type == BulkheadType.ANALYTICAL
+                        ? "Too many reports are running, please retry shortly"
+                        : "The server is busy, please retry", type == BulkheadType.ANALYTICAL ? 5 : 1);
+            }
+        }
+    }
+}
@@ -111,9 +111,11 @@ public class HRController {
     }
 
     @DeleteMapping("/candidates/{id}")
-    public ResponseEntity<ApiResponse<Void>> deleteCandidate(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<Void>> deleteCandidate(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean async) {
         User currentUser = authService.getCurrentUser();
-        candidateService.deleteCandidate(id, currentUser);
+        candidateService.deleteCandidate(id, async, currentUser);
         return ResponseEntity.ok(ApiResponse.success("Candidate deleted successfully", null));
     }
 
@@ -136,6 +138,13 @@ public class HRController {
         return ResponseEntity.ok(ApiResponse.success("Candidate statuses updated successfully", null));
     }
 
+    @PostMapping("/candidates/bulk-delete")
+    public ResponseEntity<ApiResponse<Integer>> bulkDelete(@Valid @RequestBody BulkDeleteRequest request) {
+        User currentUser = authService.getCurrentUser();
+        int deleted = candidateService.deleteCandidates(request, currentUser);
+        return ResponseEntity.ok(ApiResponse.success("Candidates deleted successfully", deleted));
+    }
+
     // HR Dashboard
 
     @GetMapping("/metrics")
@@ -0,0 +1,20 @@
+package com.startica.privateapp.candidate.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteRequest {
+
+    @NotEmpty(message = "Candidate IDs list cannot be empty")
+    private List<Long> candidateIds;
+
+    // Soft-delete now and let the background purger remove the rows
+    private boolean async;
+}
@@ -0,0 +1,25 @@
+package com.startica.privateapp.candidate.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a candidate is created, edited, changes status or is deleted.
+ * Listeners that do follow-up work should use @TransactionalEventListener so they only
+ * see committed changes.
+ */
+@Getter
+@AllArgsConstructor
+public class CandidateChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        // Only the status changed; contact details and other fields are untouched
+        STATUS_CHANGED,
+        DELETED
+    }
+
+    private final Long candidateId;
+    private final ChangeType changeType;
+}
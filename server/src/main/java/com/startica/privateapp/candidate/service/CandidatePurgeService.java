@@ -0,0 +1,122 @@
+package com.startica.privateapp.candidate.service;
+
+import com.startica.privateapp.opening.repository.CandidateOpeningRepository;
+import com.startica.privateapp.opening.service.OpeningPipelineService;
+import com.startica.privateapp.repository.CandidateDetailsRepository;
+import com.startica.privateapp.repository.CandidateRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Physically removes soft-deleted candidates in small chunks, one short transaction each,
+ * so large clean-ups never hold row locks on candidates or candidate_openings for long.
+ */
+@Service
+@Slf4j
+public class CandidatePurgeService {
+
+    private final CandidateRepository candidateRepository;
+    private final CandidateOpeningRepository candidateOpeningRepository;
+    private final CandidateDetailsRepository candidateDetailsRepository;
+    private final OpeningPipelineService openingPipelineService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService purger = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "candidate-purger");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean purgeScheduled = new AtomicBoolean();
+
+    @Value("${candidate.purge.chunk-size:200}")
+    private int chunkSize;
+
+    public CandidatePurgeService(CandidateRepository candidateRepository,
+                                 CandidateOpeningRepository candidateOpeningRepository,
+                                 CandidateDetailsRepository candidateDetailsRepository,
+                                 OpeningPipelineService openingPipelineService,
+                                 PlatformTransactionManager transactionManager) {
+        this.candidateRepository = candidateRepository;
+        this.candidateOpeningRepository = candidateOpeningRepository;
+        this.candidateDetailsRepository = candidateDetailsRepository;
+        this.openingPipelineService = openingPipelineService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void purgeLeftovers() {
+        requestPurge();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        purger.shutdownNow();
+    }
+
+    /**
+     * Schedule a purge once the current transaction commits (immediately if there is none).
+     */
+    public void requestPurgeAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    requestPurge();
+                }
+            });
+        } else {
+            requestPurge();
+        }
+    }
+
+    public void requestPurge() {
+        // Requests arriving while a purge is queued are folded into it
+        if (purgeScheduled.compareAndSet(false, true)) {
+            purger.execute(this::purge);
+        }
+    }
+
+    private void purge() {
+        // Cleared before draining, so rows soft-deleted during this run trigger one more pass
+        purgeScheduled.set(false);
+        long purged = 0;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Integer count = transactionTemplate.execute(status -> purgeChunk());
+                if (count == null || count == 0) {
+                    break;
+                }
+                purged += count;
+            }
+        } catch (RuntimeException e) {
+            log.error("Candidate purge stopped after {} rows", purged, e);
+            return;
+        }
+        if (purged > 0) {
+            log.info("Purged {} soft-deleted candidates", purged);
+        }
+    }
+
+    private int purgeChunk() {
+        List<Long> ids = candidateRepository.findSoftDeletedIds(chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        candidateOpeningRepository.deleteByCandidateIds(ids);
+        candidateDetailsRepository.deleteByCandidateIds(ids);
+        openingPipelineService.invalidateAll();
+        return candidateRepository.purgeSoftDeleted(ids);
+    }
+}
@@ -4,46 +4,68 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 
 
+import com.startica.privateapp.analytics.dto.TimeSeriesPoint;
+import com.startica.privateapp.analytics.dto.TimeSeriesQuery;
+import com.startica.privateapp.analytics.model.TimeGranularity;
+import com.startica.privateapp.analytics.service.CandidateDailyStatsService;
+import com.startica.privateapp.analytics.service.TimeSeriesService;
 import com.startica.privateapp.audit.service.AuditService;
+import com.startica.privateapp.batch.service.BatchJobService;
+import com.startica.privateapp.bulkhead.annotation.Bulkhead;
+import com.startica.privateapp.bulkhead.model.BulkheadType;
 import com.startica.privateapp.candidate.dto.*;
+import com.startica.privateapp.candidate.event.CandidateChangedEvent;
+import com.startica.privateapp.candidate.event.CandidateChangedEvent.ChangeType;
 import com.startica.privateapp.common.exception.BusinessException;
 import com.startica.privateapp.common.exception.DuplicateResourceException;
 import com.startica.privateapp.common.exception.ResourceNotFoundException;
 import com.startica.privateapp.model.Candidate;
 import com.startica.privateapp.model.Candidate.CandidateStatus;
+import com.startica.privateapp.model.CandidateDetails;
 import com.startica.privateapp.model.Role;
 import com.startica.privateapp.model.User;
 import com.startica.privateapp.opening.repository.CandidateOpeningRepository;
+import com.startica.privateapp.opening.service.OpeningPipelineService;
+import com.startica.privateapp.repository.CandidateDetailsRepository;
 import com.startica.privateapp.repository.CandidateRepository;
 import com.startica.privateapp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Bulkhead(BulkheadType.INTERACTIVE)
 public class CandidateService {
 
     private final CandidateRepository candidateRepository;
+    private final CandidateDetailsRepository candidateDetailsRepository;
     private final UserRepository userRepository;
     private final AuditService auditService;
     private final CandidateOpeningRepository candidateOpeningRepository;
+    private final BatchJobService batchJobService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CandidatePurgeService candidatePurgeService;
+    private final CandidateDailyStatsService candidateDailyStatsService;
+    private final TimeSeriesService timeSeriesService;
+    private final OpeningPipelineService openingPipelineService;
+
+    @Value("${candidate.bulk-delete.max-ids:1000}")
+    private int maxBulkDeleteSize;
 
     @Transactional
     public CandidateResponse createCandidate(CreateCandidateRequest request, User currentUser) {
-        // Validate duplicate email and phone
-        if (candidateRepository.existsByEmail(request.getEmail())) {
-            throw new DuplicateResourceException("Candidate", "email", request.getEmail());
-        }
-        if (candidateRepository.existsByPhone(request.getPhone())) {
-            throw new DuplicateResourceException("Candidate", "phone", request.getPhone());
-        }
-
-        // Create candidate
+        // Create candidate (duplicate email/phone is rejected by the unique indexes on insert)
         Candidate candidate = new Candidate();
         candidate.setFirstName(request.getFirstName());
         candidate.setLastName(request.getLastName());
@@ -60,32 +82,38 @@ public class CandidateService {
         candidate.setGap(request.getGap());
         candidate.setSkills(request.getSkills());
         candidate.setResumeUrl(request.getResumeUrl());
-        candidate.setPercentage(candidate.getPercentage());
-        candidate.setNotes(request.getNotes());
-        candidate.setEmploymentHistory(request.getEmploymentHistory());
-        candidate.setEducation(request.getEducation());
+        candidate.updatePercentageFromEducation(request.getEducation());
         candidate.setExperienceLevel(request.getExperienceLevel());
         candidate.setNoticePeriod(request.getNoticePeriod());
         candidate.setStatus(request.getStatus() != null ? request.getStatus() : CandidateStatus.PENDING);
         candidate.setSourceHrId(currentUser.getId());
 
-        Candidate savedCandidate = candidateRepository.save(candidate);
+        Candidate savedCandidate = saveCheckingDuplicates(candidate);
+        candidateDailyStatsService.recordCreated(savedCandidate);
+
+        CandidateDetails details = new CandidateDetails(savedCandidate);
+        details.setNotes(request.getNotes());
+        details.setEmploymentHistory(request.getEmploymentHistory());
+        details.setEducation(request.getEducation());
+        details = candidateDetailsRepository.save(details);
 
         // Log audit
         auditService.logCandidateCreation(savedCandidate, currentUser);
+        eventPublisher.publishEvent(new CandidateChangedEvent(savedCandidate.getId(), ChangeType.CREATED));
 
-        return mapToResponse(savedCandidate, currentUser.getFullName());
+        return mapToResponse(savedCandidate, currentUser.getFullName(), details);
     }
 
     @Transactional
     public CandidateResponse updateCandidate(Long id, UpdateCandidateRequest request, User currentUser) {
-        Candidate candidate = candidateRepository.findById(id)
+        Candidate candidate = candidateRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Candidate", "id", id));
 
         // Check authorization (HR can only update their own candidates, Admin can update all)
         if (currentUser.getRole() == Role.HR && !candidate.getSourceHrId().equals(currentUser.getId())) {
             throw new BusinessException("You can only update candidates you created");
         }
+        CandidateStatus previousStatus = candidate.getStatus();
 
         // Update fields and log changes
         if (request.getFirstName() != null && !request.getFirstName().equals(candidate.getFirstName())) {
@@ -97,16 +125,10 @@ public class CandidateService {
             candidate.setLastName(request.getLastName());
         }
         if (request.getEmail() != null && !request.getEmail().equals(candidate.getEmail())) {
-            if (candidateRepository.existsByEmail(request.getEmail())) {
-                throw new DuplicateResourceException("Candidate", "email", request.getEmail());
-            }
             auditService.logCandidateUpdate(id, "email", candidate.getEmail(), request.getEmail(), currentUser);
             candidate.setEmail(request.getEmail());
         }
         if (request.getPhone() != null && !request.getPhone().equals(candidate.getPhone())) {
-            if (candidateRepository.existsByPhone(request.getPhone())) {
-                throw new DuplicateResourceException("Candidate", "phone", request.getPhone());
-            }
             auditService.logCandidateUpdate(id, "phone", candidate.getPhone(), request.getPhone(), currentUser);
             candidate.setPhone(request.getPhone());
         }
@@ -146,14 +168,17 @@ public class CandidateService {
         if (request.getStatus() != null) {
             candidate.setStatus(request.getStatus());
         }
+        CandidateDetails details = candidateDetailsRepository.findById(id)
+                .orElseGet(() -> new CandidateDetails(candidate));
         if (request.getNotes() != null) {
-            candidate.setNotes(request.getNotes());
+            details.setNotes(request.getNotes());
         }
         if (request.getEmploymentHistory() != null) {
-            candidate.setEmploymentHistory(request.getEmploymentHistory());
+            details.setEmploymentHistory(request.getEmploymentHistory());
         }
         if (request.getEducation() != null) {
-            candidate.setEducation(request.getEducation());
+            details.setEducation(request.getEducation());
+            candidate.updatePercentageFromEducation(request.getEducation());
         }
         if (request.getExperienceLevel() != null) {
             candidate.setExperienceLevel(request.getExperienceLevel());
@@ -162,14 +187,21 @@ public class CandidateService {
             candidate.setNoticePeriod(request.getNoticePeriod());
         }
 
-        Candidate updatedCandidate = candidateRepository.save(candidate);
+        Candidate updatedCandidate = saveCheckingDuplicates(candidate);
+        candidateDailyStatsService.recordStatusChange(updatedCandidate, previousStatus);
+        if (updatedCandidate.getStatus() != previousStatus) {
+            auditService.logStatusChange(id, previousStatus != null ? previousStatus.name() : null,
+                    updatedCandidate.getStatus().name(), null, currentUser);
+        }
+        details = candidateDetailsRepository.save(details);
+        eventPublisher.publishEvent(new CandidateChangedEvent(updatedCandidate.getId(), ChangeType.UPDATED));
         String hrName = getUserFullName(candidate.getSourceHrId());
-        return mapToResponse(updatedCandidate, hrName);
+        return mapToResponse(updatedCandidate, hrName, details);
     }
 
     @Transactional
     public void updateCandidateStatus(Long id, UpdateStatusRequest request, User currentUser) {
-        Candidate candidate = candidateRepository.findById(id)
+        Candidate candidate = candidateRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Candidate", "id", id));
 
         // Check authorization
@@ -184,12 +216,14 @@ public class CandidateService {
             throw new BusinessException("Comment is required for NOT_INTERESTED and TELL_LATER statuses");
         }
 
-        String oldStatus = candidate.getStatus().name();
+        CandidateStatus previousStatus = candidate.getStatus();
         candidate.setStatus(request.getStatus());
         candidateRepository.save(candidate);
+        candidateDailyStatsService.recordStatusChange(candidate, previousStatus);
+        eventPublisher.publishEvent(new CandidateChangedEvent(id, ChangeType.STATUS_CHANGED));
 
         // Log status change
-        auditService.logStatusChange(id, oldStatus, request.getStatus().name(), request.getComment(), currentUser);
+        auditService.logStatusChange(id, previousStatus.name(), request.getStatus().name(), request.getComment(), currentUser);
     }
 
     @Transactional
@@ -210,12 +244,12 @@ public class CandidateService {
         auditService.logCandidateUpdate(id, "adminRemark", oldRemark, adminRemark, currentUser);
 
         String hrName = getUserFullName(candidate.getSourceHrId());
-        return mapToResponse(updatedCandidate, hrName);
+        return mapToResponse(updatedCandidate, hrName, null);
     }
 
     @Transactional
     public void bulkUpdateStatus(BulkStatusUpdateRequest request, User currentUser) {
-        List<Candidate> candidates = candidateRepository.findAllById(request.getCandidateIds());
+        List<Candidate> candidates = candidateRepository.findAllByIdForUpdate(request.getCandidateIds());
 
         if (candidates.size() != request.getCandidateIds().size()) {
             throw new BusinessException("Some candidate IDs are invalid");
@@ -227,34 +261,71 @@ public class CandidateService {
                 throw new BusinessException("You can only update status of candidates you created");
             }
 
-            String oldStatus = candidate.getStatus().name();
+            CandidateStatus previousStatus = candidate.getStatus();
             candidate.setStatus(request.getStatus());
             candidateRepository.save(candidate);
+            candidateDailyStatsService.recordStatusChange(candidate, previousStatus);
+            eventPublisher.publishEvent(new CandidateChangedEvent(candidate.getId(), ChangeType.STATUS_CHANGED));
 
             // Log status change
-            auditService.logStatusChange(candidate.getId(), oldStatus, request.getStatus().name(),
+            auditService.logStatusChange(candidate.getId(), previousStatus.name(), request.getStatus().name(),
                     request.getComment(), currentUser);
         }
     }
 
     @Transactional
-    public void deleteCandidate(Long id, User currentUser) {
+    public void deleteCandidate(Long id, boolean async, User currentUser) {
         Candidate candidate = candidateRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Candidate", "id", id));
 
-        // Check authorization (HR can only delete their own candidates, Admin can delete all)
-        if (currentUser.getRole() == Role.HR && !candidate.getSourceHrId().equals(currentUser.getId())) {
-            throw new BusinessException("You can only delete candidates you created");
+        removeCandidates(List.of(candidate), async, currentUser);
+    }
+
+    /**
+     * Delete several candidates with a constant number of statements. With async = true the rows are
+     * only soft-deleted here and CandidatePurgeService removes them in chunks afterwards.
+     */
+    @Transactional
+    public int deleteCandidates(BulkDeleteRequest request, User currentUser) {
+        List<Long> ids = request.getCandidateIds().stream().distinct().collect(Collectors.toList());
+        if (ids.size() > maxBulkDeleteSize) {
+            throw new BusinessException("Cannot delete more than " + maxBulkDeleteSize + " candidates at once");
         }
 
-        // Log deletion before deleting
-        auditService.logCandidateDeletion(candidate, currentUser);
+        List<Candidate> candidates = candidateRepository.findAllById(ids);
+        if (candidates.size() != ids.size()) {
+            throw new BusinessException("Some candidate IDs are invalid");
+        }
 
-        // Delete all candidate openings first to avoid foreign key constraint violation
-        candidateOpeningRepository.findByCandidateId(id).forEach(candidateOpeningRepository::delete);
+        removeCandidates(candidates, request.isAsync(), currentUser);
+        return candidates.size();
+    }
+
+    private void removeCandidates(List<Candidate> candidates, boolean async, User currentUser) {
+        // Check authorization (HR can only delete their own candidates, Admin can delete all)
+        for (Candidate candidate : candidates) {
+            if (currentUser.getRole() == Role.HR && !candidate.getSourceHrId().equals(currentUser.getId())) {
+                throw new BusinessException("You can only delete candidates you created");
+            }
+        }
 
-        // Now delete the candidate
-        candidateRepository.delete(candidate);
+        // Log deletion before deleting
+        candidates.forEach(candidate -> auditService.logCandidateDeletion(candidate, currentUser));
+
+        candidateDailyStatsService.recordRemoved(candidates);
+
+        List<Long> ids = candidates.stream().map(Candidate::getId).collect(Collectors.toList());
+        if (async) {
+            candidateRepository.softDeleteByIds(ids, LocalDateTime.now());
+            candidatePurgeService.requestPurgeAfterCommit();
+        } else {
+            // Dependent rows first to avoid foreign key violations, one statement each
+            candidateOpeningRepository.deleteByCandidateIds(ids);
+            candidateDetailsRepository.deleteByCandidateIds(ids);
+            candidateRepository.deleteAllByIdInBatch(ids);
+        }
+        openingPipelineService.invalidateAll();
+        ids.forEach(id -> eventPublisher.publishEvent(new CandidateChangedEvent(id, ChangeType.DELETED)));
     }
 
     public Page<CandidateResponse> getCandidates(String search, CandidateStatus status,
@@ -263,7 +334,14 @@ public class CandidateService {
         Long hrFilter = currentUser.getRole() == Role.HR ? currentUser.getId() : sourceHrId;
 
         Page<Candidate> candidates = candidateRepository.searchCandidates(search, status, hrFilter, pageable);
-        return candidates.map(c -> mapToResponse(c, getUserFullName(c.getSourceHrId())));
+        // HR names for the whole page in one query
+        Map<Long, String> hrNames = userRepository.findAllById(candidates.stream()
+                        .map(Candidate::getSourceHrId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(User::getId, user -> Objects.requireNonNullElse(user.getFullName(), "Unknown")));
+        // List rows leave out the candidate_details fields; they are served by getCandidateById
+        return candidates.map(c -> mapToResponse(c, hrNames.getOrDefault(c.getSourceHrId(), "Unknown"), null));
     }
 
     public CandidateResponse getCandidateById(Long id, User currentUser) {
@@ -276,43 +354,57 @@ public class CandidateService {
         }
 
         String hrName = getUserFullName(candidate.getSourceHrId());
-        return mapToResponse(candidate, hrName);
+        return mapToResponse(candidate, hrName, candidateDetailsRepository.findById(id).orElse(null));
     }
+    /**
+     * Candidates created in each week of the current month: W1 is days 1-7, W5 days 29 onwards.
+     */
     public Map<String, Integer> getWeeklyChart() {
-        List<Object[]> data = candidateRepository.getMonthlyStatistics();
-        Map<String, Integer> map = new LinkedHashMap<>();
-
-        LocalDate now = LocalDate.now();
-        int currentMonth = now.getMonthValue();
-        int currentYear = now.getYear();
-
-        for (Object[] row : data) {
-            int year = ((Number) row[0]).intValue();
-            int month = ((Number) row[1]).intValue();
-            int week = ((Number) row[2]).intValue();
-            int count = ((Number) row[3]).intValue();
-
-            if (year == currentYear && month == currentMonth) {
-                map.put("W" + week, count);
-            }
-        }
+        LocalDate today = LocalDate.now(timeSeriesService.defaultZone());
+        List<TimeSeriesPoint> days = timeSeriesService.candidatesCreated(TimeSeriesQuery.builder()
+                .granularity(TimeGranularity.DAY)
+                .from(today.withDayOfMonth(1))
+                .to(today.withDayOfMonth(today.lengthOfMonth()))
+                .build());
 
-        // Always return W1–W5
+        Map<String, Integer> map = new LinkedHashMap<>();
         for (int i = 1; i <= 5; i++) {
-            map.putIfAbsent("W" + i, 0);
+            map.put("W" + i, 0);
+        }
+        for (TimeSeriesPoint day : days) {
+            int week = (day.getStart().getDayOfMonth() - 1) / 7 + 1;
+            map.merge("W" + week, day.getCount().intValue(), Integer::sum);
         }
-
         return map;
     }
 
 
+    /**
+     * Flushes the insert/update right away so a unique-index violation surfaces here
+     * and can be reported with the offending field.
+     */
+    private Candidate saveCheckingDuplicates(Candidate candidate) {
+        try {
+            return candidateRepository.saveAndFlush(candidate);
+        } catch (DataIntegrityViolationException e) {
+            String detail = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase();
+            if (detail.contains(Candidate.UK_EMAIL_NORMALIZED)) {
+                throw new DuplicateResourceException("Candidate", "email", candidate.getEmail());
+            }
+            if (detail.contains(Candidate.UK_PHONE_NORMALIZED)) {
+                throw new DuplicateResourceException("Candidate", "phone", candidate.getPhone());
+            }
+            throw e;
+        }
+    }
+
     private String getUserFullName(Long userId) {
         return userRepository.findById(userId)
                 .map(User::getFullName)
                 .orElse("Unknown");
     }
 
-    private CandidateResponse mapToResponse(Candidate candidate, String hrName) {
+    private CandidateResponse mapToResponse(Candidate candidate, String hrName, CandidateDetails details) {
         return CandidateResponse.builder()
                 .id(candidate.getId())
                 .firstName(candidate.getFirstName())
@@ -333,24 +425,23 @@ public class CandidateService {
                 .status(candidate.getStatus())
                 .sourceHrId(candidate.getSourceHrId())
                 .sourceHrName(hrName)
-                .notes(candidate.getNotes())
+                .notes(details != null ? details.getNotes() : null)
                 .hrRemark(candidate.getHrRemark())
                 .adminRemark(candidate.getAdminRemark())
-                .employmentHistory(candidate.getEmploymentHistory())
-                .education(candidate.getEducation())
+                .employmentHistory(details != null ? details.getEmploymentHistory() : null)
+                .education(details != null ? details.getEducation() : null)
                 .experienceLevel(candidate.getExperienceLevel())
                 .noticePeriod(candidate.getNoticePeriod())
                 .createdAt(candidate.getCreatedAt())
                 .updatedAt(candidate.getUpdatedAt())
                 .build();
     }
-    @Transactional
+    /**
+     * Starts the chunked percentage backfill in the background; progress is reported
+     * through /api/admin/batch-jobs.
+     */
     public void populatePercentagesForAllCandidates() {
-        List<Candidate> candidates = candidateRepository.findAll();
-        for (Candidate candidate : candidates) {
-            candidate.updatePercentageFromEducation(); // extract from education JSON
-        }
-        candidateRepository.saveAll(candidates);
+        batchJobService.start(PercentageBackfillJob.NAME, true);
     }
 
 }
@@ -0,0 +1,50 @@
+package com.startica.privateapp.candidate.service;
+
+import com.startica.privateapp.batch.service.BatchJob;
+import com.startica.privateapp.repository.CandidateDetailsRepository;
+import com.startica.privateapp.repository.CandidateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Re-derives Candidate.percentage from the education JSON, chunk by chunk.
+ */
+@Component
+@RequiredArgsConstructor
+public class PercentageBackfillJob implements BatchJob {
+
+    public static final String NAME = "candidate-percentage-backfill";
+
+    private final CandidateRepository candidateRepository;
+    private final CandidateDetailsRepository candidateDetailsRepository;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Populate candidate percentage from education JSON";
+    }
+
+    @Override
+    public List<Long> readChunk(Long afterId, int limit) {
+        return candidateRepository.findIdsAfter(afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public void processChunk(List<Long> ids) {
+        // Runs inside the chunk transaction: only rows whose percentage changed are flushed
+        candidateDetailsRepository.findWithCandidateByCandidateIds(ids)
+                .forEach(details -> details.getCandidate().updatePercentageFromEducation(details.getEducation()));
+    }
+
+    @Override
+    public long countRemaining(Long afterId) {
+        return candidateRepository.countByIdGreaterThan(afterId);
+    }
+}
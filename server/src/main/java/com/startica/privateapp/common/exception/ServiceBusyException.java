@@ -0,0 +1,17 @@
+package com.startica.privateapp.common.exception;
+
+/**
+ * A bounded resource is saturated; the client should retry after a short pause.
+ */
+public class ServiceBusyException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
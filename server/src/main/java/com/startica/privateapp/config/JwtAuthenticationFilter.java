@@ -1,7 +1,11 @@
 package com.startica.privateapp.config;
 
-import com.startica.privateapp.service.CustomUserDetailsService;
+import com.startica.privateapp.auth.model.AuthenticatedUser;
+import com.startica.privateapp.auth.service.TokenRevocationList;
+import com.startica.privateapp.auth.service.UserSnapshotCache;
+import com.startica.privateapp.model.User;
 import com.startica.privateapp.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,7 +13,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -23,7 +26,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtUtil jwtUtil;
 
     @Autowired
-    private CustomUserDetailsService userDetailsService;
+    private UserSnapshotCache userSnapshotCache;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -34,17 +40,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
                 String token = authHeader.substring(7);
-                String username = jwtUtil.extractUsername(token);
+                // Signature and expiry are checked here, once per request
+                Claims claims = jwtUtil.verify(token);
+                request.setAttribute(JwtUtil.CLAIMS_ATTRIBUTE, claims);
+                Long userId = claims.get("userId", Long.class);
                 
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null
+                        && !tokenRevocationList.isRevoked(userId, claims.getIssuedAt())) {
+                    // Role and active flag come from the cached account, so changes apply immediately
+                    User user = userSnapshotCache.find(userId)
+                            .filter(User::getActive)
+                            .filter(u -> u.getUsername().equals(claims.getSubject()))
+                            .orElse(null);
                     
-                    if (jwtUtil.validateToken(token, userDetails)) {
+                    if (user != null) {
+                        AuthenticatedUser principal = AuthenticatedUser.of(user);
                         UsernamePasswordAuthenticationToken authToken = 
                             new UsernamePasswordAuthenticationToken(
-                                userDetails, 
+                                principal, 
                                 null, 
-                                userDetails.getAuthorities()
+                                principal.getAuthorities()
                             );
                         
                         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -0,0 +1,114 @@
+package com.startica.privateapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.startica.privateapp.common.response.ApiResponse;
+import com.startica.privateapp.ratelimit.service.RateLimiter;
+import com.startica.privateapp.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Throttles the endpoints that hold a DB connection for seconds: reports, CSV exports, advanced
+ * search and the /api/search endpoints. Runs right after {@link JwtAuthenticationFilter} so callers are keyed by
+ * the user id in the verified token, or by IP for anonymous calls. Other routes are not limited,
+ * and neither is the /api/search/global typeahead, which fires on every keystroke.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limit.cost.export:10}")
+    private long exportCost;
+
+    @Value("${rate-limit.cost.report:2}")
+    private long reportCost;
+
+    @Value("${rate-limit.cost.search:1}")
+    private long searchCost;
+
+    @Value("${rate-limit.cost.candidate-search:2}")
+    private long candidateSearchCost;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || costOf(request) == 0;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long waitMillis = rateLimiter.tryConsume(callerKey(request), costOf(request));
+        if (waitMillis == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, (waitMillis + 999) / 1000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error("Too many requests, please retry in " + retryAfterSeconds + " seconds"));
+    }
+
+    // First match wins, so the specific rules have to stay ahead of the general report rule
+    private long costOf(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (PATHS.match("/api/admin/reports/jobs/**", path)) {
+            // Polling and downloads are cheap; submitting a job costs as much as an export
+            return "POST".equals(request.getMethod()) ? exportCost : 0;
+        }
+        if (PATHS.match("/api/admin/reports/*/export", path)) {
+            return exportCost;
+        }
+        if (PATHS.match("/api/admin/reports/**", path) || PATHS.match("/api/admin/stats/pivot", path)) {
+            return reportCost;
+        }
+        if (PATHS.match("/api/search/global", path)) {
+            // Typeahead: a budget sized for reports would turn normal typing into 429s
+            return 0;
+        }
+        if (PATHS.match("/api/search/candidates", path)) {
+            // Every filter of the full candidate search is a leading-wildcard LIKE over candidates
+            return candidateSearchCost;
+        }
+        if (PATHS.match("/api/*/advanced-search", path) || PATHS.match("/api/search/**", path)) {
+            return searchCost;
+        }
+        return 0;
+    }
+
+    private String callerKey(HttpServletRequest request) {
+        if (request.getAttribute(JwtUtil.CLAIMS_ATTRIBUTE) instanceof Claims claims) {
+            Long userId = claims.get("userId", Long.class);
+            if (userId != null) {
+                return "user:" + userId;
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
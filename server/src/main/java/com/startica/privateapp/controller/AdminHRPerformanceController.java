@@ -1,5 +1,6 @@
 package com.startica.privateapp.controller;
 
+import com.startica.privateapp.auth.service.AuthService;
 import com.startica.privateapp.common.response.ApiResponse;
 import com.startica.privateapp.dto.*;
 import com.startica.privateapp.model.Candidate;
@@ -34,6 +35,7 @@ import java.util.List;
 public class AdminHRPerformanceController {
 
     private final HRPerformanceService hrPerformanceService;
+    private final AuthService authService;
 
     /**
      * Get HR Performance Overview
@@ -97,7 +99,8 @@ public class AdminHRPerformanceController {
             @RequestBody UpdateStatusRequest request) {
         
         log.info("Admin updating status for candidate ID: {} to {}", candidateId, request.getStatus());
-        HRCandidateDTO updated = hrPerformanceService.updateCandidateStatus(candidateId, request.getStatus());
+        HRCandidateDTO updated = hrPerformanceService.updateCandidateStatus(
+                candidateId, request.getStatus(), authService.getCurrentUser());
         return ResponseEntity.ok(ApiResponse.success("Candidate status updated successfully", updated));
     }
 }
@@ -1,11 +1,11 @@
 package com.startica.privateapp.controller;
 
+import com.startica.privateapp.auth.service.AuthService;
 import com.startica.privateapp.common.response.ApiResponse;
 import com.startica.privateapp.dto.*;
 import com.startica.privateapp.model.Candidate;
 import com.startica.privateapp.model.User;
 import com.startica.privateapp.service.HRPerformanceService;
-import com.startica.privateapp.service.CustomUserDetailsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -14,7 +14,6 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -34,7 +33,7 @@ import org.springframework.web.bind.annotation.*;
 public class HRCandidatesController {
 
     private final HRPerformanceService hrPerformanceService;
-    private final CustomUserDetailsService userDetailsService;
+    private final AuthService authService;
 
     /**
      * Get my candidates (only candidates created by logged-in HR)
@@ -42,7 +41,6 @@ public class HRCandidatesController {
      */
     @GetMapping
     public ResponseEntity<ApiResponse<Page<HRCandidateDTO>>> getMyCandidates(
-            Authentication authentication,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) Candidate.CandidateStatus status,
             @RequestParam(defaultValue = "0") int page,
@@ -50,9 +48,7 @@ public class HRCandidatesController {
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "DESC") String sortDir) {
         
-        // Get username from authentication and load the actual User entity
-        String username = authentication.getName();
-        User loggedInUser = userDetailsService.loadUserEntityByUsername(username);
+        User loggedInUser = authService.getCurrentUser();
         
         log.info("HR {} (ID: {}) requesting their candidates with params - search: {}, status: {}, page: {}", 
             loggedInUser.getEmail(), loggedInUser.getId(), search, status, page);
@@ -72,12 +68,10 @@ public class HRCandidatesController {
      */
     @PutMapping("/{candidateId}/hr-remark")
     public ResponseEntity<ApiResponse<HRCandidateDTO>> updateHRRemark(
-            Authentication authentication,
             @PathVariable Long candidateId,
             @RequestBody UpdateHRRemarkRequest request) {
         
-        String username = authentication.getName();
-        User loggedInUser = userDetailsService.loadUserEntityByUsername(username);
+        User loggedInUser = authService.getCurrentUser();
         log.info("HR {} updating HR remark for candidate ID: {}", loggedInUser.getEmail(), candidateId);
         
         HRCandidateDTO updated = hrPerformanceService.updateHRRemark(
@@ -91,17 +85,15 @@ public class HRCandidatesController {
      */
     @PutMapping("/{candidateId}/status")
     public ResponseEntity<ApiResponse<HRCandidateDTO>> updateCandidateStatus(
-            Authentication authentication,
             @PathVariable Long candidateId,
             @RequestBody UpdateStatusRequest request) {
         
-        String username = authentication.getName();
-        User loggedInUser = userDetailsService.loadUserEntityByUsername(username);
+        User loggedInUser = authService.getCurrentUser();
         log.info("HR {} updating status for candidate ID: {} to {}", 
             loggedInUser.getEmail(), candidateId, request.getStatus());
         
         HRCandidateDTO updated = hrPerformanceService.updateCandidateStatusByHR(
-            candidateId, request.getStatus(), loggedInUser.getId());
+            candidateId, request.getStatus(), loggedInUser);
         
         return ResponseEntity.ok(ApiResponse.success("Candidate status updated successfully", updated));
     }
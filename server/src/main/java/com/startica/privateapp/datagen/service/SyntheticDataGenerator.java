@@ -0,0 +1,373 @@
+package com.startica.privateapp.datagen.service;
+
+import com.startica.privateapp.analytics.service.CandidateDailyStatsService;
+import com.startica.privateapp.model.Candidate.CandidateStatus;
+import com.startica.privateapp.opening.model.OpeningStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.startica.privateapp.datagen.service.SyntheticValues.*;
+
+/**
+ * Fills the database with realistic volumes for performance work: HR users, openings,
+ * candidates with details, applications and history. Runs at startup with the "datagen"
+ * profile (see application-datagen.properties) and appends to whatever is already there.
+ *
+ * Rows go in through JDBC batches, which the driver rewrites into multi-row INSERTs, bypassing
+ * JPA and the change listeners. Candidates are generated in chunks, each with its own Random
+ * derived from the seed and the chunk number, so chunks run in parallel and the same seed and
+ * settings always produce the same data. Timestamps are relative to datagen.until; only the
+ * auto-increment ids of applications and history depend on the order chunks commit in.
+ *
+ * With datagen.top-up=true the configured counts are totals instead: only what is missing is
+ * added, and new candidates are spread over all existing HR users and openings. Repeated runs
+ * then converge on one scale, which is what the load tests rely on.
+ */
+@Service
+@Profile("datagen")
+@Slf4j
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final long CHUNK_SEED_STEP = 0x9E3779B97F4A7C15L;
+    private static final String[] APPLICATION_STATUSES = {"APPLIED", "REVIEWING", "SHORTLISTED", "REJECTED"};
+
+    private static final String INSERT_USER =
+            "INSERT INTO accounts (id, username, password_hash, full_name, email, phone, role, active, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, 'HR', true, ?, ?)";
+    private static final String INSERT_OPENING =
+            "INSERT INTO openings (id, title, department, location, type, positions, experience, min_salary, max_salary, " +
+            "skills, description, status, created_by, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CANDIDATE =
+            "INSERT INTO candidates (id, first_name, last_name, email, phone, email_normalized, phone_normalized, location, " +
+            "company, profile, degree, passing_year, percentage, experience, current_package, expected_ctc, skills, status, " +
+            "source_hr_id, experience_level, notice_period, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_DETAILS =
+            "INSERT INTO candidate_details (candidate_id, notes, employment_history, education) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_APPLICATION =
+            "INSERT INTO candidate_openings (candidate_id, opening_id, applied_at, application_status, applied_by, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_HISTORY =
+            "INSERT INTO candidate_history (candidate_id, action, old_value, new_value, actor_id, actor_role, timestamp) " +
+            "VALUES (?, ?, ?, ?, ?, 'HR', ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final CandidateDailyStatsService candidateDailyStatsService;
+    private final ApplicationContext applicationContext;
+
+    @Value("${datagen.seed:42}")
+    private long seed;
+
+    @Value("${datagen.hr-users:50}")
+    private int hrUsers;
+
+    @Value("${datagen.hr-password:hr123}")
+    private String hrPassword;
+
+    @Value("${datagen.openings:2000}")
+    private int openings;
+
+    @Value("${datagen.candidates:100000}")
+    private int candidates;
+
+    @Value("${datagen.max-applications-per-candidate:3}")
+    private int maxApplications;
+
+    @Value("${datagen.history-days:730}")
+    private int historyDays;
+
+    // A fixed date, so the same seed gives the same data whatever day it runs
+    @Value("${datagen.until:2025-01-01}")
+    private String until;
+
+    @Value("${datagen.chunk-size:2000}")
+    private int chunkSize;
+
+    @Value("${datagen.workers:4}")
+    private int workers;
+
+    @Value("${datagen.exit-when-done:true}")
+    private boolean exitWhenDone;
+
+    @Value("${datagen.top-up:false}")
+    private boolean topUp;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  PasswordEncoder passwordEncoder,
+                                  CandidateDailyStatsService candidateDailyStatsService,
+                                  ApplicationContext applicationContext) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.candidateDailyStatsService = candidateDailyStatsService;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        long started = System.currentTimeMillis();
+        LocalDateTime end = LocalDate.parse(until).atStartOfDay();
+        LocalDateTime start = end.minusDays(historyDays);
+        long[] existingHrIds = topUp ? ids("SELECT id FROM accounts WHERE role = 'HR' ORDER BY id") : new long[0];
+        long[] existingOpeningIds = topUp ? ids("SELECT id FROM openings ORDER BY id") : new long[0];
+        long existingCandidates = topUp ? count("SELECT COUNT(*) FROM candidates WHERE deleted_at IS NULL") : 0;
+        int newHrUsers = Math.max(0, hrUsers - existingHrIds.length);
+        int newOpenings = Math.max(0, openings - existingOpeningIds.length);
+        int newCandidates = (int) Math.max(0, candidates - existingCandidates);
+        log.info("Generating {} HR users, {} openings and {} candidates (seed {})", newHrUsers, newOpenings, newCandidates, seed);
+
+        long[] hrIds = concat(existingHrIds, insertUsers(new Random(seed), start, newHrUsers));
+        long[] openingIds = concat(existingOpeningIds, insertOpenings(new Random(seed + 1), hrIds, start, end, newOpenings));
+        if (newCandidates > 0 && (hrIds.length == 0 || openingIds.length == 0)) {
+            throw new IllegalStateException("Candidates need at least one HR user and one opening");
+        }
+        long[] totals = insertCandidates(hrIds, openingIds, start, end, newCandidates);
+
+        // Derived tables are maintained by listeners the batch inserts bypass
+        candidateDailyStatsService.rebuild();
+
+        log.info("Generated {} candidates, {} applications and {} history rows in {} s; "
+                        + "run the candidate-duplicate-sweep batch job to index duplicates",
+                totals[0], totals[1], totals[2], (System.currentTimeMillis() - started) / 1000);
+
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    private long[] insertUsers(Random random, LocalDateTime start, int count) {
+        if (count == 0) {
+            return new long[0];
+        }
+        long base = maxId("accounts");
+        String passwordHash = passwordEncoder.encode(hrPassword);
+        long[] ids = new long[count];
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = base + 1 + i;
+            ids[i] = id;
+            rows.add(new Object[]{id, "hr" + id, passwordHash,
+                    pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES),
+                    "hr" + id + "@example.com", phone(8, id), start, start});
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_USER, rows));
+        return ids;
+    }
+
+    private long[] insertOpenings(Random random, long[] hrIds, LocalDateTime start, LocalDateTime end, int count) {
+        if (count == 0) {
+            return new long[0];
+        }
+        long base = maxId("openings");
+        long[] ids = new long[count];
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = base + 1 + i;
+            ids[i] = id;
+            int minYears = random.nextInt(8);
+            int minLakhs = 3 + minYears * 2;
+            LocalDateTime createdAt = between(random, start, end);
+            OpeningStatus status = random.nextInt(10) < 6 ? OpeningStatus.ACTIVE
+                    : OpeningStatus.values()[random.nextInt(OpeningStatus.values().length)];
+            rows.add(new Object[]{id, pick(random, PROFILES), pick(random, DEPARTMENTS), pick(random, LOCATIONS),
+                    pick(random, OPENING_TYPES), 1 + random.nextInt(5), minYears + "-" + (minYears + 3) + " years",
+                    minLakhs + " LPA", (minLakhs + 4 + random.nextInt(6)) + " LPA", skills(random),
+                    "We are hiring for our " + pick(random, LOCATIONS) + " office.", status.name(),
+                    hrIds[random.nextInt(hrIds.length)], createdAt, createdAt});
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_OPENING, rows));
+        return ids;
+    }
+
+    /**
+     * Returns candidates, applications and history rows inserted.
+     */
+    private long[] insertCandidates(long[] hrIds, long[] openingIds, LocalDateTime start, LocalDateTime end, int newCandidates)
+            throws InterruptedException, ExecutionException {
+        long base = maxId("candidates");
+        int chunks = (newCandidates + chunkSize - 1) / chunkSize;
+        AtomicLong done = new AtomicLong();
+        AtomicLong applications = new AtomicLong();
+        AtomicLong history = new AtomicLong();
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "datagen-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>(chunks);
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                long firstId = base + 1 + (long) chunk * chunkSize;
+                int count = (int) Math.min(chunkSize, newCandidates - (long) chunk * chunkSize);
+                Random random = new Random(seed + (chunk + 1) * CHUNK_SEED_STEP);
+                futures.add(pool.submit(() -> {
+                    Chunk rows = buildChunk(random, firstId, count, hrIds, openingIds, start, end);
+                    transactionTemplate.executeWithoutResult(status -> {
+                        jdbcTemplate.batchUpdate(INSERT_CANDIDATE, rows.candidates);
+                        jdbcTemplate.batchUpdate(INSERT_DETAILS, rows.details);
+                        jdbcTemplate.batchUpdate(INSERT_APPLICATION, rows.applications);
+                        jdbcTemplate.batchUpdate(INSERT_HISTORY, rows.history);
+                    });
+                    applications.addAndGet(rows.applications.size());
+                    history.addAndGet(rows.history.size());
+                    long total = done.addAndGet(count);
+                    if (total / 50_000 != (total - count) / 50_000) {
+                        log.info("Generated {} / {} candidates", total, newCandidates);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return new long[]{done.get(), applications.get(), history.get()};
+    }
+
+    private Chunk buildChunk(Random random, long firstId, int count, long[] hrIds, long[] openingIds,
+                             LocalDateTime start, LocalDateTime end) {
+        Chunk chunk = new Chunk(count);
+        for (int i = 0; i < count; i++) {
+            long id = firstId + i;
+            String first = pick(random, FIRST_NAMES);
+            String last = pick(random, LAST_NAMES);
+            // Derived from the id, so contacts stay unique across chunks and reruns
+            String email = first.toLowerCase() + "." + last.toLowerCase() + "." + id + "@example.com";
+            String phone = phone(9, id);
+            String company = pick(random, COMPANIES);
+            String degree = pick(random, DEGREES);
+            int months = experienceMonths(random);
+            int passingYear = end.getYear() - months / 12 - random.nextInt(2);
+            float percentage = Math.round((55 + random.nextDouble() * 40) * 10) / 10f;
+            double currentCtc = ctcLakhs(random, months);
+            long hrId = hrIds[random.nextInt(hrIds.length)];
+            LocalDateTime createdAt = between(random, start, end);
+
+            // Walk the status through the pipeline, one history row per move
+            List<Object[]> moves = new ArrayList<>();
+            moves.add(new Object[]{id, "CANDIDATE_CREATED", null,
+                    "Name: " + first + " " + last + ", Email: " + email + ", Phone: " + phone + ", Status: PENDING",
+                    hrId, createdAt});
+            CandidateStatus status = CandidateStatus.PENDING;
+            LocalDateTime changedAt = createdAt;
+            for (CandidateStatus next = nextStatus(random, status); next != null; next = nextStatus(random, status)) {
+                LocalDateTime at = changedAt.plusHours(1 + random.nextInt(20 * 24));
+                if (at.isAfter(end)) {
+                    break;
+                }
+                moves.add(new Object[]{id, "STATUS_CHANGED", status.name(), next.name(), hrId, at});
+                status = next;
+                changedAt = at;
+            }
+            if (random.nextInt(4) == 0) {
+                LocalDateTime at = createdAt.plusMinutes(5 + random.nextInt(600));
+                if (!at.isAfter(end)) {
+                    moves.add(new Object[]{id, "FIELD_UPDATED: location", null, pick(random, LOCATIONS), hrId, at});
+                }
+            }
+            chunk.history.addAll(moves);
+
+            chunk.candidates.add(new Object[]{id, first, last, email, phone, email, phone,
+                    pick(random, LOCATIONS), company, pick(random, PROFILES), degree, passingYear, percentage,
+                    experience(random, months), ctc(random, currentCtc),
+                    ctc(random, Math.round(currentCtc * (1.2 + random.nextDouble() * 0.4) * 10) / 10.0),
+                    skills(random), status.name(), hrId, experienceLevel(months), pick(random, NOTICE_PERIODS),
+                    createdAt, changedAt});
+            chunk.details.add(new Object[]{id, random.nextInt(5) == 0 ? "Prefers " + pick(random, LOCATIONS) : null,
+                    employmentHistory(random, company, months), education(degree, passingYear, percentage, random)});
+
+            int applicationCount = random.nextInt(maxApplications + 1);
+            Set<Long> appliedTo = new HashSet<>();
+            for (int a = 0; a < applicationCount; a++) {
+                long openingId = openingIds[random.nextInt(openingIds.length)];
+                if (!appliedTo.add(openingId)) {
+                    continue;
+                }
+                String applicationStatus = status == CandidateStatus.HIRED && a == 0
+                        ? "HIRED" : pick(random, APPLICATION_STATUSES);
+                LocalDateTime appliedAt = createdAt.plusHours(random.nextInt(72));
+                chunk.applications.add(new Object[]{id, openingId, appliedAt, applicationStatus, hrId, appliedAt});
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * The next status of a candidate, or null when they stay where they are.
+     */
+    private static CandidateStatus nextStatus(Random random, CandidateStatus status) {
+        int roll = random.nextInt(100);
+        return switch (status) {
+            case PENDING -> roll < 75 ? CandidateStatus.CONTACTED : null;
+            case CONTACTED -> roll < 45 ? CandidateStatus.INTERESTED
+                    : roll < 70 ? CandidateStatus.NOT_INTERESTED
+                    : roll < 85 ? CandidateStatus.TELL_LATER : null;
+            case TELL_LATER -> roll < 40 ? CandidateStatus.INTERESTED : null;
+            case INTERESTED -> roll < 35 ? CandidateStatus.OFFERED : null;
+            case OFFERED -> roll < 60 ? CandidateStatus.HIRED : null;
+            default -> null;
+        };
+    }
+
+    private long maxId(String table) {
+        return count("SELECT COALESCE(MAX(id), 0) FROM " + table);
+    }
+
+    private long count(String sql) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class);
+        return count != null ? count : 0;
+    }
+
+    private long[] ids(String sql) {
+        return jdbcTemplate.queryForList(sql, Long.class).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long[] concat(long[] first, long[] second) {
+        long[] all = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, all, first.length, second.length);
+        return all;
+    }
+
+    private static LocalDateTime between(Random random, LocalDateTime start, LocalDateTime end) {
+        long seconds = Duration.between(start, end).getSeconds();
+        return start.plusSeconds((long) (random.nextDouble() * seconds));
+    }
+
+    // Ten digits starting with the given digit, unique per id
+    private static String phone(int firstDigit, long id) {
+        return firstDigit + String.format("%09d", id % 1_000_000_000L);
+    }
+
+    private static final class Chunk {
+        private final List<Object[]> candidates;
+        private final List<Object[]> details;
+        private final List<Object[]> applications = new ArrayList<>();
+        private final List<Object[]> history = new ArrayList<>();
+
+        private Chunk(int size) {
+            this.candidates = new ArrayList<>(size);
+            this.details = new ArrayList<>(size);
+        }
+    }
+}
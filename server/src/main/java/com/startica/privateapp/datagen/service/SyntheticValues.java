@@ -0,0 +1,131 @@
+package com.startica.privateapp.datagen.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Field values in the shapes HRs actually enter: free-text experience and CTC, comma-separated
+ * skills, education as JSON. Everything comes from the caller's Random, so a seed fixes the data.
+ */
+final class SyntheticValues {
+
+    static final String[] FIRST_NAMES = {
+            "Aarav", "Vivaan", "Aditya", "Vihaan", "Arjun", "Sai", "Reyansh", "Ayaan", "Krishna", "Ishaan",
+            "Rohan", "Karan", "Siddharth", "Rahul", "Amit", "Priya", "Ananya", "Diya", "Aadhya", "Saanvi",
+            "Pooja", "Sneha", "Neha", "Kavya", "Ishita", "Meera", "Riya", "Shreya", "Tanvi", "Nisha"
+    };
+    static final String[] LAST_NAMES = {
+            "Sharma", "Verma", "Patil", "Kulkarni", "Deshmukh", "Joshi", "Iyer", "Nair", "Reddy", "Rao",
+            "Gupta", "Mehta", "Shah", "Desai", "Pawar", "Jadhav", "Singh", "Kumar", "Chopra", "Bhat"
+    };
+    static final String[] LOCATIONS = {
+            "Pune", "Mumbai", "Bengaluru", "Hyderabad", "Chennai", "Delhi", "Noida", "Gurugram", "Kolkata",
+            "Ahmedabad", "Nagpur", "Nashik", "Kochi", "Indore", "Remote"
+    };
+    static final String[] COMPANIES = {
+            "Infosys", "TCS", "Wipro", "HCL", "Tech Mahindra", "Cognizant", "Accenture", "Capgemini",
+            "Persistent", "LTIMindtree", "Zensar", "KPIT", "Startup", "Freelance", ""
+    };
+    static final String[] PROFILES = {
+            "Java Developer", "Full Stack Developer", "Frontend Developer", "QA Engineer", "DevOps Engineer",
+            "Data Analyst", "Business Analyst", "HR Executive", "Sales Executive", "Support Engineer"
+    };
+    static final String[] DEGREES = {"B.E.", "B.Tech", "BCA", "MCA", "B.Sc", "M.Sc", "MBA", "B.Com", "M.Tech", "Diploma"};
+    static final String[] UNIVERSITIES = {
+            "Savitribai Phule Pune University", "University of Mumbai", "VTU", "Anna University", "JNTU",
+            "Delhi University", "Shivaji University", "RTMNU"
+    };
+    static final String[] SKILLS = {
+            "Java", "Spring Boot", "Hibernate", "MySQL", "React", "Angular", "Node.js", "Python", "Django",
+            "AWS", "Docker", "Kubernetes", "Selenium", "Manual Testing", "Excel", "Power BI", "SQL", "Git",
+            "Jenkins", "Microservices", "HTML", "CSS", "JavaScript", "TypeScript", "Communication"
+    };
+    static final String[] NOTICE_PERIODS = {"Immediate", "15 days", "30 days", "45 days", "60 days", "90 days"};
+    static final String[] DEPARTMENTS = {"Engineering", "Quality", "Product", "Sales", "Human Resources", "Finance", "Support"};
+    static final String[] OPENING_TYPES = {"Full-Time", "Part-Time", "Contract", "Internship", "Remote"};
+
+    private SyntheticValues() {
+    }
+
+    static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Experience in months, skewed towards juniors like the real candidate pool.
+     */
+    static int experienceMonths(Random random) {
+        double years = -Math.log(1 - random.nextDouble()) * 3.5;
+        return (int) Math.min(years * 12, 30 * 12);
+    }
+
+    static String experience(Random random, int months) {
+        if (months < 6) {
+            return random.nextBoolean() ? "Fresher" : "0";
+        }
+        int years = months / 12;
+        int rest = months % 12;
+        return switch (random.nextInt(6)) {
+            case 0 -> years + " years";
+            case 1 -> years + "." + (rest * 10 / 12) + " years";
+            case 2 -> rest == 0 ? years + " years" : years + " years " + rest + " months";
+            case 3 -> months + " months";
+            case 4 -> years + "+ yrs";
+            default -> String.valueOf(years);
+        };
+    }
+
+    static String experienceLevel(int months) {
+        if (months < 12) {
+            return "Fresher";
+        }
+        if (months < 36) {
+            return "Junior";
+        }
+        return months < 96 ? "Mid" : "Senior";
+    }
+
+    /**
+     * Annual CTC in lakhs, roughly following experience.
+     */
+    static double ctcLakhs(Random random, int months) {
+        return Math.round((2.5 + months / 12.0 * 1.8) * (0.7 + random.nextDouble() * 0.6) * 10) / 10.0;
+    }
+
+    static String ctc(Random random, double lakhs) {
+        return switch (random.nextInt(4)) {
+            case 0 -> lakhs + " LPA";
+            case 1 -> Math.round(lakhs) + "L";
+            case 2 -> String.format("%,d", Math.round(lakhs * 100_000));
+            default -> lakhs + " lakhs";
+        };
+    }
+
+    static String skills(Random random) {
+        Set<String> skills = new LinkedHashSet<>();
+        int count = 2 + random.nextInt(6);
+        while (skills.size() < count) {
+            skills.add(pick(random, SKILLS));
+        }
+        return String.join(", ", skills);
+    }
+
+    static String education(String degree, int passingYear, float percentage, Random random) {
+        return "{\"degree\":\"" + degree + "\",\"university\":\"" + pick(random, UNIVERSITIES)
+                + "\",\"passingYear\":" + passingYear + ",\"percentage\":" + percentage + "}";
+    }
+
+    static String employmentHistory(Random random, String company, int months) {
+        List<String> jobs = new ArrayList<>();
+        if (!company.isEmpty() && months > 0) {
+            jobs.add("{\"company\":\"" + company + "\",\"months\":" + Math.max(1, months / 2) + "}");
+        }
+        if (months > 24) {
+            jobs.add("{\"company\":\"" + pick(random, COMPANIES) + "\",\"months\":" + (months - months / 2) + "}");
+        }
+        return "[" + String.join(",", jobs) + "]";
+    }
+}
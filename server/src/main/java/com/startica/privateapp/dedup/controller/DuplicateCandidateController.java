@@ -0,0 +1,60 @@
+package com.startica.privateapp.dedup.controller;
+
+import com.startica.privateapp.batch.dto.BatchJobProgressResponse;
+import com.startica.privateapp.batch.service.BatchJobService;
+import com.startica.privateapp.common.response.ApiResponse;
+import com.startica.privateapp.common.response.PageResponse;
+import com.startica.privateapp.dedup.dto.DuplicateClusterResponse;
+import com.startica.privateapp.dedup.dto.DuplicatePairResponse;
+import com.startica.privateapp.dedup.service.DuplicateDetectionService;
+import com.startica.privateapp.dedup.service.DuplicateSweepJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Admin review of probable duplicate candidates
+ *
+ * Endpoints:
+ * - GET  /api/admin/duplicates/clusters - Groups of probable duplicates, largest first (minScore, page, size)
+ * - GET  /api/admin/duplicates/candidates/{candidateId} - Probable duplicates of one candidate
+ * - POST /api/admin/duplicates/pairs/{pairId}/dismiss - Mark a pair as not a duplicate
+ * - POST /api/admin/duplicates/sweep - Re-index every candidate in the background
+ */
+@RestController
+@RequestMapping("/api/admin/duplicates")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class DuplicateCandidateController {
+
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final BatchJobService batchJobService;
+
+    @GetMapping("/clusters")
+    public ResponseEntity<ApiResponse<PageResponse<DuplicateClusterResponse>>> getClusters(
+            @RequestParam(required = false) Double minScore,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ApiResponse.success(duplicateDetectionService.getClusters(minScore, page, size)));
+    }
+
+    @GetMapping("/candidates/{candidateId}")
+    public ResponseEntity<ApiResponse<List<DuplicatePairResponse>>> getDuplicatesOf(@PathVariable Long candidateId) {
+        return ResponseEntity.ok(ApiResponse.success(duplicateDetectionService.getDuplicatesOf(candidateId)));
+    }
+
+    @PostMapping("/pairs/{pairId}/dismiss")
+    public ResponseEntity<ApiResponse<DuplicatePairResponse>> dismissPair(@PathVariable Long pairId) {
+        DuplicatePairResponse pair = duplicateDetectionService.dismissPair(pairId);
+        return ResponseEntity.ok(ApiResponse.success("Pair dismissed", pair));
+    }
+
+    @PostMapping("/sweep")
+    public ResponseEntity<ApiResponse<BatchJobProgressResponse>> sweep() {
+        BatchJobProgressResponse progress = batchJobService.start(DuplicateSweepJob.NAME, true);
+        return ResponseEntity.ok(ApiResponse.success("Duplicate sweep started", progress));
+    }
+}
@@ -0,0 +1,34 @@
+package com.startica.privateapp.dedup.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateClusterResponse {
+    private Double maxScore;
+    private List<CandidateSummary> candidates;
+    private List<DuplicatePairResponse> pairs;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CandidateSummary {
+        private Long id;
+        private String firstName;
+        private String lastName;
+        private String email;
+        private String phone;
+        private String status;
+        private Long sourceHrId;
+        private LocalDateTime createdAt;
+    }
+}
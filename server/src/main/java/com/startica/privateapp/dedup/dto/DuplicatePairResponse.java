@@ -0,0 +1,22 @@
+package com.startica.privateapp.dedup.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicatePairResponse {
+    private Long id;
+    private Long candidateId;
+    private Long duplicateCandidateId;
+    private Double score;
+    private String reasons;
+    private Boolean dismissed;
+    private LocalDateTime detectedAt;
+}
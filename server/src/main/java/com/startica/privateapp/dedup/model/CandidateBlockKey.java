@@ -0,0 +1,41 @@
+package com.startica.privateapp.dedup.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Blocking key of a candidate. Only candidates sharing a key are ever compared,
+ * which keeps duplicate detection far below n² comparisons.
+ */
+@Entity
+@Table(name = "candidate_block_keys", indexes = {
+    @Index(name = "idx_block_key_value", columnList = "key_type, key_value"),
+    @Index(name = "idx_block_key_candidate", columnList = "candidate_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateBlockKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "candidate_id", nullable = false)
+    private Long candidateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "key_type", nullable = false, length = 20)
+    private KeyType keyType;
+
+    @Column(name = "key_value", nullable = false, length = 120)
+    private String keyValue;
+
+    public enum KeyType {
+        PHONE_SUFFIX,
+        EMAIL_LOCAL,
+        NAME_PHONETIC
+    }
+}
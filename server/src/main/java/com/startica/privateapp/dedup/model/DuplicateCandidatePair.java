@@ -0,0 +1,46 @@
+package com.startica.privateapp.dedup.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A scored pair of probable duplicates. candidateId is always the smaller id of the two.
+ */
+@Entity
+@Table(name = "candidate_duplicate_pairs", indexes = {
+    @Index(name = "idx_duplicate_pair_other", columnList = "duplicate_candidate_id"),
+    @Index(name = "idx_duplicate_pair_score", columnList = "score")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_duplicate_pair", columnNames = {"candidate_id", "duplicate_candidate_id"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateCandidatePair {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "candidate_id", nullable = false)
+    private Long candidateId;
+
+    @Column(name = "duplicate_candidate_id", nullable = false)
+    private Long duplicateCandidateId;
+
+    @Column(nullable = false)
+    private Double score;
+
+    @Column(length = 100)
+    private String reasons;
+
+    @Column(nullable = false)
+    private Boolean dismissed = false;
+
+    @Column(name = "detected_at")
+    private LocalDateTime detectedAt;
+}
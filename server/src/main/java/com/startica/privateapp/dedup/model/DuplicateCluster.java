@@ -0,0 +1,34 @@
+package com.startica.privateapp.dedup.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A connected group of active duplicate pairs, identified by its smallest candidate id.
+ * Maintained by duplicate detection so the review screen can page clusters in SQL.
+ */
+@Entity
+@Table(name = "candidate_duplicate_clusters", indexes = {
+    @Index(name = "idx_duplicate_cluster_rank", columnList = "member_count, max_score")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateCluster {
+
+    @Id
+    private Long id;
+
+    @Column(name = "member_count", nullable = false)
+    private Integer memberCount;
+
+    @Column(name = "max_score", nullable = false)
+    private Double maxScore;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
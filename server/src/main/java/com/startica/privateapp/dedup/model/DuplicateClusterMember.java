@@ -0,0 +1,26 @@
+package com.startica.privateapp.dedup.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cluster of a candidate that has at least one active duplicate pair.
+ */
+@Entity
+@Table(name = "candidate_duplicate_cluster_members", indexes = {
+    @Index(name = "idx_duplicate_cluster_member_cluster", columnList = "cluster_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateClusterMember {
+
+    @Id
+    @Column(name = "candidate_id")
+    private Long candidateId;
+
+    @Column(name = "cluster_id", nullable = false)
+    private Long clusterId;
+}
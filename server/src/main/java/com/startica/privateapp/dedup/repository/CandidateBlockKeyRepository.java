@@ -0,0 +1,37 @@
+package com.startica.privateapp.dedup.repository;
+
+import com.startica.privateapp.dedup.model.CandidateBlockKey;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CandidateBlockKeyRepository extends JpaRepository<CandidateBlockKey, Long> {
+
+    @Modifying
+    @Query("DELETE FROM CandidateBlockKey k WHERE k.candidateId = :candidateId")
+    int deleteByCandidateId(@Param("candidateId") Long candidateId);
+
+    List<CandidateBlockKey> findByCandidateId(Long candidateId);
+
+    // Other candidates in the same block, served by idx_block_key_value
+    @Query("SELECT k.candidateId FROM CandidateBlockKey k " +
+           "WHERE k.keyType = :keyType AND k.keyValue = :keyValue AND k.candidateId <> :candidateId")
+    List<Long> findBlockMembers(@Param("keyType") CandidateBlockKey.KeyType keyType,
+                                @Param("keyValue") String keyValue,
+                                @Param("candidateId") Long candidateId,
+                                Pageable pageable);
+
+    // Block members with a smaller id; the sweep scores each pair from its larger candidate only
+    @Query("SELECT k.candidateId FROM CandidateBlockKey k " +
+           "WHERE k.keyType = :keyType AND k.keyValue = :keyValue AND k.candidateId < :candidateId")
+    List<Long> findBlockMembersBelow(@Param("keyType") CandidateBlockKey.KeyType keyType,
+                                     @Param("keyValue") String keyValue,
+                                     @Param("candidateId") Long candidateId,
+                                     Pageable pageable);
+}
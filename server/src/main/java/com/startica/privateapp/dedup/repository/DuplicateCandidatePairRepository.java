@@ -0,0 +1,54 @@
+package com.startica.privateapp.dedup.repository;
+
+import com.startica.privateapp.dedup.model.DuplicateCandidatePair;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DuplicateCandidatePairRepository extends JpaRepository<DuplicateCandidatePair, Long> {
+
+    // Insert-or-refresh; a dismissed pair stays dismissed
+    @Modifying
+    @Query(value = "INSERT INTO candidate_duplicate_pairs " +
+                   "(candidate_id, duplicate_candidate_id, score, reasons, dismissed, detected_at) " +
+                   "VALUES (:candidateId, :duplicateCandidateId, :score, :reasons, false, :detectedAt) " +
+                   "ON DUPLICATE KEY UPDATE score = VALUES(score), reasons = VALUES(reasons), " +
+                   "detected_at = VALUES(detected_at)",
+           nativeQuery = true)
+    void upsert(@Param("candidateId") Long candidateId,
+                @Param("duplicateCandidateId") Long duplicateCandidateId,
+                @Param("score") Double score,
+                @Param("reasons") String reasons,
+                @Param("detectedAt") LocalDateTime detectedAt);
+
+    @Modifying
+    @Query("DELETE FROM DuplicateCandidatePair p " +
+           "WHERE p.candidateId = :candidateId OR p.duplicateCandidateId = :candidateId")
+    int deleteAllByCandidateId(@Param("candidateId") Long candidateId);
+
+    @Query("SELECT p FROM DuplicateCandidatePair p WHERE p.dismissed = false " +
+           "AND (p.candidateId IN :candidateIds OR p.duplicateCandidateId IN :candidateIds)")
+    List<DuplicateCandidatePair> findActiveTouching(@Param("candidateIds") Collection<Long> candidateIds);
+
+    // Pairs the sweep owns for this candidate: those where it is the larger id
+    @Query("SELECT p FROM DuplicateCandidatePair p " +
+           "WHERE p.duplicateCandidateId = :candidateId AND p.dismissed = false")
+    List<DuplicateCandidatePair> findActiveByDuplicateCandidateId(@Param("candidateId") Long candidateId);
+
+    @Query("SELECT p FROM DuplicateCandidatePair p WHERE p.dismissed = false AND p.score >= :minScore " +
+           "AND p.candidateId IN :candidateIds AND p.duplicateCandidateId IN :candidateIds")
+    List<DuplicateCandidatePair> findActiveAmong(@Param("candidateIds") Collection<Long> candidateIds,
+                                                 @Param("minScore") Double minScore);
+
+    @Query("SELECT p FROM DuplicateCandidatePair p " +
+           "WHERE p.candidateId = :candidateId OR p.duplicateCandidateId = :candidateId " +
+           "ORDER BY p.score DESC")
+    List<DuplicateCandidatePair> findByCandidate(@Param("candidateId") Long candidateId);
+}
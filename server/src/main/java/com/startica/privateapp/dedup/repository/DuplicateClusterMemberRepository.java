@@ -0,0 +1,29 @@
+package com.startica.privateapp.dedup.repository;
+
+import com.startica.privateapp.dedup.model.DuplicateClusterMember;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DuplicateClusterMemberRepository extends JpaRepository<DuplicateClusterMember, Long> {
+
+    List<DuplicateClusterMember> findByClusterIdIn(Collection<Long> clusterIds);
+
+    // Every member of the clusters the given candidates currently belong to
+    @Query("SELECT m.candidateId FROM DuplicateClusterMember m WHERE m.clusterId IN " +
+           "(SELECT c.clusterId FROM DuplicateClusterMember c WHERE c.candidateId IN :candidateIds)")
+    List<Long> findClusterMatesOf(@Param("candidateIds") Collection<Long> candidateIds);
+
+    @Query("SELECT DISTINCT m.clusterId FROM DuplicateClusterMember m WHERE m.candidateId IN :candidateIds")
+    List<Long> findClusterIdsOf(@Param("candidateIds") Collection<Long> candidateIds);
+
+    @Modifying
+    @Query("DELETE FROM DuplicateClusterMember m WHERE m.clusterId IN :clusterIds")
+    int deleteByClusterIds(@Param("clusterIds") Collection<Long> clusterIds);
+}
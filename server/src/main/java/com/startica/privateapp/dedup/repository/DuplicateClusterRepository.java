@@ -0,0 +1,22 @@
+package com.startica.privateapp.dedup.repository;
+
+import com.startica.privateapp.dedup.model.DuplicateCluster;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface DuplicateClusterRepository extends JpaRepository<DuplicateCluster, Long> {
+
+    Page<DuplicateCluster> findByMaxScoreGreaterThanEqual(Double minScore, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM DuplicateCluster c WHERE c.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
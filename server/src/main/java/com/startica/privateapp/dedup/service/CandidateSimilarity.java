@@ -0,0 +1,231 @@
+package com.startica.privateapp.dedup.service;
+
+import com.startica.privateapp.dedup.model.CandidateBlockKey.KeyType;
+import com.startica.privateapp.model.Candidate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Blocking keys and pairwise similarity used by duplicate detection.
+ */
+final class CandidateSimilarity {
+
+    private static final int PHONE_SUFFIX_LENGTH = 7;
+    private static final int PHONE_NATIONAL_LENGTH = 10;
+    // Soundex codes for A..Z
+    private static final String SOUNDEX_CODES = "01230120022455012623010202";
+
+    private CandidateSimilarity() {
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static final class Match {
+        private final double score;
+        private final String reasons;
+    }
+
+    static Map<KeyType, String> blockKeys(Candidate candidate) {
+        Map<KeyType, String> keys = new EnumMap<>(KeyType.class);
+
+        String phone = Candidate.normalizePhone(candidate.getPhone());
+        if (phone != null && phone.length() >= PHONE_SUFFIX_LENGTH) {
+            keys.put(KeyType.PHONE_SUFFIX, suffix(phone, PHONE_SUFFIX_LENGTH));
+        }
+
+        String local = emailLocalPart(candidate.getEmail());
+        if (local != null && local.length() >= 3) {
+            keys.put(KeyType.EMAIL_LOCAL, local);
+        }
+
+        String first = soundex(candidate.getFirstName());
+        String last = soundex(candidate.getLastName());
+        if (!first.isEmpty() && !last.isEmpty()) {
+            keys.put(KeyType.NAME_PHONETIC, first + "-" + last);
+        }
+        return keys;
+    }
+
+    /**
+     * Score = 0.6 * strongest contact signal (phone or email) + 0.4 * name similarity.
+     */
+    static Match score(Candidate a, Candidate b) {
+        List<String> reasons = new ArrayList<>();
+
+        double phone = phoneSimilarity(Candidate.normalizePhone(a.getPhone()), Candidate.normalizePhone(b.getPhone()));
+        if (phone > 0) {
+            reasons.add("phone");
+        }
+
+        double email = emailSimilarity(a.getEmail(), b.getEmail());
+        if (email > 0) {
+            reasons.add("email");
+        }
+
+        double name = jaroWinkler(fullName(a), fullName(b));
+        if (name >= 0.85) {
+            reasons.add("name");
+        }
+
+        double score = 0.6 * Math.max(phone, email) + 0.4 * name;
+        return new Match(Math.round(score * 1000) / 1000.0, String.join(",", reasons));
+    }
+
+    private static double phoneSimilarity(String a, String b) {
+        if (a == null || b == null) {
+            return 0.0;
+        }
+        if (a.equals(b)) {
+            return 1.0;
+        }
+        // Same national number with and without a country code / trunk prefix
+        if (a.length() >= PHONE_NATIONAL_LENGTH && b.length() >= PHONE_NATIONAL_LENGTH
+                && suffix(a, PHONE_NATIONAL_LENGTH).equals(suffix(b, PHONE_NATIONAL_LENGTH))) {
+            return 0.95;
+        }
+        if (a.length() >= PHONE_SUFFIX_LENGTH && b.length() >= PHONE_SUFFIX_LENGTH
+                && suffix(a, PHONE_SUFFIX_LENGTH).equals(suffix(b, PHONE_SUFFIX_LENGTH))) {
+            return 0.6;
+        }
+        return 0.0;
+    }
+
+    private static double emailSimilarity(String a, String b) {
+        String na = Candidate.normalizeEmail(a);
+        String nb = Candidate.normalizeEmail(b);
+        if (na == null || nb == null) {
+            return 0.0;
+        }
+        if (na.equals(nb)) {
+            return 1.0;
+        }
+        String la = emailLocalPart(na);
+        String lb = emailLocalPart(nb);
+        if (la == null || lb == null) {
+            return 0.0;
+        }
+        if (la.equals(lb)) {
+            return 0.9;
+        }
+        double similarity = jaroWinkler(la, lb);
+        return similarity >= 0.85 ? similarity * 0.9 : 0.0;
+    }
+
+    /**
+     * Local part without "+tag" and without '.', '_' and '-', so "john.doe+jobs" matches "johndoe".
+     */
+    private static String emailLocalPart(String email) {
+        String normalized = Candidate.normalizeEmail(email);
+        if (normalized == null) {
+            return null;
+        }
+        int at = normalized.indexOf('@');
+        String local = at >= 0 ? normalized.substring(0, at) : normalized;
+        int plus = local.indexOf('+');
+        if (plus >= 0) {
+            local = local.substring(0, plus);
+        }
+        local = local.replaceAll("[._-]", "");
+        return local.isEmpty() ? null : local;
+    }
+
+    private static String fullName(Candidate candidate) {
+        String first = candidate.getFirstName() != null ? candidate.getFirstName() : "";
+        String last = candidate.getLastName() != null ? candidate.getLastName() : "";
+        return (first + " " + last).trim().toLowerCase();
+    }
+
+    private static String suffix(String value, int length) {
+        return value.substring(value.length() - length);
+    }
+
+    static String soundex(String value) {
+        if (value == null) {
+            return "";
+        }
+        String letters = value.toUpperCase().replaceAll("[^A-Z]", "");
+        if (letters.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder code = new StringBuilder().append(letters.charAt(0));
+        char previous = SOUNDEX_CODES.charAt(letters.charAt(0) - 'A');
+        for (int i = 1; i < letters.length() && code.length() < 4; i++) {
+            char c = letters.charAt(i);
+            char digit = SOUNDEX_CODES.charAt(c - 'A');
+            if (digit != '0' && digit != previous) {
+                code.append(digit);
+            }
+            // H and W do not separate letters with the same code
+            if (c != 'H' && c != 'W') {
+                previous = digit;
+            }
+        }
+        while (code.length() < 4) {
+            code.append('0');
+        }
+        return code.toString();
+    }
+
+    static double jaroWinkler(String s1, String s2) {
+        if (s1 == null || s2 == null || s1.isEmpty() || s2.isEmpty()) {
+            return 0.0;
+        }
+        if (s1.equals(s2)) {
+            return 1.0;
+        }
+
+        int matchDistance = Math.max(0, Math.max(s1.length(), s2.length()) / 2 - 1);
+        boolean[] s1Matches = new boolean[s1.length()];
+        boolean[] s2Matches = new boolean[s2.length()];
+
+        int matches = 0;
+        for (int i = 0; i < s1.length(); i++) {
+            int start = Math.max(0, i - matchDistance);
+            int end = Math.min(i + matchDistance + 1, s2.length());
+            for (int j = start; j < end; j++) {
+                if (!s2Matches[j] && s1.charAt(i) == s2.charAt(j)) {
+                    s1Matches[i] = true;
+                    s2Matches[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0.0;
+        }
+
+        int transpositions = 0;
+        int k = 0;
+        for (int i = 0; i < s1.length(); i++) {
+            if (!s1Matches[i]) {
+                continue;
+            }
+            while (!s2Matches[k]) {
+                k++;
+            }
+            if (s1.charAt(i) != s2.charAt(k)) {
+                transpositions++;
+            }
+            k++;
+        }
+
+        double m = matches;
+        double jaro = (m / s1.length() + m / s2.length() + (m - transpositions / 2.0) / m) / 3.0;
+
+        int prefix = 0;
+        for (int i = 0; i < Math.min(4, Math.min(s1.length(), s2.length())); i++) {
+            if (s1.charAt(i) != s2.charAt(i)) {
+                break;
+            }
+            prefix++;
+        }
+        return jaro + prefix * 0.1 * (1 - jaro);
+    }
+}
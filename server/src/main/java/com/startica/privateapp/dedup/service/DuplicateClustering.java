@@ -0,0 +1,57 @@
+package com.startica.privateapp.dedup.service;
+
+import com.startica.privateapp.dedup.model.DuplicateCandidatePair;
+
+import java.util.*;
+
+/**
+ * Groups duplicate pairs into clusters: candidates linked directly or through other candidates.
+ */
+final class DuplicateClustering {
+
+    private DuplicateClustering() {
+    }
+
+    /**
+     * Connected components of the pairs. Member ids are sorted, so first() is the cluster id.
+     */
+    static List<SortedSet<Long>> components(Collection<DuplicateCandidatePair> pairs) {
+        Map<Long, Long> parent = new HashMap<>();
+        for (DuplicateCandidatePair pair : pairs) {
+            union(parent, pair.getCandidateId(), pair.getDuplicateCandidateId());
+        }
+
+        Map<Long, SortedSet<Long>> byRoot = new HashMap<>();
+        for (Long id : new ArrayList<>(parent.keySet())) {
+            byRoot.computeIfAbsent(find(parent, id), root -> new TreeSet<>()).add(id);
+        }
+        List<SortedSet<Long>> components = new ArrayList<>(byRoot.values());
+        components.sort(Comparator.comparing(SortedSet::first));
+        return components;
+    }
+
+    private static Long find(Map<Long, Long> parent, Long id) {
+        Long root = id;
+        while (!parent.get(root).equals(root)) {
+            root = parent.get(root);
+        }
+        // Path compression
+        Long current = id;
+        while (!current.equals(root)) {
+            Long next = parent.get(current);
+            parent.put(current, root);
+            current = next;
+        }
+        return root;
+    }
+
+    private static void union(Map<Long, Long> parent, Long a, Long b) {
+        parent.putIfAbsent(a, a);
+        parent.putIfAbsent(b, b);
+        Long rootA = find(parent, a);
+        Long rootB = find(parent, b);
+        if (!rootA.equals(rootB)) {
+            parent.put(rootB, rootA);
+        }
+    }
+}
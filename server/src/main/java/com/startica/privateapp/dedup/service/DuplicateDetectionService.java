@@ -0,0 +1,399 @@
+package com.startica.privateapp.dedup.service;
+
+import com.startica.privateapp.candidate.event.CandidateChangedEvent;
+import com.startica.privateapp.common.exception.ResourceNotFoundException;
+import com.startica.privateapp.common.response.PageResponse;
+import com.startica.privateapp.dedup.dto.DuplicateClusterResponse;
+import com.startica.privateapp.dedup.dto.DuplicatePairResponse;
+import com.startica.privateapp.dedup.model.CandidateBlockKey;
+import com.startica.privateapp.dedup.model.CandidateBlockKey.KeyType;
+import com.startica.privateapp.dedup.model.DuplicateCandidatePair;
+import com.startica.privateapp.dedup.model.DuplicateCluster;
+import com.startica.privateapp.dedup.model.DuplicateClusterMember;
+import com.startica.privateapp.dedup.repository.CandidateBlockKeyRepository;
+import com.startica.privateapp.dedup.repository.DuplicateCandidatePairRepository;
+import com.startica.privateapp.dedup.repository.DuplicateClusterMemberRepository;
+import com.startica.privateapp.dedup.repository.DuplicateClusterRepository;
+import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.repository.CandidateRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Finds probable duplicate candidates without comparing every pair.
+ *
+ * Each candidate is indexed under a few blocking keys (phone suffix, canonical email local part,
+ * phonetic name); only candidates sharing a block are scored against each other. Candidates are
+ * re-indexed after every committed create/update, and the sweep job rebuilds the whole index.
+ * Pairs are grouped into clusters as they change, so the review screen reads one page at a time.
+ */
+@Service
+@Slf4j
+public class DuplicateDetectionService {
+
+    private final CandidateRepository candidateRepository;
+    private final CandidateBlockKeyRepository blockKeyRepository;
+    private final DuplicateCandidatePairRepository pairRepository;
+    private final DuplicateClusterRepository clusterRepository;
+    private final DuplicateClusterMemberRepository clusterMemberRepository;
+    private final TransactionTemplate transactionTemplate;
+    // Single thread keeps incremental updates for the same candidate in commit order, and is the
+    // only writer of the cluster tables
+    private final ThreadPoolExecutor incrementalExecutor = new ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(10_000),
+            runnable -> {
+                Thread thread = new Thread(runnable, "duplicate-detection");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    @Value("${dedup.min-score:0.75}")
+    private double defaultMinScore;
+
+    @Value("${dedup.max-block-size:500}")
+    private int maxBlockSize;
+
+    public DuplicateDetectionService(CandidateRepository candidateRepository,
+                                     CandidateBlockKeyRepository blockKeyRepository,
+                                     DuplicateCandidatePairRepository pairRepository,
+                                     DuplicateClusterRepository clusterRepository,
+                                     DuplicateClusterMemberRepository clusterMemberRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.candidateRepository = candidateRepository;
+        this.blockKeyRepository = blockKeyRepository;
+        this.pairRepository = pairRepository;
+        this.clusterRepository = clusterRepository;
+        this.clusterMemberRepository = clusterMemberRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        incrementalExecutor.shutdownNow();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCandidateChanged(CandidateChangedEvent event) {
+        if (event.getChangeType() == CandidateChangedEvent.ChangeType.STATUS_CHANGED) {
+            // Status plays no part in matching
+            return;
+        }
+        Long candidateId = event.getCandidateId();
+        runIncremental("candidate " + candidateId, () -> {
+            if (event.getChangeType() == CandidateChangedEvent.ChangeType.DELETED) {
+                removeCandidate(candidateId);
+            } else {
+                candidateRepository.findById(candidateId).ifPresent(this::indexCandidate);
+            }
+        });
+    }
+
+    /**
+     * Refresh the blocking keys of a candidate, re-score it against its blocks and relabel the
+     * clusters it touches. Must run inside a transaction on the incremental thread, the only
+     * writer of the cluster tables. Returns the number of pairs recorded.
+     */
+    public int indexCandidate(Candidate candidate) {
+        Long candidateId = candidate.getId();
+        Map<KeyType, String> keys = refreshKeys(candidate);
+
+        // Oversized blocks (a shared office number, "info@") are capped rather than scored in full
+        Set<Long> neighbours = new HashSet<>();
+        keys.forEach((type, value) -> neighbours.addAll(
+                blockKeyRepository.findBlockMembers(type, value, candidateId, PageRequest.of(0, maxBlockSize))));
+
+        int recorded = replacePairs(candidate, pairRepository.findActiveTouching(List.of(candidateId)),
+                candidateRepository.findAllById(neighbours));
+        // Partners of removed pairs were in the candidate's cluster, so relabelling it covers them
+        relabel(List.of(candidateId));
+        return recorded;
+    }
+
+    /**
+     * Sweep one chunk of candidates. Must run inside a transaction.
+     *
+     * Chunks run in parallel, so each pair is written only while sweeping its larger candidate id:
+     * a worker never deletes or upserts a pair row another worker can touch, and only refreshes
+     * the block keys of its own candidates. Clusters are relabelled on the incremental thread
+     * once the chunk has committed. A smaller candidate that has never been indexed and whose keys
+     * a parallel chunk is still writing is matched on the next sweep or its next edit.
+     */
+    public int indexChunk(List<Long> candidateIds) {
+        List<Candidate> candidates = candidateRepository.findAllById(candidateIds);
+        Map<Long, Map<KeyType, String>> keys = new HashMap<>();
+        // Keys first, so candidates of the same chunk find each other
+        for (Candidate candidate : candidates) {
+            keys.put(candidate.getId(), refreshKeys(candidate));
+        }
+
+        int recorded = 0;
+        for (Candidate candidate : candidates) {
+            Set<Long> lower = new HashSet<>();
+            keys.get(candidate.getId()).forEach((type, value) -> lower.addAll(blockKeyRepository.findBlockMembersBelow(
+                    type, value, candidate.getId(), PageRequest.of(0, maxBlockSize))));
+            recorded += replacePairs(candidate,
+                    pairRepository.findActiveByDuplicateCandidateId(candidate.getId()),
+                    candidateRepository.findAllById(lower));
+        }
+
+        relabelAfterCommit(candidateIds);
+        return recorded;
+    }
+
+    /**
+     * Drop every key and pair of a deleted candidate and relabel its former cluster.
+     * Must run inside a transaction on the incremental thread.
+     */
+    public void removeCandidate(Long candidateId) {
+        blockKeyRepository.deleteByCandidateId(candidateId);
+        pairRepository.deleteAllByCandidateId(candidateId);
+        relabel(Set.of(candidateId));
+    }
+
+    /**
+     * Clusters of active pairs, largest and strongest first. Clusters are built from every pair
+     * above dedup.min-score; a higher minScore hides clusters and pairs below it without
+     * splitting the clusters.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<DuplicateClusterResponse> getClusters(Double minScore, int page, int size) {
+        double threshold = minScore != null ? minScore : defaultMinScore;
+        Page<DuplicateCluster> clusters = clusterRepository.findByMaxScoreGreaterThanEqual(threshold,
+                PageRequest.of(page, size, Sort.by(Sort.Order.desc("memberCount"), Sort.Order.desc("maxScore"),
+                        Sort.Order.asc("id"))));
+        if (clusters.isEmpty()) {
+            return PageResponse.of(new PageImpl<>(List.of(), clusters.getPageable(), clusters.getTotalElements()));
+        }
+
+        // Only the members and pairs of this page are loaded
+        Map<Long, List<Long>> membersByCluster = clusterMemberRepository.findByClusterIdIn(
+                        clusters.map(DuplicateCluster::getId).getContent()).stream()
+                .collect(Collectors.groupingBy(DuplicateClusterMember::getClusterId, TreeMap::new,
+                        Collectors.mapping(DuplicateClusterMember::getCandidateId, Collectors.toList())));
+        Set<Long> ids = membersByCluster.values().stream().flatMap(List::stream).collect(Collectors.toSet());
+        Map<Long, Candidate> candidates = candidateRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Candidate::getId, Function.identity()));
+        Map<Long, List<DuplicateCandidatePair>> pairsByCandidate = pairRepository.findActiveAmong(ids, threshold).stream()
+                .collect(Collectors.groupingBy(DuplicateCandidatePair::getCandidateId));
+
+        return PageResponse.of(clusters.map(cluster -> {
+            List<Long> members = membersByCluster.getOrDefault(cluster.getId(), List.of()).stream()
+                    .sorted()
+                    .collect(Collectors.toList());
+            return DuplicateClusterResponse.builder()
+                    .maxScore(cluster.getMaxScore())
+                    .candidates(members.stream()
+                            .map(candidates::get)
+                            .filter(Objects::nonNull)
+                            .map(this::toSummary)
+                            .collect(Collectors.toList()))
+                    .pairs(members.stream()
+                            .flatMap(id -> pairsByCandidate.getOrDefault(id, List.of()).stream())
+                            .sorted(Comparator.comparing(DuplicateCandidatePair::getScore).reversed())
+                            .map(this::toPairResponse)
+                            .collect(Collectors.toList()))
+                    .build();
+        }));
+    }
+
+    @Transactional(readOnly = true)
+    public List<DuplicatePairResponse> getDuplicatesOf(Long candidateId) {
+        if (!candidateRepository.existsById(candidateId)) {
+            throw new ResourceNotFoundException("Candidate", "id", candidateId);
+        }
+        return pairRepository.findByCandidate(candidateId).stream()
+                .map(this::toPairResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Mark a pair as "not a duplicate"; re-indexing keeps dismissed pairs dismissed.
+     */
+    @Transactional
+    public DuplicatePairResponse dismissPair(Long pairId) {
+        DuplicateCandidatePair pair = pairRepository.findById(pairId)
+                .orElseThrow(() -> new ResourceNotFoundException("Duplicate pair", "id", pairId));
+        pair.setDismissed(true);
+        // Dismissing a pair can split its cluster
+        relabelAfterCommit(List.of(pair.getCandidateId(), pair.getDuplicateCandidateId()));
+        return toPairResponse(pair);
+    }
+
+    /**
+     * Write the candidate's current keys, touching only the rows that changed.
+     */
+    private Map<KeyType, String> refreshKeys(Candidate candidate) {
+        Map<KeyType, String> keys = CandidateSimilarity.blockKeys(candidate);
+        Map<KeyType, String> missing = new EnumMap<>(keys);
+        List<CandidateBlockKey> stale = new ArrayList<>();
+        for (CandidateBlockKey key : blockKeyRepository.findByCandidateId(candidate.getId())) {
+            if (key.getKeyValue().equals(missing.get(key.getKeyType()))) {
+                missing.remove(key.getKeyType());
+            } else {
+                stale.add(key);
+            }
+        }
+        if (!stale.isEmpty()) {
+            blockKeyRepository.deleteAllInBatch(stale);
+        }
+        blockKeyRepository.saveAll(missing.entrySet().stream()
+                .map(key -> new CandidateBlockKey(null, candidate.getId(), key.getKey(), key.getValue()))
+                .collect(Collectors.toList()));
+        return keys;
+    }
+
+    /**
+     * Score the candidate against the others and bring its active pairs in line: stale ones are
+     * deleted by primary key and only new or changed ones are written.
+     */
+    private int replacePairs(Candidate candidate, List<DuplicateCandidatePair> existing, List<Candidate> others) {
+        Long candidateId = candidate.getId();
+        Map<Long, DuplicateCandidatePair> existingByOther = existing.stream()
+                .collect(Collectors.toMap(pair -> otherOf(pair, candidateId), Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        int recorded = 0;
+        for (Candidate other : others) {
+            CandidateSimilarity.Match match = CandidateSimilarity.score(candidate, other);
+            if (match.getScore() < defaultMinScore) {
+                continue;
+            }
+            recorded++;
+            DuplicateCandidatePair current = existingByOther.remove(other.getId());
+            if (current == null || !current.getScore().equals(match.getScore())
+                    || !Objects.equals(current.getReasons(), match.getReasons())) {
+                pairRepository.upsert(Math.min(candidateId, other.getId()), Math.max(candidateId, other.getId()),
+                        match.getScore(), match.getReasons(), now);
+            }
+        }
+        if (!existingByOther.isEmpty()) {
+            pairRepository.deleteAllInBatch(existingByOther.values());
+        }
+        return recorded;
+    }
+
+    /**
+     * Recompute the clusters containing the given candidates. Must run on the incremental thread,
+     * so the cluster tables have a single writer.
+     */
+    private void relabel(Collection<Long> candidateIds) {
+        // Everything connected to the candidates now, plus everything that was in their clusters
+        Set<Long> visited = new HashSet<>();
+        Map<Long, DuplicateCandidatePair> pairs = new HashMap<>();
+        Set<Long> frontier = new HashSet<>(candidateIds);
+        while (!frontier.isEmpty()) {
+            visited.addAll(frontier);
+            Set<Long> next = new HashSet<>(clusterMemberRepository.findClusterMatesOf(frontier));
+            for (DuplicateCandidatePair pair : pairRepository.findActiveTouching(frontier)) {
+                pairs.put(pair.getId(), pair);
+                next.add(pair.getCandidateId());
+                next.add(pair.getDuplicateCandidateId());
+            }
+            next.removeAll(visited);
+            frontier = next;
+        }
+
+        List<Long> oldClusters = clusterMemberRepository.findClusterIdsOf(visited);
+        if (!oldClusters.isEmpty()) {
+            clusterMemberRepository.deleteByClusterIds(oldClusters);
+            clusterRepository.deleteByIds(oldClusters);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<DuplicateCluster> clusters = new ArrayList<>();
+        List<DuplicateClusterMember> members = new ArrayList<>();
+        for (SortedSet<Long> component : DuplicateClustering.components(pairs.values())) {
+            Long clusterId = component.first();
+            double maxScore = pairs.values().stream()
+                    .filter(pair -> component.contains(pair.getCandidateId()))
+                    .mapToDouble(DuplicateCandidatePair::getScore)
+                    .max().orElse(0.0);
+            clusters.add(new DuplicateCluster(clusterId, component.size(), maxScore, now));
+            component.forEach(id -> members.add(new DuplicateClusterMember(id, clusterId)));
+        }
+        clusterRepository.saveAll(clusters);
+        clusterMemberRepository.saveAll(members);
+    }
+
+    private void relabelAfterCommit(Collection<Long> candidateIds) {
+        Set<Long> ids = new HashSet<>(candidateIds);
+        Runnable task = () -> runIncremental("cluster relabel of " + ids.size() + " candidates",
+                () -> relabel(ids));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    /**
+     * Run work in its own transaction on the incremental thread; a full queue is left to the next sweep.
+     */
+    private void runIncremental(String description, Runnable work) {
+        try {
+            incrementalExecutor.execute(() -> {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> work.run());
+                } catch (RuntimeException e) {
+                    log.warn("Duplicate detection failed: {}", description, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The next sweep picks the candidates up
+            log.warn("Duplicate detection queue full, skipping {}", description);
+        }
+    }
+
+    private static Long otherOf(DuplicateCandidatePair pair, Long candidateId) {
+        return pair.getCandidateId().equals(candidateId) ? pair.getDuplicateCandidateId() : pair.getCandidateId();
+    }
+
+    private DuplicateClusterResponse.CandidateSummary toSummary(Candidate candidate) {
+        return DuplicateClusterResponse.CandidateSummary.builder()
+                .id(candidate.getId())
+                .firstName(candidate.getFirstName())
+                .lastName(candidate.getLastName())
+                .email(candidate.getEmail())
+                .phone(candidate.getPhone())
+                .status(candidate.getStatus() != null ? candidate.getStatus().name() : null)
+                .sourceHrId(candidate.getSourceHrId())
+                .createdAt(candidate.getCreatedAt())
+                .build();
+    }
+
+    private DuplicatePairResponse toPairResponse(DuplicateCandidatePair pair) {
+        return DuplicatePairResponse.builder()
+                .id(pair.getId())
+                .candidateId(pair.getCandidateId())
+                .duplicateCandidateId(pair.getDuplicateCandidateId())
+                .score(pair.getScore())
+                .reasons(pair.getReasons())
+                .dismissed(pair.getDismissed())
+                .detectedAt(pair.getDetectedAt())
+                .build();
+    }
+}
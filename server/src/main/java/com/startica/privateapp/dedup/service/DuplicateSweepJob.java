@@ -0,0 +1,48 @@
+package com.startica.privateapp.dedup.service;
+
+import com.startica.privateapp.batch.service.BatchJob;
+import com.startica.privateapp.repository.CandidateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Rebuilds blocking keys, duplicate pairs and clusters for every candidate. Chunks run in
+ * parallel; see {@link DuplicateDetectionService#indexChunk} for how they stay apart.
+ */
+@Component
+@RequiredArgsConstructor
+public class DuplicateSweepJob implements BatchJob {
+
+    public static final String NAME = "candidate-duplicate-sweep";
+
+    private final CandidateRepository candidateRepository;
+    private final DuplicateDetectionService duplicateDetectionService;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Re-index all candidates for duplicate detection";
+    }
+
+    @Override
+    public List<Long> readChunk(Long afterId, int limit) {
+        return candidateRepository.findIdsAfter(afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public void processChunk(List<Long> ids) {
+        duplicateDetectionService.indexChunk(ids);
+    }
+
+    @Override
+    public long countRemaining(Long afterId) {
+        return candidateRepository.countByIdGreaterThan(afterId);
+    }
+}
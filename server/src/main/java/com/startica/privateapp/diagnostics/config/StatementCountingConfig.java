@@ -0,0 +1,32 @@
+package com.startica.privateapp.diagnostics.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Statement counting for finding N+1 queries, enabled with diagnostics.statements.enabled=true.
+ * Wraps the application's DataSource, whether the default pool or the bulkhead routing one, in
+ * a {@link StatementCountingDataSource}. Used by the integration tests and for local runs, not
+ * in production.
+ */
+@Configuration
+@ConditionalOnProperty(name = "diagnostics.statements.enabled", havingValue = "true")
+public class StatementCountingConfig {
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
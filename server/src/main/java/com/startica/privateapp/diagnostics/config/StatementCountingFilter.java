@@ -0,0 +1,53 @@
+package com.startica.privateapp.diagnostics.config;
+
+import com.startica.privateapp.diagnostics.service.StatementBudgetService;
+import com.startica.privateapp.diagnostics.service.StatementRecorder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the statements of each request, including the security filters' lookups, and hands
+ * them to {@link StatementBudgetService} under the matched route, e.g. "GET /api/hr/openings/{id}".
+ */
+@Component
+@ConditionalOnProperty(name = "diagnostics.statements.enabled", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class StatementCountingFilter extends OncePerRequestFilter {
+
+    private final StatementBudgetService statementBudgetService;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StatementRecorder.start();
+        StatementRecorder.Recording recording;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            recording = StatementRecorder.stop();
+        }
+
+        // Unmapped requests (404s, rejected by security) have no pattern and are not tracked
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            statementBudgetService.record(request.getMethod() + " " + pattern, recording);
+        }
+    }
+}
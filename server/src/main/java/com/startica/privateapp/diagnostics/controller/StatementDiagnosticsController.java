@@ -0,0 +1,39 @@
+package com.startica.privateapp.diagnostics.controller;
+
+import com.startica.privateapp.common.response.ApiResponse;
+import com.startica.privateapp.diagnostics.dto.StatementReportResponse;
+import com.startica.privateapp.diagnostics.service.StatementBudgetService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Statement counts per route, only present with diagnostics.statements.enabled=true
+ *
+ * Endpoints:
+ * - GET    /api/admin/diagnostics/statements - Max statements per request, budget, violations and
+ *          the statements responsible, for every route called since the last reset
+ * - DELETE /api/admin/diagnostics/statements - Reset the statistics
+ */
+@RestController
+@RequestMapping("/api/admin/diagnostics/statements")
+@ConditionalOnProperty(name = "diagnostics.statements.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class StatementDiagnosticsController {
+
+    private final StatementBudgetService statementBudgetService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<StatementReportResponse>> getReport() {
+        return ResponseEntity.ok(ApiResponse.success(statementBudgetService.report()));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<ApiResponse<Void>> reset() {
+        statementBudgetService.reset();
+        return ResponseEntity.ok(ApiResponse.success("Statement statistics reset", null));
+    }
+}
@@ -0,0 +1,36 @@
+package com.startica.privateapp.diagnostics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statements per request for every route called since the last reset.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatementReportResponse {
+    private long violations;
+    private List<EndpointStatements> endpoints;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EndpointStatements {
+        private String endpoint;
+        private long requests;
+        private int maxStatements;
+        // Null when the route has no budget
+        private Integer budget;
+        private long violations;
+        // Most frequent statement shapes of the request that issued maxStatements
+        private Map<String, Integer> worstStatements;
+    }
+}
@@ -0,0 +1,123 @@
+package com.startica.privateapp.diagnostics.service;
+
+import com.startica.privateapp.diagnostics.dto.StatementReportResponse;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Checks each request's statement count against the budget of its route and keeps per-route
+ * statistics for GET /api/admin/diagnostics/statements.
+ *
+ * Budgets come from a plain text file (diagnostics.statements.budgets), one route per line:
+ * "GET /api/hr/openings 8". A budget is a flat number on purpose: a list endpoint whose count
+ * grows with the page size blows it on the first large page.
+ */
+@Service
+@ConditionalOnProperty(name = "diagnostics.statements.enabled", havingValue = "true")
+@Slf4j
+public class StatementBudgetService {
+
+    private final Map<String, Integer> budgets = new HashMap<>();
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    @Value("${diagnostics.statements.budgets:classpath:statement-budgets.txt}")
+    private Resource budgetFile;
+
+    @Value("${diagnostics.statements.top-statements:5}")
+    private int topStatements;
+
+    @PostConstruct
+    void loadBudgets() throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(budgetFile.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\\s+");
+                if (parts.length != 3) {
+                    throw new IllegalStateException("Invalid statement budget line: " + line);
+                }
+                budgets.put(parts[0] + " " + parts[1], Integer.parseInt(parts[2]));
+            }
+        }
+        log.info("Statement counting enabled with {} route budgets", budgets.size());
+    }
+
+    public void record(String endpoint, StatementRecorder.Recording recording) {
+        Integer budget = budgets.get(endpoint);
+        boolean over = budget != null && recording.getCount() > budget;
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, key -> new EndpointStats());
+        synchronized (endpointStats) {
+            endpointStats.requests++;
+            if (over) {
+                endpointStats.violations++;
+            }
+            if (endpointStats.worst == null || recording.getCount() > endpointStats.maxStatements) {
+                endpointStats.maxStatements = recording.getCount();
+                endpointStats.worst = top(recording.getStatements());
+            }
+        }
+        if (over) {
+            log.warn("{} issued {} statements, budget is {}; most frequent: {}",
+                    endpoint, recording.getCount(), budget, top(recording.getStatements()));
+        }
+    }
+
+    public StatementReportResponse report() {
+        List<StatementReportResponse.EndpointStatements> endpoints = new ArrayList<>();
+        long violations = 0;
+        for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(stats).entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            synchronized (endpointStats) {
+                violations += endpointStats.violations;
+                endpoints.add(StatementReportResponse.EndpointStatements.builder()
+                        .endpoint(entry.getKey())
+                        .requests(endpointStats.requests)
+                        .maxStatements(endpointStats.maxStatements)
+                        .budget(budgets.get(entry.getKey()))
+                        .violations(endpointStats.violations)
+                        .worstStatements(endpointStats.worst)
+                        .build());
+            }
+        }
+        return StatementReportResponse.builder()
+                .violations(violations)
+                .endpoints(endpoints)
+                .build();
+    }
+
+    /**
+     * Forget all statistics, e.g. between measured requests in StatementBudgetIntegrationTest.
+     */
+    public void reset() {
+        stats.clear();
+    }
+
+    private Map<String, Integer> top(Map<String, Integer> statements) {
+        return statements.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(topStatements)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    private static final class EndpointStats {
+        private long requests;
+        private long violations;
+        private int maxStatements;
+        private Map<String, Integer> worst;
+    }
+}
@@ -0,0 +1,65 @@
+package com.startica.privateapp.diagnostics.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Collects the SQL statements issued by the current thread between {@link #start} and
+ * {@link #stop}. Work handed to other threads (async jobs, executors) is not attributed to the
+ * request that started it.
+ */
+public final class StatementRecorder {
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // "in (?, ?, ?)" with any number of binds counts as one statement shape
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\((\\s*\\?\\s*,)*\\s*\\?\\s*\\)");
+    private static final int MAX_SQL_LENGTH = 300;
+
+    private StatementRecorder() {
+    }
+
+    public static void start() {
+        CURRENT.set(new Recording());
+    }
+
+    public static Recording stop() {
+        Recording recording = CURRENT.get();
+        CURRENT.remove();
+        return recording;
+    }
+
+    public static void record(String sql) {
+        Recording recording = CURRENT.get();
+        if (recording != null && sql != null) {
+            recording.add(normalize(sql));
+        }
+    }
+
+    static String normalize(String sql) {
+        String shape = IN_LIST.matcher(WHITESPACE.matcher(sql.trim()).replaceAll(" ")).replaceAll("in (...)");
+        return shape.length() > MAX_SQL_LENGTH ? shape.substring(0, MAX_SQL_LENGTH) + "..." : shape;
+    }
+
+    public static final class Recording {
+        private final Map<String, Integer> statements = new HashMap<>();
+        private int count;
+
+        private void add(String sql) {
+            statements.merge(sql, 1, Integer::sum);
+            count++;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Statement count per normalized SQL; a shape repeated once per row is the N+1.
+         */
+        public Map<String, Integer> getStatements() {
+            return statements;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -16,15 +17,24 @@ import org.json.JSONObject; // add this import
 @Table(name = "candidates", indexes = {
     @Index(name = "idx_status", columnList = "status"),
     @Index(name = "idx_created_at", columnList = "created_at"),
+    @Index(name = "idx_updated_at", columnList = "updated_at"),
     @Index(name = "idx_source_hr_id", columnList = "source_hr_id"),
     @Index(name = "idx_email", columnList = "email"),
     @Index(name = "idx_phone", columnList = "phone")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = Candidate.UK_EMAIL_NORMALIZED, columnNames = "email_normalized"),
+    @UniqueConstraint(name = Candidate.UK_PHONE_NORMALIZED, columnNames = "phone_normalized")
 })
+// Soft-deleted rows are invisible to JPA until CandidatePurgeService removes them
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Candidate {
 
+    public static final String UK_EMAIL_NORMALIZED = "uk_candidates_email_normalized";
+    public static final String UK_PHONE_NORMALIZED = "uk_candidates_phone_normalized";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -41,6 +51,13 @@ public class Candidate {
     @Column(length = 20)
     private String phone;
 
+    // Lower-cased email and digits-only phone; uniquely indexed so duplicates are rejected by the database
+    @Column(name = "email_normalized", length = 120)
+    private String emailNormalized;
+
+    @Column(name = "phone_normalized", length = 20)
+    private String phoneNormalized;
+
     @Column(length = 120)
     private String location;
 
@@ -85,20 +102,14 @@ public class Candidate {
     @Column(name = "source_hr_id")
     private Long sourceHrId;
 
-    @Column(columnDefinition = "TEXT")
-    private String notes;
-
     @Column(name = "hr_remark", columnDefinition = "TEXT")
     private String hrRemark;
 
     @Column(name = "admin_remark", columnDefinition = "TEXT")
     private String adminRemark;
 
-    @Column(name = "employment_history", columnDefinition = "TEXT")
-    private String employmentHistory;
-
-    @Column(name = "education", columnDefinition = "TEXT")
-    private String education;
+    // notes, employment history and education live in candidate_details (CandidateDetails),
+    // so list queries never read those blobs
 
     @Column(name = "experience_level", length = 120)
     private String experienceLevel;
@@ -116,6 +127,9 @@ public class Candidate {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
 //    @PrePersist
 //    protected void onCreate() {
 //        createdAt = LocalDateTime.now();
@@ -142,13 +156,33 @@ protected void onCreate() {
         status = CandidateStatus.PENDING;
     }
 
-    updatePercentageFromEducation();   // 🔥
+    normalizeContactDetails();
 }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
-        updatePercentageFromEducation();   // 🔥
+        normalizeContactDetails();
+    }
+
+    private void normalizeContactDetails() {
+        emailNormalized = normalizeEmail(email);
+        phoneNormalized = normalizePhone(phone);
+    }
+
+    public static String normalizeEmail(String email) {
+        if (email == null || email.trim().isEmpty()) {
+            return null;
+        }
+        return email.trim().toLowerCase();
+    }
+
+    public static String normalizePhone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        String digits = phone.replaceAll("\\D", "");
+        return digits.isEmpty() ? null : digits;
     }
 
     public enum CandidateStatus {
@@ -191,7 +225,7 @@ protected void onCreate() {
 //            // Just keep whatever was already set
 //        }
 //    }
-    public void updatePercentageFromEducation() {
+    public void updatePercentageFromEducation(String education) {
         if (education == null || education.trim().isEmpty()) {
             return;
         }
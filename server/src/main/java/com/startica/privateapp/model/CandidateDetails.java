@@ -0,0 +1,44 @@
+package com.startica.privateapp.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Large free-text fields of a candidate, kept out of the candidates row.
+ * Shares the candidate's primary key and is only read for the detail view.
+ */
+@Entity
+@Table(name = "candidate_details")
+@Data
+@NoArgsConstructor
+public class CandidateDetails {
+
+    @Id
+    @Column(name = "candidate_id")
+    private Long candidateId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "candidate_id")
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Candidate candidate;
+
+    @Column(columnDefinition = "TEXT")
+    private String notes;
+
+    @Column(name = "employment_history", columnDefinition = "TEXT")
+    private String employmentHistory;
+
+    @Column(name = "education", columnDefinition = "TEXT")
+    private String education;
+
+    public CandidateDetails(Candidate candidate) {
+        this.candidate = candidate;
+    }
+}
@@ -8,8 +8,11 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "candidate_history", indexes = {
-    @Index(name = "idx_candidate_id", columnList = "candidate_id"),
-    @Index(name = "idx_timestamp", columnList = "timestamp")
+    // Audit browsing pages on (timestamp, id); InnoDB appends the id to every secondary index
+    @Index(name = "idx_timestamp", columnList = "timestamp"),
+    @Index(name = "idx_history_candidate_time", columnList = "candidate_id, timestamp"),
+    @Index(name = "idx_history_actor_time", columnList = "actor_id, timestamp"),
+    @Index(name = "idx_history_action_time", columnList = "action, timestamp")
 })
 @Data
 @NoArgsConstructor
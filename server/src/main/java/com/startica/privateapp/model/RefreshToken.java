@@ -8,8 +8,11 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "refresh_tokens", indexes = {
-    @Index(name = "idx_token", columnList = "token"),
-    @Index(name = "idx_user_id", columnList = "user_id")
+    @Index(name = "idx_refresh_tokens_expiry", columnList = "expiry_date")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_refresh_tokens_token_hash", columnNames = "token_hash"),
+    // One refresh token per user, replaced in place on every login
+    @UniqueConstraint(name = "uk_refresh_tokens_user_id", columnNames = "user_id")
 })
 @Data
 @NoArgsConstructor
@@ -20,8 +23,9 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 500)
-    private String token;
+    // SHA-256 of the token handed to the client; the token itself is never stored
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
 
     @Column(name = "user_id", nullable = false)
     private Long userId;
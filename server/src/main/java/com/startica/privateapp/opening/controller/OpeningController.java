@@ -6,10 +6,12 @@ import com.startica.privateapp.model.User;
 import com.startica.privateapp.opening.dto.ApplyCandidateRequest;
 import com.startica.privateapp.opening.dto.CandidateApplicationResponse;
 import com.startica.privateapp.opening.dto.CreateOpeningRequest;
+import com.startica.privateapp.opening.dto.OpeningPipelineResponse;
 import com.startica.privateapp.opening.dto.OpeningResponse;
 import com.startica.privateapp.opening.dto.UpdateOpeningRequest;
 import com.startica.privateapp.opening.model.OpeningStatus;
 import com.startica.privateapp.opening.service.CandidateApplicationService;
+import com.startica.privateapp.opening.service.OpeningPipelineService;
 import com.startica.privateapp.opening.service.OpeningService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -34,6 +36,7 @@ public class OpeningController {
     private final OpeningService openingService;
     private final CandidateApplicationService applicationService;
     private final AuthService authService;
+    private final OpeningPipelineService openingPipelineService;
 
     @GetMapping
     public ResponseEntity<ApiResponse<Page<OpeningResponse>>> getAllOpenings(
@@ -214,6 +217,18 @@ public class OpeningController {
         return ResponseEntity.ok(ApiResponse.success("Count retrieved successfully", count));
     }
     
+    @GetMapping("/{openingId}/pipeline")
+    public ResponseEntity<ApiResponse<OpeningPipelineResponse>> getPipeline(@PathVariable Long openingId) {
+        OpeningPipelineResponse pipeline = openingPipelineService.getPipeline(openingId);
+        return ResponseEntity.ok(ApiResponse.success("Pipeline retrieved successfully", pipeline));
+    }
+    
+    @GetMapping("/pipeline")
+    public ResponseEntity<ApiResponse<List<OpeningPipelineResponse>>> getPipelines(@RequestParam List<Long> ids) {
+        List<OpeningPipelineResponse> pipelines = openingPipelineService.getPipelines(ids);
+        return ResponseEntity.ok(ApiResponse.success("Pipelines retrieved successfully", pipelines));
+    }
+    
     @GetMapping("/candidates/{candidateId}/applications")
     public ResponseEntity<ApiResponse<List<CandidateApplicationResponse>>> getCandidateApplications(
         @PathVariable Long candidateId
@@ -0,0 +1,22 @@
+package com.startica.privateapp.opening.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Number of applications per application status for one opening. The standard pipeline
+ * stages are always present (zero when empty); any other status found is appended.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpeningPipelineResponse {
+    private Long openingId;
+    private Map<String, Long> counts;
+    private long total;
+}
@@ -4,19 +4,23 @@ import com.startica.privateapp.opening.model.CandidateOpening;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CandidateOpeningRepository extends JpaRepository<CandidateOpening, Long> {
     
-    // Find all applications for a specific opening with pagination
-    @Query("SELECT co FROM CandidateOpening co " +
-           "WHERE co.opening.id = :openingId")
+    // Find all applications for a specific opening with pagination, candidates fetched in the same query
+    @Query(value = "SELECT co FROM CandidateOpening co " +
+           "LEFT JOIN FETCH co.candidate " +
+           "WHERE co.opening.id = :openingId",
+           countQuery = "SELECT COUNT(co) FROM CandidateOpening co WHERE co.opening.id = :openingId")
     Page<CandidateOpening> findByOpeningId(@Param("openingId") Long openingId, Pageable pageable);
     
     // Find all openings a candidate has applied to
@@ -33,6 +37,20 @@ public interface CandidateOpeningRepository extends JpaRepository<CandidateOpeni
     // Count applications for an opening
     long countByOpeningId(Long openingId);
     
+    // Rows of opening id, application count for all the given openings at once
+    @Query("SELECT co.opening.id, COUNT(co) FROM CandidateOpening co " +
+           "WHERE co.opening.id IN :openingIds " +
+           "GROUP BY co.opening.id")
+    List<Object[]> countByOpeningIds(@Param("openingIds") Collection<Long> openingIds);
+    
+    // Reports: rows of opening id, application count for every opening
+    @Query("SELECT co.opening.id, COUNT(co) FROM CandidateOpening co GROUP BY co.opening.id")
+    List<Object[]> countGroupedByOpening();
+    
+    // Reports: rows of candidate id, application count for every candidate
+    @Query("SELECT co.candidate.id, COUNT(co) FROM CandidateOpening co GROUP BY co.candidate.id")
+    List<Object[]> countGroupedByCandidate();
+    
     // Count applications by a candidate
     long countByCandidateId(Long candidateId);
     
@@ -47,8 +65,19 @@ public interface CandidateOpeningRepository extends JpaRepository<CandidateOpeni
     List<CandidateOpening> findByOpeningIdAndStatus(@Param("openingId") Long openingId, 
                                                      @Param("status") String status);
     
+    // Pipeline board: rows of opening id, application status, count for all the given openings at once
+    @Query("SELECT co.opening.id, co.applicationStatus, COUNT(co) FROM CandidateOpening co " +
+           "WHERE co.opening.id IN :openingIds " +
+           "GROUP BY co.opening.id, co.applicationStatus")
+    List<Object[]> countByOpeningIdsAndStatus(@Param("openingIds") Collection<Long> openingIds);
+    
     // Delete application
     void deleteByCandidateIdAndOpeningId(Long candidateId, Long openingId);
+
+    // Delete every application of the given candidates in one statement
+    @Modifying
+    @Query("DELETE FROM CandidateOpening co WHERE co.candidate.id IN :candidateIds")
+    int deleteByCandidateIds(@Param("candidateIds") List<Long> candidateIds);
     
     // Get candidate IDs who applied to a specific opening
     @Query("SELECT co.candidate.id FROM CandidateOpening co WHERE co.opening.id = :openingId")
@@ -20,7 +20,9 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,6 +34,7 @@ public class CandidateApplicationService {
     private final OpeningRepository openingRepository;
     private final CandidateRepository candidateRepository;
     private final UserRepository userRepository;
+    private final OpeningPipelineService openingPipelineService;
     
     @Transactional
     public CandidateApplicationResponse applyToOpening(Long openingId, ApplyCandidateRequest request, Long userId) {
@@ -57,6 +60,7 @@ public class CandidateApplicationService {
             .build();
         
         CandidateOpening saved = candidateOpeningRepository.save(application);
+        openingPipelineService.invalidate(openingId);
         log.info("Successfully applied candidate {} to opening {}", request.getCandidateId(), openingId);
         
         return mapToResponse(saved);
@@ -70,6 +74,7 @@ public class CandidateApplicationService {
             .orElseThrow(() -> new ResourceNotFoundException("Application not found"));
         
         candidateOpeningRepository.delete(application);
+        openingPipelineService.invalidate(openingId);
         log.info("Successfully removed application");
     }
     
@@ -105,6 +110,7 @@ public class CandidateApplicationService {
         
         application.setApplicationStatus(status);
         CandidateOpening updated = candidateOpeningRepository.save(application);
+        openingPipelineService.invalidate(openingId);
         
         return mapToResponse(updated);
     }
@@ -125,6 +131,18 @@ public class CandidateApplicationService {
         return candidateOpeningRepository.countByOpeningId(openingId);
     }
     
+    /**
+     * Application counts for many openings in one query; openings without applications are absent.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> countOpeningApplications(Collection<Long> openingIds) {
+        if (openingIds.isEmpty()) {
+            return Map.of();
+        }
+        return candidateOpeningRepository.countByOpeningIds(openingIds).stream()
+            .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+    }
+    
     @Transactional(readOnly = true)
     public long countCandidateApplications(Long candidateId) {
         return candidateOpeningRepository.countByCandidateId(candidateId);
@@ -0,0 +1,176 @@
+package com.startica.privateapp.opening.service;
+
+import com.startica.privateapp.common.exception.BusinessException;
+import com.startica.privateapp.opening.dto.OpeningPipelineResponse;
+import com.startica.privateapp.opening.repository.CandidateOpeningRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Application counts per status for openings, as shown on the openings board.
+ *
+ * Counts for any number of openings come from one GROUP BY over candidate_openings and are
+ * cached per opening. Anything that adds, removes or moves an application, or deletes an
+ * opening, must call {@link #invalidate}; the TTL only covers changes made outside the application.
+ */
+@Service
+@RequiredArgsConstructor
+public class OpeningPipelineService {
+
+    public static final List<String> PIPELINE_STAGES = List.of("APPLIED", "REVIEWING", "SHORTLISTED", "REJECTED", "HIRED");
+
+    private final CandidateOpeningRepository candidateOpeningRepository;
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+    // Bumped on every invalidation, so counts loaded while an opening changed are not cached.
+    // Guarded by snapshots' monitor, like every write to snapshots.
+    private final Map<Long, Long> generations = new HashMap<>();
+    private long allGeneration;
+
+    @Value("${openings.pipeline-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${openings.pipeline-cache.max-size:2000}")
+    private int maxSize;
+
+    @Value("${openings.pipeline.max-openings-per-request:200}")
+    private int maxOpeningsPerRequest;
+
+    @Transactional(readOnly = true)
+    public OpeningPipelineResponse getPipeline(Long openingId) {
+        return getPipelines(List.of(openingId)).get(0);
+    }
+
+    /**
+     * Pipelines in the order of the given ids; unknown openings come back with zero counts.
+     */
+    @Transactional(readOnly = true)
+    public List<OpeningPipelineResponse> getPipelines(Collection<Long> openingIds) {
+        List<Long> ids = openingIds.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (ids.size() > maxOpeningsPerRequest) {
+            throw new BusinessException("At most " + maxOpeningsPerRequest + " openings can be requested at once");
+        }
+
+        long now = System.currentTimeMillis();
+        Map<Long, Map<String, Long>> counts = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            Snapshot snapshot = snapshots.get(id);
+            if (snapshot != null && now - snapshot.loadedAt <= ttlSeconds * 1000) {
+                counts.put(id, snapshot.counts);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<Long, Long> loadedGenerations = new HashMap<>();
+            long loadedAllGeneration;
+            synchronized (snapshots) {
+                loadedAllGeneration = allGeneration;
+                for (Long id : missing) {
+                    loadedGenerations.put(id, generations.getOrDefault(id, 0L));
+                }
+            }
+
+            Map<Long, Map<String, Long>> loaded = new HashMap<>();
+            for (Long id : missing) {
+                loaded.put(id, emptyPipeline());
+            }
+            for (Object[] row : candidateOpeningRepository.countByOpeningIdsAndStatus(missing)) {
+                String status = row[1] != null ? (String) row[1] : "UNKNOWN";
+                loaded.get((Long) row[0]).merge(status, (Long) row[2], Long::sum);
+            }
+
+            synchronized (snapshots) {
+                if (snapshots.size() + loaded.size() > maxSize) {
+                    snapshots.values().removeIf(s -> now - s.loadedAt > ttlSeconds * 1000);
+                    if (snapshots.size() + loaded.size() > maxSize) {
+                        snapshots.clear();
+                    }
+                }
+                loaded.forEach((id, pipeline) -> {
+                    Map<String, Long> frozen = Collections.unmodifiableMap(pipeline);
+                    counts.put(id, frozen);
+                    // An invalidation since the query started means it may have read pre-commit rows
+                    if (allGeneration == loadedAllGeneration
+                            && generations.getOrDefault(id, 0L).equals(loadedGenerations.get(id))) {
+                        snapshots.put(id, new Snapshot(frozen, now));
+                    }
+                });
+            }
+        }
+
+        return ids.stream()
+                .map(id -> OpeningPipelineResponse.builder()
+                        .openingId(id)
+                        .counts(counts.get(id))
+                        .total(counts.get(id).values().stream().mapToLong(Long::longValue).sum())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Drop the opening's counts now and again once the surrounding transaction commits. Each
+     * eviction also bumps the opening's generation, so a request whose query started before the
+     * commit does not cache what it read.
+     */
+    public void invalidate(Long openingId) {
+        afterCommitToo(() -> {
+            synchronized (snapshots) {
+                generations.merge(openingId, 1L, Long::sum);
+                snapshots.remove(openingId);
+            }
+        });
+    }
+
+    /**
+     * For bulk changes that do not know which openings they touched, e.g. deleting candidates.
+     */
+    public void invalidateAll() {
+        afterCommitToo(() -> {
+            synchronized (snapshots) {
+                allGeneration++;
+                generations.clear();
+                snapshots.clear();
+            }
+        });
+    }
+
+    private static void afterCommitToo(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private static Map<String, Long> emptyPipeline() {
+        Map<String, Long> pipeline = new LinkedHashMap<>();
+        for (String stage : PIPELINE_STAGES) {
+            pipeline.put(stage, 0L);
+        }
+        return pipeline;
+    }
+
+    private static final class Snapshot {
+        private final Map<String, Long> counts;
+        private final long loadedAt;
+
+        private Snapshot(Map<String, Long> counts, long loadedAt) {
+            this.counts = counts;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
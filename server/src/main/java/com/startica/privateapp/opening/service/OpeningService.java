@@ -19,6 +19,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +30,7 @@ public class OpeningService {
     private final OpeningRepository openingRepository;
     private final UserRepository userRepository;
     private final CandidateApplicationService candidateApplicationService;
+    private final OpeningPipelineService openingPipelineService;
     
     @Transactional(readOnly = true)
     public Page<OpeningResponse> getAllOpenings(String search, OpeningStatus status, String department,
@@ -48,7 +50,8 @@ public class OpeningService {
             openings = openingRepository.searchOpenings(search, status, department, pageable);
         }
         
-        return openings.map(this::mapToResponse);
+        Map<Long, Long> applicationCounts = countApplications(openings.getContent());
+        return openings.map(opening -> mapToResponse(opening, applicationCounts));
     }
     
     @Transactional(readOnly = true)
@@ -123,6 +126,7 @@ public class OpeningService {
                 .orElseThrow(() -> new ResourceNotFoundException("Opening not found with id: " + id));
         
         openingRepository.delete(opening);
+        openingPipelineService.invalidate(id);
         log.info("Opening deleted successfully");
     }
     
@@ -151,8 +155,9 @@ public class OpeningService {
         } else {
             openings = openingRepository.findByStatus(status);
         }
+        Map<Long, Long> applicationCounts = countApplications(openings);
         return openings.stream()
-                .map(this::mapToResponse)
+                .map(opening -> mapToResponse(opening, applicationCounts))
                 .collect(Collectors.toList());
     }
     
@@ -165,8 +170,9 @@ public class OpeningService {
         } else {
             openings = openingRepository.findByDepartment(department);
         }
+        Map<Long, Long> applicationCounts = countApplications(openings);
         return openings.stream()
-                .map(this::mapToResponse)
+                .map(opening -> mapToResponse(opening, applicationCounts))
                 .collect(Collectors.toList());
     }
     
@@ -180,7 +186,17 @@ public class OpeningService {
         }
     }
     
+    private Map<Long, Long> countApplications(List<Opening> openings) {
+        return candidateApplicationService.countOpeningApplications(
+                openings.stream().map(Opening::getId).collect(Collectors.toList()));
+    }
+    
     private OpeningResponse mapToResponse(Opening opening) {
+        return mapToResponse(opening, Map.of(opening.getId(),
+                candidateApplicationService.countOpeningApplications(opening.getId())));
+    }
+    
+    private OpeningResponse mapToResponse(Opening opening, Map<Long, Long> applicationCounts) {
         String createdByName = userRepository.findById(opening.getCreatedBy())
                 .map(User::getFullName)
                 .orElse("Unknown");
@@ -189,8 +205,7 @@ public class OpeningService {
                 ? userRepository.findById(opening.getUpdatedBy()).map(User::getFullName).orElse("Unknown")
                 : null;
         
-        // Get applications count
-        int applicationsCount = (int) candidateApplicationService.countOpeningApplications(opening.getId());
+        int applicationsCount = applicationCounts.getOrDefault(opening.getId(), 0L).intValue();
         
         return OpeningResponse.builder()
                 .id(opening.getId())
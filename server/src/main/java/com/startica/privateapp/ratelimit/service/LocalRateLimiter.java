@@ -0,0 +1,66 @@
+package com.startica.privateapp.ratelimit.service;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buckets held in this JVM. Bucket4j's local buckets are lock-free (CAS on the bucket state),
+ * so concurrent requests never queue behind each other here. Limits are per node.
+ */
+@Service
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimiter implements RateLimiter {
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rate-limit-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${rate-limit.capacity:20}")
+    private long capacity;
+
+    @Value("${rate-limit.refill-per-minute:20}")
+    private long refillPerMinute;
+
+    @PostConstruct
+    void start() {
+        sweeper.scheduleWithFixedDelay(this::evictIdleBuckets, 5, 5, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void stop() {
+        sweeper.shutdownNow();
+    }
+
+    @Override
+    public long tryConsume(String key, long cost) {
+        Bucket bucket = buckets.computeIfAbsent(key, k -> newBucket());
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(Math.min(cost, capacity));
+        return probe.isConsumed() ? 0L : Math.max(1L, TimeUnit.NANOSECONDS.toMillis(probe.getNanosToWaitForRefill()));
+    }
+
+    private Bucket newBucket() {
+        return Bucket.builder()
+                .addLimit(limit -> limit.capacity(capacity).refillGreedy(refillPerMinute, Duration.ofMinutes(1)))
+                .build();
+    }
+
+    // A full bucket behaves exactly like a new one, so dropping it loses nothing
+    private void evictIdleBuckets() {
+        buckets.values().removeIf(bucket -> bucket.getAvailableTokens() >= capacity);
+    }
+}
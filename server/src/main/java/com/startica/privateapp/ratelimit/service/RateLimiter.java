@@ -0,0 +1,15 @@
+package com.startica.privateapp.ratelimit.service;
+
+/**
+ * Token buckets keyed by caller (user id or IP). Every caller gets {@code rate-limit.capacity}
+ * tokens, refilled at {@code rate-limit.refill-per-minute}; a request spends its route's cost.
+ */
+public interface RateLimiter {
+
+    /**
+     * Take {@code cost} tokens from the caller's bucket.
+     *
+     * @return 0 when the request may proceed, otherwise the milliseconds until enough tokens have refilled
+     */
+    long tryConsume(String key, long cost);
+}
@@ -0,0 +1,74 @@
+package com.startica.privateapp.ratelimit.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Buckets shared by all nodes through Redis. Refill and spend happen in one Lua script, so the
+ * check is atomic without any locking on the application side. Keys expire once a bucket would
+ * be full again.
+ *
+ * If Redis is unreachable requests are let through: losing the limiter is better than losing the API.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "redis")
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final String KEY_PREFIX = "rate-limit:";
+
+    // KEYS[1] bucket; ARGV: capacity, tokens per ms, cost, now (ms). Returns ms to wait, 0 if consumed.
+    private static final DefaultRedisScript<Long> CONSUME_SCRIPT = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2])
+            local cost = tonumber(ARGV[3])
+            local now = tonumber(ARGV[4])
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+            local wait = 0
+            if tokens >= cost then
+                tokens = tokens - cost
+            else
+                wait = math.ceil((cost - tokens) / rate)
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], math.ceil((capacity - tokens) / rate) + 1000)
+            return wait
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${rate-limit.capacity:20}")
+    private long capacity;
+
+    @Value("${rate-limit.refill-per-minute:20}")
+    private long refillPerMinute;
+
+    public RedisRateLimiter(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public long tryConsume(String key, long cost) {
+        double tokensPerMilli = refillPerMinute / 60_000.0;
+        try {
+            Long wait = redisTemplate.execute(CONSUME_SCRIPT, List.of(KEY_PREFIX + key),
+                    String.valueOf(capacity),
+                    String.valueOf(tokensPerMilli),
+                    String.valueOf(Math.min(cost, capacity)),
+                    String.valueOf(System.currentTimeMillis()));
+            return wait != null ? wait : 0L;
+        } catch (RuntimeException e) {
+            log.warn("Rate limiter unavailable, letting request through: {}", e.getMessage());
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.startica.privateapp.reports.controller;
+
+import com.startica.privateapp.common.response.ApiResponse;
+import com.startica.privateapp.reports.dto.ReportJobRequest;
+import com.startica.privateapp.reports.dto.ReportJobResponse;
+import com.startica.privateapp.reports.service.ReportJobService;
+import com.startica.privateapp.reports.service.ReportJobService.ReportArtifact;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Asynchronous report generation
+ *
+ * Endpoints:
+ * - POST /api/admin/reports/jobs - Submit a report (type, format JSON/CSV, filters); returns the job
+ * - GET  /api/admin/reports/jobs/{jobId} - Status and progress of a job
+ * - GET  /api/admin/reports/jobs/{jobId}/download - The finished report, gzip-encoded when the client accepts it
+ */
+@RestController
+@RequestMapping("/api/admin/reports/jobs")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<ReportJobResponse>> submit(@Valid @RequestBody ReportJobRequest request) {
+        ReportJobResponse job = reportJobService.submit(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success("Report job submitted", job));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<ReportJobResponse>> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(ApiResponse.success(reportJobService.getJob(jobId)));
+    }
+
+    @GetMapping("/{jobId}/download")
+    public ResponseEntity<Resource> download(
+            @PathVariable String jobId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) throws IOException {
+        ReportArtifact artifact = reportJobService.getArtifact(jobId);
+        boolean gzipAccepted = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(artifact.format().getContentType()));
+        headers.setContentDisposition(ContentDisposition.attachment().filename(artifact.fileName()).build());
+
+        InputStream body = Files.newInputStream(artifact.path());
+        if (gzipAccepted) {
+            // Stored compressed already, so the file goes out as-is
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            headers.setContentLength(Files.size(artifact.path()));
+        } else {
+            body = new GZIPInputStream(body);
+        }
+        return new ResponseEntity<>(new InputStreamResource(body), headers, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,40 @@
+package com.startica.privateapp.reports.dto;
+
+import com.startica.privateapp.opening.model.OpeningStatus;
+import com.startica.privateapp.reports.model.ReportFormat;
+import com.startica.privateapp.reports.model.ReportType;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Parameters of an asynchronous report. Filters that do not apply to the report type are ignored.
+ * Two requests with equal fields are the same job while one of them is still running.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobRequest {
+
+    @NotNull(message = "Report type is required")
+    private ReportType type;
+
+    @Builder.Default
+    private ReportFormat format = ReportFormat.JSON;
+
+    private LocalDateTime dateFrom;
+    private LocalDateTime dateTo;
+    private Long hrId;
+
+    // CANDIDATES only
+    private Boolean active;
+    private Long openingId;
+
+    // OPENINGS only
+    private OpeningStatus openingStatus;
+}
@@ -0,0 +1,30 @@
+package com.startica.privateapp.reports.dto;
+
+import com.startica.privateapp.reports.model.ReportFormat;
+import com.startica.privateapp.reports.model.ReportJobStatus;
+import com.startica.privateapp.reports.model.ReportType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobResponse {
+    private String jobId;
+    private ReportType type;
+    private ReportFormat format;
+    private ReportJobStatus status;
+    private Integer progressPercent;
+    private String errorMessage;
+    private String downloadUrl;
+    private Long artifactSizeBytes;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime expiresAt;
+}
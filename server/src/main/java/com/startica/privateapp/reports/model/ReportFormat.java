@@ -0,0 +1,22 @@
+package com.startica.privateapp.reports.model;
+
+public enum ReportFormat {
+    JSON("application/json", "json"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ReportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,8 @@
+package com.startica.privateapp.reports.model;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
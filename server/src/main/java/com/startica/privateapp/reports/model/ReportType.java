@@ -0,0 +1,7 @@
+package com.startica.privateapp.reports.model;
+
+public enum ReportType {
+    CANDIDATES,
+    OPENINGS,
+    HR_ACTIVITY
+}
@@ -0,0 +1,301 @@
+package com.startica.privateapp.reports.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.startica.privateapp.common.exception.BusinessException;
+import com.startica.privateapp.common.exception.ResourceNotFoundException;
+import com.startica.privateapp.common.exception.ServiceBusyException;
+import com.startica.privateapp.reports.dto.CandidateReportResponse;
+import com.startica.privateapp.reports.dto.HrActivityReportResponse;
+import com.startica.privateapp.reports.dto.JobOpeningReportResponse;
+import com.startica.privateapp.reports.dto.ReportJobRequest;
+import com.startica.privateapp.reports.dto.ReportJobResponse;
+import com.startica.privateapp.reports.model.ReportFormat;
+import com.startica.privateapp.reports.model.ReportJobStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Generates reports in the background so no request thread waits on the report queries.
+ *
+ * Jobs run on a small bounded pool; when its queue is full a submit gets a 503. A request equal
+ * to one that is still queued or running returns the existing job. Finished reports are written
+ * gzip-compressed under reports.jobs.dir and removed, with their job, after reports.jobs.ttl-minutes.
+ *
+ * Job state lives in memory, so jobs (and their files) do not outlive a restart.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportJobService {
+
+    // Analytical bulkhead full: wait and try again rather than failing a job nobody is blocking on
+    private static final int MAX_BUSY_RETRIES = 30;
+
+    private final ReportsService reportsService;
+    private final ReportsExportService exportService;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<ReportJobRequest, ReportJob> inFlight = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor workers;
+    private ScheduledExecutorService cleaner;
+    private Path artifactDir;
+
+    @Value("${reports.jobs.dir:${java.io.tmpdir}/privateapp-reports}")
+    private String artifactDirectory;
+
+    @Value("${reports.jobs.workers:2}")
+    private int workerCount;
+
+    @Value("${reports.jobs.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${reports.jobs.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    @PostConstruct
+    void start() throws IOException {
+        artifactDir = Paths.get(artifactDirectory);
+        Files.createDirectories(artifactDir);
+        // Files left by a previous run have no job any more
+        try (Stream<Path> leftovers = Files.list(artifactDir)) {
+            leftovers.filter(path -> path.getFileName().toString().endsWith(".gz")).forEach(this::deleteQuietly);
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "report-job-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "report-job-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cleaner.scheduleWithFixedDelay(this::removeExpiredJobs, 5, 5, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void stop() {
+        cleaner.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    public ReportJobResponse submit(ReportJobRequest request) {
+        if (request.getFormat() == null) {
+            request.setFormat(ReportFormat.JSON);
+        }
+
+        ReportJob created = new ReportJob(UUID.randomUUID().toString(), request);
+        ReportJob job = inFlight.putIfAbsent(request, created);
+        if (job != null) {
+            log.info("Report request matches in-flight job {}", job.id);
+            return job.toResponse();
+        }
+
+        jobs.put(created.id, created);
+        try {
+            workers.execute(() -> run(created));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(request, created);
+            jobs.remove(created.id);
+            throw new ServiceBusyException("Too many reports are queued, please retry shortly", 30);
+        }
+        log.info("Queued {} report job {}", request.getType(), created.id);
+        return created.toResponse();
+    }
+
+    public ReportJobResponse getJob(String jobId) {
+        return findJob(jobId).toResponse();
+    }
+
+    /**
+     * The finished artifact of a job. The file is gzip-compressed.
+     */
+    public ReportArtifact getArtifact(String jobId) {
+        ReportJob job = findJob(jobId);
+        if (job.status != ReportJobStatus.COMPLETED) {
+            throw new BusinessException("Report job " + jobId + " is " + job.status + ", nothing to download yet");
+        }
+        String fileName = job.request.getType().name().toLowerCase().replace('_', '-')
+                + "-report." + job.request.getFormat().getExtension();
+        return new ReportArtifact(job.artifact, job.request.getFormat(), fileName);
+    }
+
+    private ReportJob findJob(String jobId) {
+        ReportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Report job", "id", jobId);
+        }
+        return job;
+    }
+
+    private void run(ReportJob job) {
+        job.started();
+        try {
+            Object report = generateWithRetry(job.request);
+            job.progress(70);
+
+            Path target = artifactDir.resolve(job.id + "." + job.request.getFormat().getExtension() + ".gz");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(target))) {
+                if (job.request.getFormat() == ReportFormat.CSV) {
+                    out.write(toCsv(report));
+                } else {
+                    objectMapper.writeValue(out, report);
+                }
+            }
+            job.completed(target, Files.size(target), LocalDateTime.now().plusMinutes(ttlMinutes));
+            log.info("Report job {} completed ({} bytes compressed)", job.id, job.artifactSize);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.failed("Interrupted");
+        } catch (Exception e) {
+            log.error("Report job {} failed", job.id, e);
+            job.failed(e.getMessage());
+        } finally {
+            inFlight.remove(job.request, job);
+        }
+    }
+
+    private Object generateWithRetry(ReportJobRequest request) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return generate(request);
+            } catch (ServiceBusyException e) {
+                if (attempt >= MAX_BUSY_RETRIES) {
+                    throw e;
+                }
+                TimeUnit.SECONDS.sleep(e.getRetryAfterSeconds());
+            }
+        }
+    }
+
+    private Object generate(ReportJobRequest request) {
+        return switch (request.getType()) {
+            case CANDIDATES -> reportsService.getCandidateReport(request.getDateFrom(), request.getDateTo(),
+                    request.getActive(), request.getHrId(), request.getOpeningId());
+            case OPENINGS -> reportsService.getJobOpeningReport(request.getDateFrom(), request.getDateTo(),
+                    request.getOpeningStatus(), request.getHrId());
+            case HR_ACTIVITY -> reportsService.getHrActivityReport(request.getHrId(),
+                    request.getDateFrom(), request.getDateTo());
+        };
+    }
+
+    private byte[] toCsv(Object report) {
+        if (report instanceof CandidateReportResponse candidateReport) {
+            return exportService.exportCandidateReportToCsv(candidateReport);
+        }
+        if (report instanceof JobOpeningReportResponse openingReport) {
+            return exportService.exportJobOpeningReportToCsv(openingReport);
+        }
+        return exportService.exportHrActivityReportToCsv((HrActivityReportResponse) report);
+    }
+
+    private void removeExpiredJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        jobs.values().removeIf(job -> {
+            if (job.expiresAt == null || job.expiresAt.isAfter(now)) {
+                return false;
+            }
+            if (job.artifact != null) {
+                deleteQuietly(job.artifact);
+            }
+            return true;
+        });
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete report artifact {}: {}", path, e.getMessage());
+        }
+    }
+
+    public record ReportArtifact(Path path, ReportFormat format, String fileName) {
+    }
+
+    private final class ReportJob {
+        private final String id;
+        private final ReportJobRequest request;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile ReportJobStatus status = ReportJobStatus.QUEUED;
+        private volatile int progress;
+        private volatile String errorMessage;
+        private volatile Path artifact;
+        private volatile long artifactSize;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile LocalDateTime expiresAt;
+
+        private ReportJob(String id, ReportJobRequest request) {
+            this.id = id;
+            this.request = request;
+        }
+
+        void started() {
+            startedAt = LocalDateTime.now();
+            progress = 10;
+            status = ReportJobStatus.RUNNING;
+        }
+
+        void progress(int percent) {
+            progress = percent;
+        }
+
+        void completed(Path path, long size, LocalDateTime expiry) {
+            artifact = path;
+            artifactSize = size;
+            finishedAt = LocalDateTime.now();
+            expiresAt = expiry;
+            progress = 100;
+            status = ReportJobStatus.COMPLETED;
+        }
+
+        void failed(String message) {
+            errorMessage = message;
+            finishedAt = LocalDateTime.now();
+            expiresAt = finishedAt.plusMinutes(ttlMinutes);
+            status = ReportJobStatus.FAILED;
+        }
+
+        ReportJobResponse toResponse() {
+            ReportJobStatus current = status;
+            return ReportJobResponse.builder()
+                    .jobId(id)
+                    .type(request.getType())
+                    .format(request.getFormat())
+                    .status(current)
+                    .progressPercent(progress)
+                    .errorMessage(errorMessage)
+                    .downloadUrl(current == ReportJobStatus.COMPLETED
+                            ? "/api/admin/reports/jobs/" + id + "/download" : null)
+                    .artifactSizeBytes(current == ReportJobStatus.COMPLETED ? artifactSize : null)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .expiresAt(expiresAt)
+                    .build();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.startica.privateapp.reports.service;
 
+import com.startica.privateapp.bulkhead.annotation.Bulkhead;
+import com.startica.privateapp.bulkhead.model.BulkheadType;
 import com.startica.privateapp.model.Candidate;
 import com.startica.privateapp.repository.CandidateRepository;
 import com.startica.privateapp.model.Role;
@@ -26,6 +28,7 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Bulkhead(BulkheadType.ANALYTICAL)
 public class ReportsService {
 
     private final CandidateRepository candidateRepository;
@@ -83,9 +86,10 @@ public class ReportsService {
                 .totalApplications(totalApplications)
                 .build();
 
-        // Build data items
+        // Build data items; application counts come from one grouped query, not one per row
+        Map<Long, Long> applicationsByCandidate = countsById(candidateOpeningRepository.countGroupedByCandidate());
         List<CandidateReportResponse.CandidateReportItem> data = candidates.stream()
-                .map(this::mapToCandidateReportItem)
+                .map(candidate -> mapToCandidateReportItem(candidate, applicationsByCandidate))
                 .collect(Collectors.toList());
 
         // Group by HR
@@ -110,11 +114,12 @@ public class ReportsService {
         List<CandidateReportResponse.CandidatesByOpening> candidatesByOpening = List.of();
         if (openingId == null) {
             // Get all openings and their application counts
+            Map<Long, Long> applicationsByOpening = countsById(candidateOpeningRepository.countGroupedByOpening());
             candidatesByOpening = openingRepository.findAll().stream()
                     .map(opening -> CandidateReportResponse.CandidatesByOpening.builder()
                             .openingId(opening.getId())
                             .openingTitle(opening.getTitle())
-                            .candidateCount(candidateOpeningRepository.countByOpeningId(opening.getId()))
+                            .candidateCount(applicationsByOpening.getOrDefault(opening.getId(), 0L))
                             .build())
                     .filter(item -> item.getCandidateCount() > 0)
                     .collect(Collectors.toList());
@@ -184,8 +189,9 @@ public class ReportsService {
                 .build();
 
         // Build data items
+        Map<Long, Long> applicationsByOpening = countsById(candidateOpeningRepository.countGroupedByOpening());
         List<JobOpeningReportResponse.OpeningReportItem> data = openings.stream()
-                .map(this::mapToOpeningReportItem)
+                .map(opening -> mapToOpeningReportItem(opening, applicationsByOpening))
                 .collect(Collectors.toList());
 
         // Group by HR
@@ -209,7 +215,7 @@ public class ReportsService {
         // Top openings by applications
         List<JobOpeningReportResponse.TopOpeningsByApplications> topOpenings = openings.stream()
                 .map(opening -> {
-                    long appCount = candidateOpeningRepository.countByOpeningId(opening.getId());
+                    long appCount = applicationsByOpening.getOrDefault(opening.getId(), 0L);
                     return JobOpeningReportResponse.TopOpeningsByApplications.builder()
                             .openingId(opening.getId())
                             .openingTitle(opening.getTitle())
@@ -248,8 +254,10 @@ public class ReportsService {
         }
 
         // Build activity items
+        Map<Long, Long> applicationsByCandidate = countsById(candidateOpeningRepository.countGroupedByCandidate());
+        Map<Long, Long> applicationsByOpening = countsById(candidateOpeningRepository.countGroupedByOpening());
         List<HrActivityReportResponse.HrActivityItem> data = hrUsers.stream()
-                .map(hr -> mapToHrActivityItem(hr, dateFrom, dateTo))
+                .map(hr -> mapToHrActivityItem(hr, dateFrom, dateTo, applicationsByCandidate, applicationsByOpening))
                 .sorted((a, b) -> Long.compare(
                         b.getCandidatesAdded() + b.getOpeningsCreated(),
                         a.getCandidatesAdded() + a.getOpeningsCreated()
@@ -279,12 +287,17 @@ public class ReportsService {
                 .build();
     }
 
-    private CandidateReportResponse.CandidateReportItem mapToCandidateReportItem(Candidate candidate) {
+    private static Map<Long, Long> countsById(List<Object[]> rows) {
+        return rows.stream().collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+    }
+
+    private CandidateReportResponse.CandidateReportItem mapToCandidateReportItem(
+            Candidate candidate, Map<Long, Long> applicationsByCandidate) {
         String hrName = candidate.getSourceHrId() != null
                 ? userRepository.findById(candidate.getSourceHrId()).map(User::getFullName).orElse("Unknown")
                 : "Unknown";
 
-        long applicationCount = candidateOpeningRepository.countByCandidateId(candidate.getId());
+        long applicationCount = applicationsByCandidate.getOrDefault(candidate.getId(), 0L);
 
         return CandidateReportResponse.CandidateReportItem.builder()
                 .id(candidate.getId())
@@ -301,12 +314,13 @@ public class ReportsService {
                 .build();
     }
 
-    private JobOpeningReportResponse.OpeningReportItem mapToOpeningReportItem(Opening opening) {
+    private JobOpeningReportResponse.OpeningReportItem mapToOpeningReportItem(
+            Opening opening, Map<Long, Long> applicationsByOpening) {
         String hrName = opening.getCreatedBy() != null
                 ? userRepository.findById(opening.getCreatedBy()).map(User::getFullName).orElse("Unknown")
                 : "Unknown";
 
-        long applicationCount = candidateOpeningRepository.countByOpeningId(opening.getId());
+        long applicationCount = applicationsByOpening.getOrDefault(opening.getId(), 0L);
 
         return JobOpeningReportResponse.OpeningReportItem.builder()
                 .id(opening.getId())
@@ -323,7 +337,8 @@ public class ReportsService {
     }
 
     private HrActivityReportResponse.HrActivityItem mapToHrActivityItem(
-            User hr, LocalDateTime dateFrom, LocalDateTime dateTo
+            User hr, LocalDateTime dateFrom, LocalDateTime dateTo,
+            Map<Long, Long> applicationsByCandidate, Map<Long, Long> applicationsByOpening
     ) {
         // Get candidates created by this HR
         List<Candidate> hrCandidates = candidateRepository.findAll().stream()
@@ -371,12 +386,12 @@ public class ReportsService {
 
         // Map candidates to CandidateDetail
         List<HrActivityReportResponse.CandidateDetail> candidateDetails = hrCandidates.stream()
-                .map(this::mapToCandidateDetail)
+                .map(candidate -> mapToCandidateDetail(candidate, applicationsByCandidate))
                 .collect(Collectors.toList());
 
         // Map openings to OpeningDetail
         List<HrActivityReportResponse.OpeningDetail> openingDetails = hrOpenings.stream()
-                .map(this::mapToOpeningDetail)
+                .map(opening -> mapToOpeningDetail(opening, applicationsByOpening))
                 .collect(Collectors.toList());
 
         return HrActivityReportResponse.HrActivityItem.builder()
@@ -393,8 +408,9 @@ public class ReportsService {
                 .build();
     }
 
-    private HrActivityReportResponse.CandidateDetail mapToCandidateDetail(Candidate candidate) {
-        long applicationCount = candidateOpeningRepository.countByCandidateId(candidate.getId());
+    private HrActivityReportResponse.CandidateDetail mapToCandidateDetail(
+            Candidate candidate, Map<Long, Long> applicationsByCandidate) {
+        long applicationCount = applicationsByCandidate.getOrDefault(candidate.getId(), 0L);
 
         return HrActivityReportResponse.CandidateDetail.builder()
                 .id(candidate.getId())
@@ -411,8 +427,9 @@ public class ReportsService {
                 .build();
     }
 
-    private HrActivityReportResponse.OpeningDetail mapToOpeningDetail(Opening opening) {
-        long applicationCount = candidateOpeningRepository.countByOpeningId(opening.getId());
+    private HrActivityReportResponse.OpeningDetail mapToOpeningDetail(
+            Opening opening, Map<Long, Long> applicationsByOpening) {
+        long applicationCount = applicationsByOpening.getOrDefault(opening.getId(), 0L);
 
         return HrActivityReportResponse.OpeningDetail.builder()
                 .id(opening.getId())
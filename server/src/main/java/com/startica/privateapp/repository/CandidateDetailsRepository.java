@@ -0,0 +1,22 @@
+package com.startica.privateapp.repository;
+
+import com.startica.privateapp.model.CandidateDetails;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CandidateDetailsRepository extends JpaRepository<CandidateDetails, Long> {
+
+    // Details together with their candidate, for batch work that needs both
+    @Query("SELECT d FROM CandidateDetails d JOIN FETCH d.candidate WHERE d.candidateId IN :candidateIds")
+    List<CandidateDetails> findWithCandidateByCandidateIds(@Param("candidateIds") List<Long> candidateIds);
+
+    @Modifying
+    @Query("DELETE FROM CandidateDetails d WHERE d.candidateId IN :candidateIds")
+    int deleteByCandidateIds(@Param("candidateIds") List<Long> candidateIds);
+}
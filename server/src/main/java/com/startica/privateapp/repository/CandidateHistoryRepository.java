@@ -4,15 +4,17 @@ import com.startica.privateapp.model.CandidateHistory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface CandidateHistoryRepository extends JpaRepository<CandidateHistory, Long> {
+public interface CandidateHistoryRepository extends JpaRepository<CandidateHistory, Long>, JpaSpecificationExecutor<CandidateHistory> {
 
     List<CandidateHistory> findByCandidateIdOrderByTimestampDesc(Long candidateId);
 
@@ -29,5 +31,10 @@ public interface CandidateHistoryRepository extends JpaRepository<CandidateHisto
            "ch.actorId = :actorId " +
            "ORDER BY ch.timestamp DESC")
     Page<CandidateHistory> findByActorId(@Param("actorId") Long actorId, Pageable pageable);
+
+    // Incremental readers (funnel analytics) walk the log by id
+    @Query("SELECT ch FROM CandidateHistory ch WHERE ch.id > :afterId AND ch.action IN :actions ORDER BY ch.id")
+    List<CandidateHistory> findAfter(@Param("afterId") Long afterId,
+                                     @Param("actions") Collection<String> actions, Pageable pageable);
 }
 
@@ -2,15 +2,19 @@ package com.startica.privateapp.repository;
 
 import com.startica.privateapp.model.Candidate;
 import com.startica.privateapp.model.Candidate.CandidateStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +23,17 @@ public interface CandidateRepository extends JpaRepository<Candidate, Long>, Jpa
 
     Optional<Candidate> findByEmail(String email);
 
+    // Status changes read the old status under this lock, so two concurrent changes cannot both
+    // move the same candidate out of the same candidate_daily_stats bucket
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Candidate c WHERE c.id = :id")
+    Optional<Candidate> findByIdForUpdate(@Param("id") Long id);
+
+    // Locked in id order, so two bulk updates over overlapping ids cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Candidate c WHERE c.id IN :ids ORDER BY c.id")
+    List<Candidate> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
     Optional<Candidate> findByPhone(String phone);
 
     boolean existsByEmail(String email);
@@ -29,19 +44,29 @@ public interface CandidateRepository extends JpaRepository<Candidate, Long>, Jpa
 
     Page<Candidate> findBySourceHrId(Long sourceHrId, Pageable pageable);
 
-    @Query("SELECT c FROM Candidate c WHERE " +
-           "(:search IS NULL OR :search = '' OR " +
+    String SEARCH_FILTER = "(:search IS NULL OR :search = '' OR " +
            "LOWER(c.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
            "LOWER(c.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
            "LOWER(c.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
            "LOWER(c.phone) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
            "(:status IS NULL OR c.status = :status) AND " +
-           "(:sourceHrId IS NULL OR c.sourceHrId = :sourceHrId)")
+           "(:sourceHrId IS NULL OR c.sourceHrId = :sourceHrId)";
+
+    @Query("SELECT c FROM Candidate c WHERE " + SEARCH_FILTER)
     Page<Candidate> searchCandidates(@Param("search") String search,
                                      @Param("status") CandidateStatus status,
                                      @Param("sourceHrId") Long sourceHrId,
                                      Pageable pageable);
 
+    // searchCandidates as (candidate, notes) rows; notes live in candidate_details
+    @Query(value = "SELECT c, d.notes FROM Candidate c LEFT JOIN CandidateDetails d ON d.candidateId = c.id " +
+                   "WHERE " + SEARCH_FILTER,
+           countQuery = "SELECT COUNT(c) FROM Candidate c WHERE " + SEARCH_FILTER)
+    Page<Object[]> searchCandidatesWithNotes(@Param("search") String search,
+                                             @Param("status") CandidateStatus status,
+                                             @Param("sourceHrId") Long sourceHrId,
+                                             Pageable pageable);
+
     @Query("SELECT COUNT(c) FROM Candidate c WHERE c.status = :status")
     Long countByStatus(@Param("status") CandidateStatus status);
 
@@ -54,29 +79,78 @@ public interface CandidateRepository extends JpaRepository<Candidate, Long>, Jpa
 
     @Query("SELECT c.sourceHrId, COUNT(c) FROM Candidate c GROUP BY c.sourceHrId")
     List<Object[]> countCandidatesByHr();
-@Query("SELECT MONTH(c.createdAt) as month, YEAR(c.createdAt) as year, COUNT(c) as count " +
-        "FROM Candidate c WHERE c.createdAt >= :startDate " +
-        "GROUP BY YEAR(c.createdAt), MONTH(c.createdAt) " +
-        "ORDER BY year, month")
-List<Object[]> getMonthlyStatistics(@Param("startDate") LocalDateTime startDate);
 
     @Query("SELECT c.sourceHrId, c.status, COUNT(c) FROM Candidate c GROUP BY c.sourceHrId, c.status")
     List<Object[]> countCandidatesByHrAndStatus();
 
-    @Query("SELECT MONTH(c.createdAt) as month, YEAR(c.createdAt) as year, COUNT(c) as count " +
-           "FROM Candidate c WHERE c.createdAt >= :startDate " +
-           "GROUP BY YEAR(c.createdAt), MONTH(c.createdAt) " +
-           "ORDER BY year, month")
-    List<Object[]> getMonthlyStatistics();
-
-    @Query("SELECT MONTH(c.createdAt) as month, YEAR(c.createdAt) as year, COUNT(c) as count " +
-           "FROM Candidate c WHERE c.sourceHrId = :hrId AND c.createdAt >= :startDate " +
-           "GROUP BY YEAR(c.createdAt), MONTH(c.createdAt) " +
-           "ORDER BY year, month")
-    List<Object[]> getMonthlyStatisticsByHr(@Param("hrId") Long hrId, @Param("startDate") LocalDateTime startDate);
+    // HR performance overview: one row per HR instead of loading every candidate
+    @Query("SELECT c.sourceHrId, c.status, COUNT(c) FROM Candidate c " +
+           "WHERE c.sourceHrId IN :hrIds GROUP BY c.sourceHrId, c.status")
+    List<Object[]> countByHrAndStatus(@Param("hrIds") Collection<Long> hrIds);
+
+    @Query("SELECT c.sourceHrId, COUNT(DISTINCT c.id) FROM Candidate c JOIN c.candidateOpenings co " +
+           "WHERE c.sourceHrId IN :hrIds GROUP BY c.sourceHrId")
+    List<Object[]> countAppliedByHr(@Param("hrIds") Collection<Long> hrIds);
+
+    // Initializes candidateOpenings on already loaded candidates with one query
+    @Query("SELECT DISTINCT c FROM Candidate c LEFT JOIN FETCH c.candidateOpenings WHERE c IN :candidates")
+    List<Candidate> fetchCandidateOpenings(@Param("candidates") Collection<Candidate> candidates);
+
+    // Same, with each application's opening
+    @Query("SELECT DISTINCT c FROM Candidate c LEFT JOIN FETCH c.candidateOpenings co LEFT JOIN FETCH co.opening " +
+           "WHERE c IN :candidates")
+    List<Candidate> fetchAppliedOpenings(@Param("candidates") Collection<Candidate> candidates);
+
+    @Query("SELECT c.sourceHrId, MAX(c.updatedAt) FROM Candidate c " +
+           "WHERE c.sourceHrId IN :hrIds GROUP BY c.sourceHrId")
+    List<Object[]> findLastActivityByHr(@Param("hrIds") Collection<Long> hrIds);
+
+    // Time-series sources for TimeSeriesService when the daily rollup cannot answer (opening filter
+    // or another time zone). The range is half-open; null filters are not applied.
+    String CREATED_IN_RANGE = "FROM candidates c " +
+           "WHERE c.deleted_at IS NULL AND c.created_at >= :from AND c.created_at < :to " +
+           "AND (:hrId IS NULL OR c.source_hr_id = :hrId) " +
+           "AND (:status IS NULL OR c.status = :status) " +
+           "AND (:openingId IS NULL OR EXISTS (SELECT 1 FROM candidate_openings co " +
+           "WHERE co.candidate_id = c.id AND co.opening_id = :openingId)) ";
+
+    // Rows: day, count
+    @Query(value = "SELECT DATE(c.created_at), COUNT(*) " + CREATED_IN_RANGE +
+           "GROUP BY DATE(c.created_at)", nativeQuery = true)
+    List<Object[]> countCreatedByDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                     @Param("hrId") Long hrId, @Param("status") String status,
+                                     @Param("openingId") Long openingId);
+
+    // Rows: day, hour, quarter of the hour, count; fine enough to shift into any UTC offset
+    @Query(value = "SELECT DATE(c.created_at), HOUR(c.created_at), FLOOR(MINUTE(c.created_at) / 15), COUNT(*) " +
+           CREATED_IN_RANGE +
+           "GROUP BY DATE(c.created_at), HOUR(c.created_at), FLOOR(MINUTE(c.created_at) / 15)", nativeQuery = true)
+    List<Object[]> countCreatedByQuarterHour(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                             @Param("hrId") Long hrId, @Param("status") String status,
+                                             @Param("openingId") Long openingId);
 
     Long countBySourceHrId(Long sourceHrId);
 
+    // Keyset reader for batch jobs
+    @Query("SELECT c.id FROM Candidate c WHERE c.id > :afterId ORDER BY c.id ASC")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    long countByIdGreaterThan(Long id);
+
+    // Column projection for CandidateSnapshot. Rows: id, status, sourceHrId, createdAt, experience
+    @Query("SELECT c.id, c.status, c.sourceHrId, c.createdAt, c.experience FROM Candidate c " +
+           "WHERE c.id > :afterId ORDER BY c.id ASC")
+    List<Object[]> findSnapshotRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT c.id, c.status, c.sourceHrId, c.createdAt, c.experience FROM Candidate c WHERE c.id IN :ids")
+    List<Object[]> findSnapshotRows(@Param("ids") Collection<Long> ids);
+
+    // Candidates written or soft-deleted since the given time, by any node; native so deleted rows count too
+    @Query(value = "SELECT id FROM candidates WHERE updated_at >= :since " +
+                   "UNION SELECT id FROM candidates WHERE deleted_at >= :since",
+           nativeQuery = true)
+    List<Long> findIdsChangedSince(@Param("since") LocalDateTime since);
+
     Long countBySourceHrIdAndCreatedAtAfter(Long sourceHrId, LocalDateTime createdAt);
 
     // Global search method
@@ -87,15 +161,20 @@ List<Object[]> getMonthlyStatistics(@Param("startDate") LocalDateTime startDate)
            "LOWER(c.phone) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
            "LOWER(c.skills) LIKE LOWER(CONCAT('%', :query, '%'))")
     List<Candidate> searchByText(@Param("query") String query, Pageable pageable);
-    @Query(value = "SELECT " +
-           "YEAR(c.createdAt) as year, " +
-           "WEEK(c.createdAt) as week, " +
-           "COUNT(c.id) as count " +
-           "FROM Candidate c " +
-           "WHERE c.createdAt IS NOT NULL " +
-           "GROUP BY YEAR(c.createdAt), WEEK(c.createdAt) " +
-           "ORDER BY YEAR(c.createdAt), WEEK(c.createdAt)",
+
+    // Soft delete; contact keys are released so the same person can be re-added before the purge
+    @Modifying
+    @Query("UPDATE Candidate c SET c.deletedAt = :deletedAt, c.emailNormalized = NULL, c.phoneNormalized = NULL " +
+           "WHERE c.id IN :ids")
+    int softDeleteByIds(@Param("ids") List<Long> ids, @Param("deletedAt") LocalDateTime deletedAt);
+
+    // Native so the soft-delete restriction on the entity does not hide the rows
+    @Query(value = "SELECT id FROM candidates WHERE deleted_at IS NOT NULL ORDER BY id LIMIT :limit",
            nativeQuery = true)
-    List<Object[]> getWeeklyStatistics();
+    List<Long> findSoftDeletedIds(@Param("limit") int limit);
 
+    @Modifying
+    @Query(value = "DELETE FROM candidates WHERE id IN (:ids) AND deleted_at IS NOT NULL",
+           nativeQuery = true)
+    int purgeSoftDeleted(@Param("ids") List<Long> ids);
 }
@@ -4,7 +4,9 @@ import com.startica.privateapp.model.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -12,16 +14,33 @@ import java.util.Optional;
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
-    Optional<RefreshToken> findByToken(String token);
+    // Served by the unique uk_refresh_tokens_token_hash index
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
 
     Optional<RefreshToken> findByUserId(Long userId);
 
+    // Insert or replace the user's token in a single statement
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO refresh_tokens (token_hash, user_id, expiry_date, created_at) " +
+                   "VALUES (:tokenHash, :userId, :expiryDate, :createdAt) " +
+                   "ON DUPLICATE KEY UPDATE token_hash = VALUES(token_hash), expiry_date = VALUES(expiry_date), " +
+                   "created_at = VALUES(created_at)",
+           nativeQuery = true)
+    void upsertForUser(@Param("tokenHash") String tokenHash,
+                       @Param("userId") Long userId,
+                       @Param("expiryDate") LocalDateTime expiryDate,
+                       @Param("createdAt") LocalDateTime createdAt);
+
+    @Transactional
     @Modifying
     @Query("DELETE FROM RefreshToken rt WHERE rt.userId = :userId")
-    void deleteByUserId(Long userId);
+    void deleteByUserId(@Param("userId") Long userId);
 
+    // One bounded batch, walking idx_refresh_tokens_expiry
+    @Transactional
     @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiryDate < :now")
-    void deleteExpiredTokens(LocalDateTime now);
+    @Query(value = "DELETE FROM refresh_tokens WHERE expiry_date < :now LIMIT :batchSize",
+           nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
 }
-
@@ -11,6 +11,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -19,6 +20,7 @@ public class CandidateSearchService {
     private final CandidateRepository candidateRepository;
 
     @SuppressWarnings("null")
+    @Transactional(readOnly = true)
     public SearchResultPage<Candidate> advancedSearch(CandidateSearchRequest request, com.startica.privateapp.model.User currentUser) {
         long startTime = System.currentTimeMillis();
         
@@ -36,6 +38,10 @@ public class CandidateSearchService {
         
         // Execute query
         Page<Candidate> page = candidateRepository.findAll(spec, pageRequest);
+        // The entities are serialized after the transaction, so load their applications now
+        if (page.hasContent()) {
+            candidateRepository.fetchCandidateOpenings(page.getContent());
+        }
         
         long searchTime = System.currentTimeMillis() - startTime;
         
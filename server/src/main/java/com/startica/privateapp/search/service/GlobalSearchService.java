@@ -2,6 +2,7 @@ package com.startica.privateapp.search.service;
 
 import com.startica.privateapp.search.dto.*;
 import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.model.CandidateDetails;
 import com.startica.privateapp.opening.model.Opening;
 import com.startica.privateapp.model.User;
 import com.startica.privateapp.repository.CandidateRepository;
@@ -28,7 +29,7 @@ public class GlobalSearchService {
      * Parse experience string into decimal years - Improved version
      * Handles formats like "2 years", "2.5 years", "2 years 6 months", "30 months", etc.
      */
-    private double parseExperienceString(String expStr) {
+    double parseExperienceString(String expStr) {
         if (expStr == null || expStr.trim().isEmpty()) return 0.0;
         
         String cleaned = expStr.toLowerCase().trim();
@@ -235,7 +236,7 @@ public class GlobalSearchService {
                 .build();
     }
 
-    private String highlightMatch(String text, String query) {
+    String highlightMatch(String text, String query) {
         if (text == null || query == null) return text;
         
         String lowerText = text.toLowerCase();
@@ -500,10 +501,16 @@ public class GlobalSearchService {
                     spec = spec.and((root, criteriaQuery, criteriaBuilder) -> {
                         List<jakarta.persistence.criteria.Predicate> predicates = new java.util.ArrayList<>();
                         for (String degree : degrees) {
-                            // Search in both degree field and education JSON
+                            // Search in both degree field and education JSON (kept in candidate_details)
+                            jakarta.persistence.criteria.Subquery<Long> education = criteriaQuery.subquery(Long.class);
+                            jakarta.persistence.criteria.Root<CandidateDetails> details = education.from(CandidateDetails.class);
+                            education.select(details.get("candidateId")).where(
+                                criteriaBuilder.equal(details.get("candidateId"), root.get("id")),
+                                criteriaBuilder.like(criteriaBuilder.lower(details.get("education")), "%" + degree.toLowerCase() + "%")
+                            );
                             predicates.add(criteriaBuilder.or(
                                 criteriaBuilder.like(criteriaBuilder.lower(root.get("degree")), "%" + degree.toLowerCase() + "%"),
-                                criteriaBuilder.like(criteriaBuilder.lower(root.get("education")), "%" + degree.toLowerCase() + "%")
+                                criteriaBuilder.exists(education)
                             ));
                         }
                         return criteriaBuilder.or(predicates.toArray(new jakarta.persistence.criteria.Predicate[0]));
@@ -1,14 +1,23 @@
 package com.startica.privateapp.service;
 
+import com.startica.privateapp.analytics.service.CandidateDailyStatsService;
+import com.startica.privateapp.audit.service.AuditService;
+import com.startica.privateapp.bulkhead.annotation.Bulkhead;
+import com.startica.privateapp.bulkhead.model.BulkheadType;
+import com.startica.privateapp.candidate.event.CandidateChangedEvent;
+import com.startica.privateapp.candidate.event.CandidateChangedEvent.ChangeType;
 import com.startica.privateapp.dto.*;
 import com.startica.privateapp.model.Candidate;
+import com.startica.privateapp.model.CandidateDetails;
 import com.startica.privateapp.model.Role;
 import com.startica.privateapp.model.User;
 import com.startica.privateapp.opening.model.CandidateOpening;
+import com.startica.privateapp.repository.CandidateDetailsRepository;
 import com.startica.privateapp.repository.CandidateRepository;
 import com.startica.privateapp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -16,6 +25,7 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -29,12 +39,17 @@ import java.util.stream.Collectors;
 public class HRPerformanceService {
 
     private final CandidateRepository candidateRepository;
+    private final CandidateDetailsRepository candidateDetailsRepository;
     private final UserRepository userRepository;
+    private final CandidateDailyStatsService candidateDailyStatsService;
+    private final AuditService auditService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get HR Performance Overview for all HR users
      * ADMIN only
      */
+    @Bulkhead(BulkheadType.ANALYTICAL)
     @Transactional(readOnly = true)
     public List<HRPerformanceDTO> getHRPerformanceOverview() {
         log.info("Fetching HR Performance Overview");
@@ -48,42 +63,45 @@ public class HRPerformanceService {
             return new ArrayList<>();
         }
         
-        // Get all candidates grouped by HR
-        List<Candidate> allCandidates = candidateRepository.findAll();
-        log.info("Found {} total candidates", allCandidates.size());
-        
-        Map<Long, List<Candidate>> candidatesByHr = allCandidates.stream()
-            .filter(c -> c.getSourceHrId() != null)
-            .collect(Collectors.groupingBy(Candidate::getSourceHrId));
-        
-        log.info("Candidates grouped by {} HR IDs", candidatesByHr.size());
-        
+        // Three grouped queries, however many HRs and candidates there are
+        List<Long> hrIds = hrUsers.stream().map(User::getId).collect(Collectors.toList());
+
+        Map<Long, Map<Candidate.CandidateStatus, Integer>> statusCountsByHr = new HashMap<>();
+        for (Object[] row : candidateRepository.countByHrAndStatus(hrIds)) {
+            statusCountsByHr.computeIfAbsent((Long) row[0], id -> new EnumMap<>(Candidate.CandidateStatus.class))
+                .put((Candidate.CandidateStatus) row[1], ((Long) row[2]).intValue());
+        }
+
+        Map<Long, Integer> appliedByHr = new HashMap<>();
+        for (Object[] row : candidateRepository.countAppliedByHr(hrIds)) {
+            appliedByHr.put((Long) row[0], ((Long) row[1]).intValue());
+        }
+
+        Map<Long, LocalDateTime> lastActivityByHr = new HashMap<>();
+        for (Object[] row : candidateRepository.findLastActivityByHr(hrIds)) {
+            lastActivityByHr.put((Long) row[0], (LocalDateTime) row[1]);
+        }
+
         // Build performance DTOs
         List<HRPerformanceDTO> performanceList = new ArrayList<>();
         
         for (User hr : hrUsers) {
-            List<Candidate> hrCandidates = candidatesByHr.getOrDefault(hr.getId(), new ArrayList<>());
+            Map<Candidate.CandidateStatus, Integer> statusCounts = statusCountsByHr.getOrDefault(hr.getId(), Map.of());
+            int totalCandidates = statusCounts.values().stream().mapToInt(Integer::intValue).sum();
+            int contactedCount = statusCounts.getOrDefault(Candidate.CandidateStatus.CONTACTED, 0);
             
             HRPerformanceDTO dto = HRPerformanceDTO.builder()
                 .hrId(hr.getId())
                 .fullName(hr.getFullName())
                 .email(hr.getEmail())
-                .totalCandidates(hrCandidates.size())
-                .hiredCount(countByStatus(hrCandidates, Candidate.CandidateStatus.HIRED))
-                .contactedCount(countByStatus(hrCandidates, Candidate.CandidateStatus.CONTACTED))
-                .interestedCount(countByStatus(hrCandidates, Candidate.CandidateStatus.INTERESTED))
-                .pendingCount(countByStatus(hrCandidates, Candidate.CandidateStatus.PENDING))
-                .appliedCount((int) hrCandidates.stream()
-                    .filter(c -> c.getCandidateOpenings() != null && !c.getCandidateOpenings().isEmpty())
-                    .count())
-                .notContactedCount((int) hrCandidates.stream()
-                    .filter(c -> c.getStatus() != Candidate.CandidateStatus.CONTACTED)
-                    .count())
-                .lastActivity(hrCandidates.stream()
-                    .map(Candidate::getUpdatedAt)
-                    .filter(Objects::nonNull)
-                    .max(java.time.LocalDateTime::compareTo)
-                    .orElse(null))
+                .totalCandidates(totalCandidates)
+                .hiredCount(statusCounts.getOrDefault(Candidate.CandidateStatus.HIRED, 0))
+                .contactedCount(contactedCount)
+                .interestedCount(statusCounts.getOrDefault(Candidate.CandidateStatus.INTERESTED, 0))
+                .pendingCount(statusCounts.getOrDefault(Candidate.CandidateStatus.PENDING, 0))
+                .appliedCount(appliedByHr.getOrDefault(hr.getId(), 0))
+                .notContactedCount(totalCandidates - contactedCount)
+                .lastActivity(lastActivityByHr.get(hr.getId()))
                 .build();
             
             performanceList.add(dto);
@@ -115,11 +133,11 @@ public class HRPerformanceService {
         }
         
         // Search candidates for this HR
-        Page<Candidate> candidates = candidateRepository.searchCandidates(search, status, hrId, pageable);
+        Page<Object[]> candidates = searchWithOpenings(search, status, hrId, pageable);
         
         // Convert to DTOs with admin remarks
         List<HRCandidateDTO> dtoList = candidates.getContent().stream()
-            .map(c -> convertToCandidateDTO(c, true))
+            .map(row -> convertToCandidateDTO((Candidate) row[0], (String) row[1], true))
             .collect(Collectors.toList());
         
         return new PageImpl<>(dtoList, pageable, candidates.getTotalElements());
@@ -140,7 +158,7 @@ public class HRPerformanceService {
         candidate = candidateRepository.save(candidate);
         
         log.info("Admin remark updated for candidate ID: {}", candidateId);
-        return convertToCandidateDTO(candidate, true);
+        return convertToCandidateDTO(candidate, notesOf(candidate), true);
     }
 
     /**
@@ -148,17 +166,23 @@ public class HRPerformanceService {
      * ADMIN only
      */
     @Transactional
-    public HRCandidateDTO updateCandidateStatus(Long candidateId, Candidate.CandidateStatus status) {
+    public HRCandidateDTO updateCandidateStatus(Long candidateId, Candidate.CandidateStatus status, User admin) {
         log.info("Updating status for candidate ID: {} to {}", candidateId, status);
         
-        Candidate candidate = candidateRepository.findById(candidateId)
+        Candidate candidate = candidateRepository.findByIdForUpdate(candidateId)
             .orElseThrow(() -> new IllegalArgumentException("Candidate not found"));
         
+        Candidate.CandidateStatus previousStatus = candidate.getStatus();
         candidate.setStatus(status);
         candidate = candidateRepository.save(candidate);
+        candidateDailyStatsService.recordStatusChange(candidate, previousStatus);
+        eventPublisher.publishEvent(new CandidateChangedEvent(candidateId, ChangeType.STATUS_CHANGED));
+        // The history row is what the recruitment funnel counts
+        auditService.logStatusChange(candidateId, previousStatus != null ? previousStatus.name() : null,
+            status.name(), null, admin);
         
         log.info("Status updated for candidate ID: {}", candidateId);
-        return convertToCandidateDTO(candidate, true);
+        return convertToCandidateDTO(candidate, notesOf(candidate), true);
     }
 
     /**
@@ -171,13 +195,13 @@ public class HRPerformanceService {
                                                  Pageable pageable) {
         log.info("Fetching my candidates for HR ID: {} with search: '{}', status: {}", hrId, search, status);
         
-        Page<Candidate> candidates = candidateRepository.searchCandidates(search, status, hrId, pageable);
+        Page<Object[]> candidates = searchWithOpenings(search, status, hrId, pageable);
         log.info("Found {} candidates for HR ID: {} (page {} of {})", 
             candidates.getTotalElements(), hrId, candidates.getNumber(), candidates.getTotalPages());
         
         // Convert to DTOs WITHOUT admin remarks
         List<HRCandidateDTO> dtoList = candidates.getContent().stream()
-            .map(c -> convertToCandidateDTO(c, false))
+            .map(row -> convertToCandidateDTO((Candidate) row[0], (String) row[1], false))
             .collect(Collectors.toList());
         
         return new PageImpl<>(dtoList, pageable, candidates.getTotalElements());
@@ -203,7 +227,7 @@ public class HRPerformanceService {
         candidate = candidateRepository.save(candidate);
         
         log.info("HR remark updated for candidate ID: {}", candidateId);
-        return convertToCandidateDTO(candidate, false);
+        return convertToCandidateDTO(candidate, notesOf(candidate), false);
     }
 
     /**
@@ -213,10 +237,11 @@ public class HRPerformanceService {
     @Transactional
     public HRCandidateDTO updateCandidateStatusByHR(Long candidateId, 
                                                       Candidate.CandidateStatus status, 
-                                                      Long loggedInHrId) {
+                                                      User loggedInHr) {
+        Long loggedInHrId = loggedInHr.getId();
         log.info("Updating status for candidate ID: {} to {} by HR ID: {}", candidateId, status, loggedInHrId);
         
-        Candidate candidate = candidateRepository.findById(candidateId)
+        Candidate candidate = candidateRepository.findByIdForUpdate(candidateId)
             .orElseThrow(() -> new IllegalArgumentException("Candidate not found"));
         
         // Verify ownership
@@ -224,22 +249,40 @@ public class HRPerformanceService {
             throw new AccessDeniedException("You can only update status for your own candidates");
         }
         
+        Candidate.CandidateStatus previousStatus = candidate.getStatus();
         candidate.setStatus(status);
         candidate = candidateRepository.save(candidate);
+        candidateDailyStatsService.recordStatusChange(candidate, previousStatus);
+        eventPublisher.publishEvent(new CandidateChangedEvent(candidateId, ChangeType.STATUS_CHANGED));
+        auditService.logStatusChange(candidateId, previousStatus != null ? previousStatus.name() : null,
+            status.name(), null, loggedInHr);
         
         log.info("Status updated for candidate ID: {}", candidateId);
-        return convertToCandidateDTO(candidate, false);
+        return convertToCandidateDTO(candidate, notesOf(candidate), false);
     }
 
     // Helper methods
     
-    private int countByStatus(List<Candidate> candidates, Candidate.CandidateStatus status) {
-        return (int) candidates.stream()
-            .filter(c -> c.getStatus() == status)
-            .count();
+    // (candidate, notes) rows of a page, read together, with the applied openings loaded in one
+    // more query instead of one per row
+    private Page<Object[]> searchWithOpenings(String search, Candidate.CandidateStatus status,
+                                              Long hrId, Pageable pageable) {
+        Page<Object[]> rows = candidateRepository.searchCandidatesWithNotes(search, status, hrId, pageable);
+        if (rows.hasContent()) {
+            candidateRepository.fetchAppliedOpenings(rows.getContent().stream()
+                .map(row -> (Candidate) row[0])
+                .collect(Collectors.toList()));
+        }
+        return rows;
+    }
+
+    private String notesOf(Candidate candidate) {
+        return candidateDetailsRepository.findById(candidate.getId())
+            .map(CandidateDetails::getNotes)
+            .orElse(null);
     }
 
-    private HRCandidateDTO convertToCandidateDTO(Candidate candidate, boolean includeAdminRemark) {
+    private HRCandidateDTO convertToCandidateDTO(Candidate candidate, String notes, boolean includeAdminRemark) {
         User sourceHr = null;
         if (candidate.getSourceHrId() != null) {
             sourceHr = userRepository.findById(candidate.getSourceHrId()).orElse(null);
@@ -281,7 +324,7 @@ public class HRPerformanceService {
             .statusLabel(getStatusLabel(candidate.getStatus()))
             .sourceHrId(candidate.getSourceHrId())
             .sourceHrName(sourceHr != null ? sourceHr.getFullName() : "N/A")
-            .notes(candidate.getNotes())
+            .notes(notes)
             .hrRemark(candidate.getHrRemark())
             .appliedOpenings(appliedOpenings)
             .createdAt(candidate.getCreatedAt())
@@ -0,0 +1,118 @@
+package com.startica.privateapp.bulkhead;
+
+import com.startica.privateapp.bulkhead.annotation.Bulkhead;
+import com.startica.privateapp.bulkhead.model.BulkheadType;
+import com.startica.privateapp.bulkhead.service.BulkheadAspect;
+import com.startica.privateapp.bulkhead.service.BulkheadRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Calls through the Spring proxy, the way controllers reach CandidateService or ReportsService,
+ * and checks which compartment the call ends up running in.
+ */
+@SpringJUnitConfig(BulkheadAspectTest.Config.class)
+class BulkheadAspectTest {
+
+    @Autowired
+    private AnalyticalBean analyticalBean;
+
+    @Autowired
+    private PlainBean plainBean;
+
+    @Test
+    void classAnnotationAppliesToEveryMethod() {
+        assertThat(AopUtils.isAopProxy(analyticalBean)).isTrue();
+        assertThat(analyticalBean.compartment()).isEqualTo(BulkheadType.ANALYTICAL);
+        assertThat(BulkheadRegistry.current()).isNull();
+    }
+
+    @Test
+    void methodAnnotationWinsOverClassAnnotation() {
+        assertThat(analyticalBean.interactiveCompartment()).isEqualTo(BulkheadType.INTERACTIVE);
+    }
+
+    @Test
+    void methodAnnotationOnPlainBean() {
+        assertThat(plainBean.analyticalCompartment()).isEqualTo(BulkheadType.ANALYTICAL);
+        assertThat(plainBean.noCompartment()).isNull();
+    }
+
+    @Test
+    void nestedCallStaysInOuterCompartment() {
+        assertThat(analyticalBean.callPlain()).isEqualTo(BulkheadType.ANALYTICAL);
+    }
+
+    @Configuration
+    @EnableAspectJAutoProxy
+    static class Config {
+
+        @Bean
+        BulkheadRegistry bulkheadRegistry() {
+            return new BulkheadRegistry(new SimpleMeterRegistry(), 2, 100, 1, 100);
+        }
+
+        @Bean
+        BulkheadAspect bulkheadAspect(BulkheadRegistry bulkheadRegistry) {
+            return new BulkheadAspect(bulkheadRegistry);
+        }
+
+        @Bean
+        PlainBean plainBean() {
+            return new PlainBean();
+        }
+
+        @Bean
+        AnalyticalBean analyticalBean(PlainBean plainBean) {
+            return new AnalyticalBean(plainBean);
+        }
+    }
+
+    @Bulkhead(BulkheadType.ANALYTICAL)
+    static class AnalyticalBean {
+
+        private final PlainBean plainBean;
+
+        AnalyticalBean(PlainBean plainBean) {
+            this.plainBean = plainBean;
+        }
+
+        public BulkheadType compartment() {
+            return BulkheadRegistry.current();
+        }
+
+        @Bulkhead(BulkheadType.INTERACTIVE)
+        public BulkheadType interactiveCompartment() {
+            return BulkheadRegistry.current();
+        }
+
+        public BulkheadType callPlain() {
+            return plainBean.interactiveCompartment();
+        }
+    }
+
+    static class PlainBean {
+
+        @Bulkhead(BulkheadType.ANALYTICAL)
+        public BulkheadType analyticalCompartment() {
+            return BulkheadRegistry.current();
+        }
+
+        @Bulkhead(BulkheadType.INTERACTIVE)
+        public BulkheadType interactiveCompartment() {
+            return BulkheadRegistry.current();
+        }
+
+        public BulkheadType noCompartment() {
+            return BulkheadRegistry.current();
+        }
+    }
+}
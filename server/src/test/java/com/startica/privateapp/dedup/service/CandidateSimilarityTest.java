@@ -0,0 +1,97 @@
+package com.startica.privateapp.dedup.service;
+
+import com.startica.privateapp.dedup.model.CandidateBlockKey.KeyType;
+import com.startica.privateapp.model.Candidate;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Blocking keys decide which candidates are ever compared, so their normalisation is pinned here
+ * together with the scores that decide what counts as a duplicate.
+ */
+class CandidateSimilarityTest {
+
+    @Test
+    void blockKeysNormalisePhoneEmailAndName() {
+        Map<KeyType, String> keys = CandidateSimilarity.blockKeys(
+                candidate("Robert", "Smith", "John.Doe+jobs@Example.com", "+91 98765-43210"));
+
+        assertThat(keys)
+                .containsEntry(KeyType.PHONE_SUFFIX, "6543210")
+                .containsEntry(KeyType.EMAIL_LOCAL, "johndoe")
+                .containsEntry(KeyType.NAME_PHONETIC, "R163-S530");
+    }
+
+    @Test
+    void blockKeysSkipValuesTooShortToBlockOn() {
+        Map<KeyType, String> keys = CandidateSimilarity.blockKeys(candidate("Robert", null, "ab@example.com", "12-34"));
+
+        assertThat(keys).isEmpty();
+    }
+
+    @Test
+    void soundexFollowsTheStandardRules() {
+        assertThat(CandidateSimilarity.soundex("Robert")).isEqualTo("R163");
+        assertThat(CandidateSimilarity.soundex("Rupert")).isEqualTo("R163");
+        // H and W do not separate letters with the same code
+        assertThat(CandidateSimilarity.soundex("Ashcraft")).isEqualTo("A261");
+        // The first letter's code suppresses a following letter with the same code
+        assertThat(CandidateSimilarity.soundex("Pfister")).isEqualTo("P236");
+        assertThat(CandidateSimilarity.soundex("Tymczak")).isEqualTo("T522");
+        assertThat(CandidateSimilarity.soundex("O'Neil-")).isEqualTo("O540");
+        assertThat(CandidateSimilarity.soundex("42")).isEmpty();
+        assertThat(CandidateSimilarity.soundex(null)).isEmpty();
+    }
+
+    @Test
+    void jaroWinklerMatchesReferenceValues() {
+        assertThat(CandidateSimilarity.jaroWinkler("martha", "marhta")).isCloseTo(0.961, within(0.001));
+        assertThat(CandidateSimilarity.jaroWinkler("dwayne", "duane")).isCloseTo(0.84, within(0.001));
+        assertThat(CandidateSimilarity.jaroWinkler("same", "same")).isEqualTo(1.0);
+        assertThat(CandidateSimilarity.jaroWinkler("abc", "xyz")).isEqualTo(0.0);
+        assertThat(CandidateSimilarity.jaroWinkler("", "abc")).isEqualTo(0.0);
+    }
+
+    @Test
+    void samePersonWithCountryCodeScoresAsDuplicate() {
+        CandidateSimilarity.Match match = CandidateSimilarity.score(
+                candidate("Priya", "Sharma", null, "9876543210"),
+                candidate("Priya", "Sharma", null, "+91 98765 43210"));
+
+        assertThat(match.getScore()).isEqualTo(0.97);
+        assertThat(match.getReasons()).isEqualTo("phone,name");
+    }
+
+    @Test
+    void emailTagsAndDotsDoNotHideADuplicate() {
+        CandidateSimilarity.Match match = CandidateSimilarity.score(
+                candidate("John", "Doe", "john.doe@gmail.com", null),
+                candidate("John", "Doe", "johndoe+jobs@yahoo.com", null));
+
+        assertThat(match.getScore()).isEqualTo(0.94);
+        assertThat(match.getReasons()).isEqualTo("email,name");
+    }
+
+    @Test
+    void sharedPhoneSuffixAloneIsNotADuplicate() {
+        CandidateSimilarity.Match match = CandidateSimilarity.score(
+                candidate("Anita", "Rao", "anita@example.com", "02212345678"),
+                candidate("Vikram", "Mehta", "vikram@example.com", "02012345678"));
+
+        assertThat(match.getScore()).isLessThan(0.75);
+        assertThat(match.getReasons()).isEqualTo("phone");
+    }
+
+    private static Candidate candidate(String firstName, String lastName, String email, String phone) {
+        Candidate candidate = new Candidate();
+        candidate.setFirstName(firstName);
+        candidate.setLastName(lastName);
+        candidate.setEmail(email);
+        candidate.setPhone(phone);
+        return candidate;
+    }
+}
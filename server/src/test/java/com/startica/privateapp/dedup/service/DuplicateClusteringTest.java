@@ -0,0 +1,49 @@
+package com.startica.privateapp.dedup.service;
+
+import com.startica.privateapp.dedup.model.DuplicateCandidatePair;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SortedSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DuplicateClusteringTest {
+
+    @Test
+    void pairsSharingACandidateFormOneCluster() {
+        List<SortedSet<Long>> clusters = DuplicateClustering.components(List.of(
+                pair(1, 2), pair(5, 6), pair(2, 3), pair(3, 7)));
+
+        assertThat(clusters).hasSize(2);
+        assertThat(clusters.get(0)).containsExactly(1L, 2L, 3L, 7L);
+        assertThat(clusters.get(1)).containsExactly(5L, 6L);
+    }
+
+    @Test
+    void aLatePairMergesTwoClusters() {
+        List<SortedSet<Long>> clusters = DuplicateClustering.components(List.of(
+                pair(4, 5), pair(1, 2), pair(8, 9), pair(2, 5)));
+
+        assertThat(clusters).hasSize(2);
+        assertThat(clusters.get(0)).containsExactly(1L, 2L, 4L, 5L);
+        assertThat(clusters.get(1)).containsExactly(8L, 9L);
+    }
+
+    @Test
+    void clusterIdIsTheSmallestMemberWhateverThePairOrder() {
+        List<SortedSet<Long>> clusters = DuplicateClustering.components(List.of(pair(30, 40), pair(10, 40), pair(20, 30)));
+
+        assertThat(clusters).hasSize(1);
+        assertThat(clusters.get(0).first()).isEqualTo(10L);
+    }
+
+    @Test
+    void noPairsNoClusters() {
+        assertThat(DuplicateClustering.components(List.of())).isEmpty();
+    }
+
+    private static DuplicateCandidatePair pair(long candidateId, long duplicateCandidateId) {
+        return new DuplicateCandidatePair(null, candidateId, duplicateCandidateId, 0.9, "phone", false, null);
+    }
+}
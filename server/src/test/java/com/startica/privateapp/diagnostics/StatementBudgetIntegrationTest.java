@@ -0,0 +1,214 @@
+package com.startica.privateapp.diagnostics;
+
+import com.startica.privateapp.diagnostics.dto.StatementReportResponse.EndpointStatements;
+import com.startica.privateapp.diagnostics.service.StatementBudgetService;
+import com.startica.privateapp.util.JwtUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statements per request must not grow with the number of rows returned. Every route is called
+ * once with about 10 rows and once with about 1,000 (a larger page, or an HR / opening /
+ * candidate that owns more rows); both requests have to issue the same number of statements and
+ * stay within the route's budget in statement-budgets.txt. A failure lists the statements of the
+ * larger request, so an N+1 shows up as one shape repeated per row.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StatementBudgetIntegrationTest {
+
+    private static final int SMALL = 10;
+    private static final int LARGE = 1000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private StatementBudgetService statementBudgetService;
+
+    private Fixture small;
+    private Fixture large;
+    private String adminToken;
+
+    @BeforeAll
+    void seed() {
+        small = seedHr("budget-small", SMALL);
+        large = seedHr("budget-large", LARGE);
+        Long adminId = jdbcTemplate.queryForObject("SELECT id FROM accounts WHERE username = 'admin'", Long.class);
+        adminToken = jwtUtil.generateToken(adminId, "admin", "ADMIN");
+    }
+
+    @Test
+    void candidateListIsFlat() throws Exception {
+        assertFlat("GET /api/hr/candidates", large.token,
+                "/api/hr/candidates?size=" + SMALL, "/api/hr/candidates?size=" + LARGE);
+    }
+
+    @Test
+    void myCandidatesAreFlat() throws Exception {
+        assertFlat("GET /api/hr/my-candidates", large.token,
+                "/api/hr/my-candidates?size=" + SMALL, "/api/hr/my-candidates?size=" + LARGE);
+    }
+
+    @Test
+    void hrPerformanceCandidatesAreFlat() throws Exception {
+        assertFlat("GET /api/admin/hr-performance/{hrId}/candidates", adminToken,
+                "/api/admin/hr-performance/" + large.hrId + "/candidates?size=" + SMALL,
+                "/api/admin/hr-performance/" + large.hrId + "/candidates?size=" + LARGE);
+    }
+
+    @Test
+    void openingListIsFlat() throws Exception {
+        assertFlat("GET /api/hr/openings", large.token,
+                "/api/hr/openings?size=" + SMALL, "/api/hr/openings?size=" + LARGE);
+    }
+
+    @Test
+    void openingApplicationsAreFlat() throws Exception {
+        // Full pages on both sides: a partly filled first page skips the count query
+        assertFlat("GET /api/hr/openings/{openingId}/applications", large.token,
+                "/api/hr/openings/" + small.openingId + "/applications?size=" + SMALL,
+                "/api/hr/openings/" + large.openingId + "/applications?size=" + LARGE);
+    }
+
+    @Test
+    void candidateHistoryIsFlat() throws Exception {
+        assertFlat("GET /api/candidates/{id}/history", large.token,
+                "/api/candidates/" + small.candidateId + "/history",
+                "/api/candidates/" + large.candidateId + "/history");
+    }
+
+    @Test
+    void candidateReportIsFlat() throws Exception {
+        assertFlat("GET /api/admin/reports/candidates", adminToken,
+                "/api/admin/reports/candidates?hrId=" + small.hrId,
+                "/api/admin/reports/candidates?hrId=" + large.hrId);
+    }
+
+    @Test
+    void openingReportIsFlat() throws Exception {
+        assertFlat("GET /api/admin/reports/openings", adminToken,
+                "/api/admin/reports/openings?hrId=" + small.hrId,
+                "/api/admin/reports/openings?hrId=" + large.hrId);
+    }
+
+    @Test
+    void hrActivityReportIsFlat() throws Exception {
+        assertFlat("GET /api/admin/reports/hr-activity", adminToken,
+                "/api/admin/reports/hr-activity?hrId=" + small.hrId,
+                "/api/admin/reports/hr-activity?hrId=" + large.hrId);
+    }
+
+    @Test
+    void auditLogIsFlat() throws Exception {
+        // Pages are capped at 200 rows
+        assertFlat("GET /api/admin/audit/logs", adminToken,
+                "/api/admin/audit/logs?size=" + SMALL, "/api/admin/audit/logs?size=200");
+    }
+
+    private void assertFlat(String route, String token, String smallUri, String largeUri) throws Exception {
+        // Warm the user and token caches so both measured requests start from the same state
+        call(token, smallUri);
+
+        EndpointStatements few = measure(route, token, smallUri);
+        EndpointStatements many = measure(route, token, largeUri);
+
+        assertThat(many.getMaxStatements())
+                .as("%s issued %d statements for %s but %d for %s; most frequent: %s",
+                        route, few.getMaxStatements(), smallUri, many.getMaxStatements(), largeUri,
+                        many.getWorstStatements())
+                .isEqualTo(few.getMaxStatements());
+        assertThat(many.getBudget()).as("%s has no budget in statement-budgets.txt", route).isNotNull();
+        assertThat(many.getMaxStatements())
+                .as("%s is over its budget; most frequent: %s", route, many.getWorstStatements())
+                .isLessThanOrEqualTo(many.getBudget());
+    }
+
+    private EndpointStatements measure(String route, String token, String uri) throws Exception {
+        statementBudgetService.reset();
+        call(token, uri);
+        return statementBudgetService.report().getEndpoints().stream()
+                .filter(endpoint -> endpoint.getEndpoint().equals(route))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(uri + " was not recorded as " + route));
+    }
+
+    private void call(String token, String uri) throws Exception {
+        mockMvc.perform(get(uri).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * An HR user owning {@code rows} candidates and openings. The first opening has every one of
+     * those candidates as applicants and the first candidate has {@code rows} history entries.
+     */
+    private Fixture seedHr(String username, int rows) {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        jdbcTemplate.update("INSERT INTO accounts (username, password_hash, full_name, email, phone, role, active, " +
+                "created_at, updated_at) VALUES (?, 'unused', ?, ?, '9000000000', 'HR', true, ?, ?)",
+                username, username, username + "@example.com", now, now);
+        Long hrId = jdbcTemplate.queryForObject("SELECT id FROM accounts WHERE username = ?", Long.class, username);
+
+        List<Object[]> openings = new ArrayList<>();
+        List<Object[]> candidates = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            LocalDateTime createdAt = now.minusMinutes(i);
+            openings.add(new Object[]{username + " opening " + i, "Engineering", "Pune", 1, "ACTIVE", hrId, createdAt, createdAt});
+            candidates.add(new Object[]{"Candidate" + i, username, username + "." + i + "@example.com",
+                    "PENDING", hrId, createdAt, createdAt});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO openings (title, department, location, positions, status, created_by, " +
+                "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", openings);
+        jdbcTemplate.batchUpdate("INSERT INTO candidates (first_name, last_name, email, status, source_hr_id, " +
+                "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", candidates);
+
+        Long openingId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM openings WHERE created_by = ?", Long.class, hrId);
+        List<Long> candidateIds = jdbcTemplate.queryForList(
+                "SELECT id FROM candidates WHERE source_hr_id = ? ORDER BY id", Long.class, hrId);
+
+        List<Object[]> details = new ArrayList<>();
+        List<Object[]> applications = new ArrayList<>();
+        List<Object[]> history = new ArrayList<>();
+        for (int i = 0; i < candidateIds.size(); i++) {
+            Long candidateId = candidateIds.get(i);
+            details.add(new Object[]{candidateId, "notes", "[]", "[]"});
+            applications.add(new Object[]{candidateId, openingId, now, "APPLIED", hrId, now});
+            history.add(new Object[]{candidateIds.get(0), "STATUS_CHANGED", "PENDING", "CONTACTED", hrId, now.minusSeconds(i)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO candidate_details (candidate_id, notes, employment_history, education) " +
+                "VALUES (?, ?, ?, ?)", details);
+        jdbcTemplate.batchUpdate("INSERT INTO candidate_openings (candidate_id, opening_id, applied_at, " +
+                "application_status, applied_by, updated_at) VALUES (?, ?, ?, ?, ?, ?)", applications);
+        jdbcTemplate.batchUpdate("INSERT INTO candidate_history (candidate_id, action, old_value, new_value, actor_id, " +
+                "actor_role, timestamp) VALUES (?, ?, ?, ?, ?, 'HR', ?)", history);
+
+        return new Fixture(hrId, jwtUtil.generateToken(hrId, username, "HR"), openingId, candidateIds.get(0));
+    }
+
+    private record Fixture(Long hrId, String token, Long openingId, Long candidateId) {
+    }
+}
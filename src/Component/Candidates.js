@@ -301,9 +301,18 @@ const Candidates = () => {
     navigate(`/candidates/${candidateId}`);
   };
   
-  const handleViewDetails = (candidate) => {
+  const handleViewDetails = async (candidate) => {
     setSelectedCandidate(candidate);
     setShowDetailsModal(true);
+    // List rows omit notes, employment history and education; load them for the modal
+    try {
+      const response = await apiService.get(`/api/hr/candidates/${candidate.id}`);
+      if (response.data?.data) {
+        setSelectedCandidate(response.data.data);
+      }
+    } catch (error) {
+      console.error('Failed to load candidate details:', error);
+    }
   };
   
   const closeDetailsModal = () => {